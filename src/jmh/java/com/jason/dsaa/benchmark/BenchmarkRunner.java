@@ -0,0 +1,33 @@
+package com.jason.dsaa.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口。
+ * <pre>
+ *     1.在JMH命令行参数的基础上默认开启gc分析器，同时输出吞吐量和内存分配速率（gc.alloc.rate）。
+ *     示例：java -jar target/benchmarks.jar SortBenchmark -p size=1000,100000
+ *     2.排序的基准测试每次调用都要把原始数据复制到工作数组中。小数组的排序只要几微秒甚至不到一微秒，
+ *     用@Setup(Level.Invocation)复制时计时误差比排序本身还大，所以在测试方法开头复制，
+ *     再由每个类的copy方法单独测量复制的开销，比较排序的得分时扣除这部分时间。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:13
+ **/
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
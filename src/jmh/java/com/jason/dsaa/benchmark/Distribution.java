@@ -0,0 +1,66 @@
+package com.jason.dsaa.benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试的输入数据分布
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:13
+ **/
+public enum Distribution {
+    /**
+     * 随机数据
+     */
+    RANDOM,
+    /**
+     * 已经升序排列的数据
+     */
+    SORTED,
+    /**
+     * 降序排列的数据
+     */
+    REVERSED,
+    /**
+     * 只有少数几个不同值的数据
+     */
+    FEW_UNIQUE,
+    /**
+     * 先升后降的数据（管风琴形）
+     */
+    ORGAN_PIPE;
+
+    private static final int FEW_UNIQUE_VALUES = 16;
+
+    /**
+     * 生成n个数据，相同的seed生成相同的数据
+     *
+     * @param n    数据个数
+     * @param seed 随机数种子
+     * @return 数据
+     */
+    public int[] generate(int n, long seed) {
+        int[] datas = new int[n];
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            switch (this) {
+                case RANDOM:
+                    datas[i] = random.nextInt();
+                    break;
+                case SORTED:
+                    datas[i] = i;
+                    break;
+                case REVERSED:
+                    datas[i] = n - i;
+                    break;
+                case FEW_UNIQUE:
+                    datas[i] = random.nextInt(FEW_UNIQUE_VALUES);
+                    break;
+                default:
+                    datas[i] = i < n / 2 ? i : n - i;
+                    break;
+            }
+        }
+        return datas;
+    }
+}
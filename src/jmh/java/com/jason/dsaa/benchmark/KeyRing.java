@@ -0,0 +1,61 @@
+package com.jason.dsaa.benchmark;
+
+import java.util.Random;
+
+/**
+ * 读写混合的基准测试使用的关键字环。
+ * <pre>
+ *     1.0到2*size-1随机排列成一个环，被测的结构中始终是环上连续的size个关键字（一个窗口），初始时是环上前size个。
+ *     2.插入时取窗口后面一个关键字，它一定不在结构中；删除时取窗口最前面一个关键字，它一定在结构中。
+ *     插入和删除交替进行，每次都真正修改结构，结构的大小保持在size左右。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 13:17
+ **/
+public class KeyRing {
+
+    private final Integer[] ring; // 0到2*size-1的随机排列
+    private int head; // 窗口中最早插入的关键字在ring中的位置
+    private int tail; // 下一个插入的关键字在ring中的位置
+
+    /**
+     * @param size   窗口的大小
+     * @param random 随机数
+     */
+    public KeyRing(int size, Random random) {
+        ring = new Integer[2 * size];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = i;
+        }
+        Keys.shuffle(ring, random);
+        head = 0;
+        tail = size;
+    }
+
+    /**
+     * @param i 初始窗口中的位置，0到size-1
+     * @return 初始时结构中的第i个关键字
+     */
+    public Integer get(int i) {
+        return ring[i];
+    }
+
+    /**
+     * @return 不在结构中的关键字，窗口向后扩大一个
+     */
+    public Integer nextInsertKey() {
+        Integer key = ring[tail];
+        tail = tail + 1 == ring.length ? 0 : tail + 1;
+        return key;
+    }
+
+    /**
+     * @return 结构中最早插入的关键字，窗口从前面缩小一个
+     */
+    public Integer nextRemoveKey() {
+        Integer key = ring[head];
+        head = head + 1 == ring.length ? 0 : head + 1;
+        return key;
+    }
+}
@@ -0,0 +1,47 @@
+package com.jason.dsaa.benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试的关键字：随机打乱（Fisher–Yates洗牌）。相同的random得到相同的排列，之后还可以继续用它生成查找的关键字。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 13:17
+ **/
+public final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * @param n      关键字个数
+     * @param random 随机数
+     * @return 0, 2, 4, ..., 2*(n-1)随机排列，关键字之间留出空隙，查找0到2*n之间的关键字大约一半存在
+     */
+    public static int[] shuffledEvenKeys(int n, Random random) {
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = 2 * i;
+        }
+        shuffle(keys, random);
+        return keys;
+    }
+
+    public static void shuffle(int[] datas, Random random) {
+        for (int i = datas.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = datas[i];
+            datas[i] = datas[j];
+            datas[j] = temp;
+        }
+    }
+
+    public static <T> void shuffle(T[] datas, Random random) {
+        for (int i = datas.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T temp = datas[i];
+            datas[i] = datas[j];
+            datas[j] = temp;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.jason.dsaa.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+/**
+ * 多线程基准测试中每个线程自己的随机数，线程之间不共享状态，不会因为争用随机数而互相影响。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 13:17
+ **/
+@State(Scope.Thread)
+public class ThreadRandom {
+
+    private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+    /**
+     * @param bound 上界（不包含）
+     * @return 0到bound之间的随机关键字
+     */
+    public Integer randomKey(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * @return 随机的true或false，读写混合的测试用它决定插入还是删除
+     */
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+}
@@ -0,0 +1,90 @@
+package com.jason.dsaa.internalSort;
+
+import com.jason.dsaa.benchmark.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(n2)排序算法的基准测试。
+ * 这些算法在百万级数据上一次排序就需要数小时，所以数据规模最大只测到100000。
+ * quickSort只在有序、逆序的数据上退化成O(n2)，递归深度等于数据个数，所以以-Xss64m启动。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:13
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class QuadraticSortBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public Distribution distribution;
+
+    private int[] source;
+    private int[] datas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = distribution.generate(size, 42L);
+        datas = new int[size];
+    }
+
+    /**
+     * 把原始数据复制到工作数组中，在测试方法中复制的原因见BenchmarkRunner
+     */
+    private void reset() {
+        System.arraycopy(source, 0, datas, 0, size);
+    }
+
+    @Benchmark
+    public int[] copy() {
+        reset();
+        return datas;
+    }
+
+    @Benchmark
+    public int[] bubbleSort() {
+        reset();
+        ExchangeSort.bubbleSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        reset();
+        ExchangeSort.quickSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] insertSort() {
+        reset();
+        InsertionSort.insertSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] straightSelectionSort() {
+        reset();
+        SelectionSort.straightSelectionSort(datas);
+        return datas;
+    }
+}
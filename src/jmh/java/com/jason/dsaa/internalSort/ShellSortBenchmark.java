@@ -0,0 +1,99 @@
+package com.jason.dsaa.internalSort;
+
+import com.jason.dsaa.benchmark.Distribution;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 希尔排序增量序列的基准测试。HALVING是逐次减半的增量序列，其余是GapSequence中的增量序列。
+ * statistics方法通过辅助计数器输出比较次数和移动次数，HALVING的计数是比较其他增量序列的基准，
+ * 计数器的得分除以statistics方法的得分就是每次排序的比较次数和移动次数。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:26
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShellSortBenchmark {
+
+    @Param({"64", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "ORGAN_PIPE"})
+    public Distribution distribution;
+
+    @Param({"HALVING", "CIURA", "TOKUDA", "SEDGEWICK"})
+    public String gaps;
+
+    private GapSequence sequence;
+    private int[] source;
+    private int[] datas;
+
+    /**
+     * 累计的比较次数和移动次数，JMH输出的是每秒的次数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long comparisons;
+        public long moves;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sequence = "HALVING".equals(gaps) ? null : GapSequence.valueOf(gaps);
+        source = distribution.generate(size, 42L);
+        datas = new int[size];
+    }
+
+    /**
+     * 把原始数据复制到工作数组中，在测试方法中复制的原因见BenchmarkRunner
+     */
+    private void reset() {
+        System.arraycopy(source, 0, datas, 0, size);
+    }
+
+    @Benchmark
+    public int[] copy() {
+        reset();
+        return datas;
+    }
+
+    @Benchmark
+    public int[] shellSort() {
+        reset();
+        if (sequence == null) {
+            InsertionSort.shellSort(datas);
+        } else {
+            InsertionSort.shellSort(datas, sequence);
+        }
+        return datas;
+    }
+
+    @Benchmark
+    public int[] statistics(Counters counters) {
+        reset();
+        SortStatistics statistics = sequence == null ? InsertionSort.shellSortStatistics(datas)
+                : InsertionSort.shellSortStatistics(datas, sequence);
+        counters.comparisons += statistics.getComparisons();
+        counters.moves += statistics.getMoves();
+        return datas;
+    }
+}
@@ -0,0 +1,150 @@
+package com.jason.dsaa.internalSort;
+
+import com.jason.dsaa.benchmark.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(nlog2n)排序算法的基准测试。
+ * <pre>
+ *     1.每次调用先将原始数据复制到工作数组中，见BenchmarkRunner。
+ *     2.以第一个数据为枢轴的quickSort在有序、逆序的数据上退化成O(n2)，在千万级数据上一次排序需要数小时，
+ *     放在QuadraticSortBenchmark中，只测到100000个数据；introSort和parallelQuickSort不会退化，留在这里。
+ *     3.100000000个数据需要较大的堆，默认以-Xmx8g启动。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:13
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SortBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public Distribution distribution;
+
+    private int[] source;
+    private int[] datas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = distribution.generate(size, 42L);
+        datas = new int[size];
+    }
+
+    /**
+     * 把原始数据复制到工作数组中，在测试方法中复制的原因见BenchmarkRunner
+     */
+    private void reset() {
+        System.arraycopy(source, 0, datas, 0, size);
+    }
+
+    @Benchmark
+    public int[] copy() {
+        reset();
+        return datas;
+    }
+
+    @Benchmark
+    public int[] introSort() {
+        reset();
+        ExchangeSort.introSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] parallelQuickSort() {
+        reset();
+        ExchangeSort.parallelQuickSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] shellSort() {
+        reset();
+        InsertionSort.shellSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] megerSort() {
+        reset();
+        MegeringSort.megerSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] parallelMegerSort() {
+        reset();
+        MegeringSort.parallelMegerSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] treeSelectionSort() {
+        reset();
+        SelectionSort.treeSelectionSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        reset();
+        RadixSort.radixSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] radixSort11() {
+        reset();
+        RadixSort.radixSort(datas, 11);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] parallelRadixSort() {
+        reset();
+        RadixSort.parallelRadixSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] americanFlagSort() {
+        reset();
+        RadixSort.americanFlagSort(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] heapSortAsc() {
+        reset();
+        SelectionSort.heapSortAsc(datas);
+        return datas;
+    }
+
+    @Benchmark
+    public int[] heapSortDesc() {
+        reset();
+        SelectionSort.heapSortDesc(datas);
+        return datas;
+    }
+}
@@ -0,0 +1,170 @@
+package com.jason.dsaa.internalSort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * long、double和对象数组排序的基准测试。对象按long类型的关键字排序，比较比较器和关键字提取两种方式。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:17
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TypedSortBenchmark {
+
+    private static final Comparator<Record> BY_TIMESTAMP = Comparator.comparingLong(record -> record.timestamp);
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private long[] longSource;
+    private long[] longs;
+    private double[] doubleSource;
+    private double[] doubles;
+    private Record[] recordSource;
+    private Record[] records;
+
+    /**
+     * 带时间戳的记录
+     */
+    public static class Record {
+        final long timestamp;
+        final int id;
+
+        Record(long timestamp, int id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42L);
+        longSource = new long[size];
+        doubleSource = new double[size];
+        recordSource = new Record[size];
+        for (int i = 0; i < size; i++) {
+            longSource[i] = random.nextLong();
+            doubleSource[i] = random.nextDouble();
+            recordSource[i] = new Record(random.nextLong(), i);
+        }
+        longs = new long[size];
+        doubles = new double[size];
+        records = new Record[size];
+    }
+
+    /**
+     * 每个测试方法先把自己用到的原始数据复制到工作数组中，原因见BenchmarkRunner
+     */
+    private void resetLongs() {
+        System.arraycopy(longSource, 0, longs, 0, size);
+    }
+
+    private void resetDoubles() {
+        System.arraycopy(doubleSource, 0, doubles, 0, size);
+    }
+
+    private void resetRecords() {
+        System.arraycopy(recordSource, 0, records, 0, size);
+    }
+
+    @Benchmark
+    public long[] copyLong() {
+        resetLongs();
+        return longs;
+    }
+
+    @Benchmark
+    public double[] copyDouble() {
+        resetDoubles();
+        return doubles;
+    }
+
+    @Benchmark
+    public Record[] copyRecord() {
+        resetRecords();
+        return records;
+    }
+
+    @Benchmark
+    public long[] quickSortLong() {
+        resetLongs();
+        ExchangeSort.quickSort(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public long[] megerSortLong() {
+        resetLongs();
+        MegeringSort.megerSort(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public long[] heapSortLong() {
+        resetLongs();
+        SelectionSort.heapSortAsc(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public long[] shellSortLong() {
+        resetLongs();
+        InsertionSort.shellSort(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public double[] quickSortDouble() {
+        resetDoubles();
+        ExchangeSort.quickSort(doubles);
+        return doubles;
+    }
+
+    @Benchmark
+    public double[] megerSortDouble() {
+        resetDoubles();
+        MegeringSort.megerSort(doubles);
+        return doubles;
+    }
+
+    @Benchmark
+    public Record[] quickSortComparator() {
+        resetRecords();
+        ExchangeSort.quickSort(records, BY_TIMESTAMP);
+        return records;
+    }
+
+    @Benchmark
+    public Record[] megerSortComparator() {
+        resetRecords();
+        MegeringSort.megerSort(records, BY_TIMESTAMP);
+        return records;
+    }
+
+    @Benchmark
+    public Record[] megerSortKeyExtractor() {
+        resetRecords();
+        MegeringSort.megerSort(records, (Record record) -> record.timestamp);
+        return records;
+    }
+}
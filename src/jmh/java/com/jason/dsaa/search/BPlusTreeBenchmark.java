@@ -0,0 +1,157 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.benchmark.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * B+树与java.util.TreeMap的基准测试。关键字是0到2*size之间的偶数，查找的关键字一半存在一半不存在。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:29
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BPlusTreeBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+    private static final int RANGE_LENGTH = 100; // 范围查找的关键字个数
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"16", "64", "256"})
+    public int degree;
+
+    private Integer[] sortedKeys;
+    private Integer[] shuffledKeys;
+    private Integer[] lookups;
+    private BPlusTree<Integer, Integer> tree;
+    private TreeMap<Integer, Integer> treeMap;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        sortedKeys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sortedKeys[i] = 2 * i;
+        }
+        shuffledKeys = sortedKeys.clone();
+        Keys.shuffle(shuffledKeys, random);
+        lookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(2 * size);
+        }
+        tree = new BPlusTree<>(degree);
+        tree.bulkLoad(sortedKeys, sortedKeys);
+        treeMap = new TreeMap<>();
+        for (Integer key : sortedKeys) {
+            treeMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public void getBPlusTree(Blackhole blackhole) {
+        for (Integer key : lookups) {
+            blackhole.consume(tree.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getTreeMap(Blackhole blackhole) {
+        for (Integer key : lookups) {
+            blackhole.consume(treeMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public int rangeBPlusTree(Blackhole blackhole) {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 16) {
+            Integer from = lookups[i];
+            count += tree.range(from, from + 2 * RANGE_LENGTH, (key, value) -> blackhole.consume(value));
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int rangeTreeMap(Blackhole blackhole) {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 16) {
+            Integer from = lookups[i];
+            for (Map.Entry<Integer, Integer> entry : treeMap.subMap(from, true, from + 2 * RANGE_LENGTH, true).entrySet()) {
+                blackhole.consume(entry.getValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public BPlusTree<Integer, Integer> insertBPlusTree() {
+        BPlusTree<Integer, Integer> tree = new BPlusTree<>(degree);
+        for (Integer key : shuffledKeys) {
+            tree.insert(key, key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    public TreeMap<Integer, Integer> insertTreeMap() {
+        TreeMap<Integer, Integer> treeMap = new TreeMap<>();
+        for (Integer key : shuffledKeys) {
+            treeMap.put(key, key);
+        }
+        return treeMap;
+    }
+
+    @Benchmark
+    public BPlusTree<Integer, Integer> bulkLoadBPlusTree() {
+        BPlusTree<Integer, Integer> tree = new BPlusTree<>(degree);
+        tree.bulkLoad(sortedKeys, sortedKeys);
+        return tree;
+    }
+
+    @Benchmark
+    public int deleteInsertBPlusTree() {
+        int count = 0;
+        for (Integer key : lookups) {
+            if (tree.delete(key) != null) {
+                tree.insert(key, key);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int deleteInsertTreeMap() {
+        int count = 0;
+        for (Integer key : lookups) {
+            if (treeMap.remove(key) != null) {
+                treeMap.put(key, key);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.benchmark.KeyRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平衡二叉树（AVL）、左倾红黑树、树堆在不同读写比例下的基准测试。
+ * 每次调用执行OPERATIONS次操作，其中readPercent%查找0到2*size之间的随机关键字（大约一半存在），
+ * 其余的是交替进行的插入和删除，关键字取自KeyRing，每次写操作都真正修改树。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:45
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BalancedTreeBenchmark {
+
+    private static final int OPERATIONS = 1024; // 每次调用的操作次数
+    private static final byte SEARCH = 0;
+    private static final byte INSERT = 1;
+    private static final byte DELETE = 2;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"50", "90", "99"})
+    public int readPercent;
+
+    private byte[] operations;
+    private Integer[] keys; // 查找的关键字
+    private KeyRing ring; // 写操作插入和删除的关键字
+    private BalancedBinaryTree<Integer> avlTree;
+    private RedBlackTree<Integer> redBlackTree;
+    private Treap<Integer> treap;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        ring = new KeyRing(size, random);
+        avlTree = new BalancedBinaryTree<>();
+        redBlackTree = new RedBlackTree<>();
+        treap = new Treap<>();
+        for (int i = 0; i < size; i++) {
+            avlTree.insert(ring.get(i));
+            redBlackTree.insert(ring.get(i));
+            treap.insert(ring.get(i));
+        }
+        operations = new byte[OPERATIONS];
+        keys = new Integer[OPERATIONS];
+        boolean insert = true;
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (random.nextInt(100) < readPercent) {
+                operations[i] = SEARCH;
+            } else {
+                operations[i] = insert ? INSERT : DELETE;
+                insert = !insert;
+            }
+            keys[i] = random.nextInt(2 * size);
+        }
+        // 插入和删除的次数相同，多次调用之后树的大小不变
+        for (int i = OPERATIONS - 1; !insert; i--) {
+            if (operations[i] == INSERT) {
+                operations[i] = SEARCH;
+                insert = true;
+            }
+        }
+    }
+
+    @Benchmark
+    public int avlTree() {
+        int count = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            switch (operations[i]) {
+                case SEARCH:
+                    count += avlTree.searchBalanceBinaryTree(keys[i]) != null ? 1 : 0;
+                    break;
+                case INSERT:
+                    count += avlTree.insert(ring.nextInsertKey()) ? 1 : 0;
+                    break;
+                default:
+                    count += avlTree.delete(ring.nextRemoveKey()) != null ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int redBlackTree() {
+        int count = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            switch (operations[i]) {
+                case SEARCH:
+                    count += redBlackTree.search(keys[i]) != null ? 1 : 0;
+                    break;
+                case INSERT:
+                    count += redBlackTree.insert(ring.nextInsertKey()) ? 1 : 0;
+                    break;
+                default:
+                    count += redBlackTree.delete(ring.nextRemoveKey()) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int treap() {
+        int count = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            switch (operations[i]) {
+                case SEARCH:
+                    count += treap.search(keys[i]) != null ? 1 : 0;
+                    break;
+                case INSERT:
+                    count += treap.insert(ring.nextInsertKey()) ? 1 : 0;
+                    break;
+                default:
+                    count += treap.delete(ring.nextRemoveKey()) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,249 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.nodes.AVLTreeNode;
+import com.jason.dsaa.nodes.BTreeNode;
+import com.jason.dsaa.nodes.BinaryTreeNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动态查找表逐个查找与批量查找的基准测试。
+ * <pre>
+ *     1.树中有size个关键字，按随机顺序插入，每次调用查找LOOKUPS个0到2*size之间的随机关键字，大约一半存在。
+ *     2.RANDOM：待查找的关键字无序；SORTED：从小到大排列。
+ *     3.B-树使用16阶，结点中的关键字顺序查找。
+ *     4.*GenericBatch用一个泛型的交错查找方法和每种树的Descent实现代替DynamicTableSearch中按树的类型展开的三份循环，
+ *     用来比较两种写法；泛型写法在每次只运行一种树时也更慢，所以DynamicTableSearch保留了三份循环。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:26
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BatchSearchBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+    private static final int B_TREE_DEGREE = 16; // B-树的阶数
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED"})
+    public String order;
+
+    private Integer[] lookups;
+    private Integer[] results;
+    private BinarySortTree<Integer> binarySortTree;
+    private BalancedBinaryTree<Integer> avlTree;
+    private BSubTree<Integer> bSubTree;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        binarySortTree = new BinarySortTree<>();
+        avlTree = new BalancedBinaryTree<>();
+        bSubTree = new BSubTree<>(B_TREE_DEGREE);
+        while (avlTree.getNodeNumber() < size) {
+            Integer key = random.nextInt(2 * size);
+            if (avlTree.insert(key)) {
+                binarySortTree.insertBinarySortTree(key);
+                bSubTree.insert(key);
+            }
+        }
+        lookups = new Integer[LOOKUPS];
+        results = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(2 * size);
+        }
+        if ("SORTED".equals(order)) {
+            Arrays.sort(lookups);
+        }
+    }
+
+    @Benchmark
+    public Integer[] binarySortTree() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            results[i] = binarySortTree.searchBinarySortTree(lookups[i]) != null ? lookups[i] : null;
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] binarySortTreeBatch() {
+        DynamicTableSearch.searchBinarySortTree(binarySortTree, lookups, results);
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] avlTree() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            results[i] = avlTree.searchBalanceBinaryTree(lookups[i]) != null ? lookups[i] : null;
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] avlTreeBatch() {
+        DynamicTableSearch.searchBalanceBinaryTree(avlTree, lookups, results);
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] bSubTree() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            results[i] = DynamicTableSearch.searchBSubTree(bSubTree, lookups[i]).found ? lookups[i] : null;
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] bSubTreeBatch() {
+        DynamicTableSearch.searchBSubTree(bSubTree, lookups, results);
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] binarySortTreeGenericBatch() {
+        searchBatch(binarySortTree.root, lookups, results, new Descent<Integer, BinaryTreeNode<Integer>>() {
+            @Override
+            public BinaryTreeNode<Integer> next(BinaryTreeNode<Integer> node, Integer data) {
+                int compare = data.compareTo(node.data);
+                return compare == 0 ? node : compare < 0 ? node.leftChild : node.rightChild;
+            }
+
+            @Override
+            public Integer found(BinaryTreeNode<Integer> node, Integer data) {
+                return node.data;
+            }
+        });
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] avlTreeGenericBatch() {
+        searchBatch(avlTree.getRoot(), lookups, results, new Descent<Integer, AVLTreeNode<Integer>>() {
+            @Override
+            public AVLTreeNode<Integer> next(AVLTreeNode<Integer> node, Integer data) {
+                int compare = data.compareTo(node.data);
+                return compare == 0 ? node : compare < 0 ? node.left : node.right;
+            }
+
+            @Override
+            public Integer found(AVLTreeNode<Integer> node, Integer data) {
+                return node.data;
+            }
+        });
+        return results;
+    }
+
+    @Benchmark
+    public Integer[] bSubTreeGenericBatch() {
+        searchBatch(bSubTree.root, lookups, results, bTreeDescent());
+        return results;
+    }
+
+    /**
+     * BTreeNode的关键字数组实际是Comparable[]，只能在泛型方法中访问，不能按Integer[]访问
+     */
+    private static <E extends Comparable<E>> Descent<E, BTreeNode<E>> bTreeDescent() {
+        return new Descent<E, BTreeNode<E>>() {
+            @Override
+            public BTreeNode<E> next(BTreeNode<E> node, E data) {
+                int index = indexOf(node, data);
+                if (index < node.keyNum && data.compareTo(node.key[index]) == 0) {
+                    return node;
+                }
+                return node.isLeaf ? null : node.child[index];
+            }
+
+            @Override
+            public E found(BTreeNode<E> node, E data) {
+                return node.key[indexOf(node, data)];
+            }
+        };
+    }
+
+    private static <E extends Comparable<E>> int indexOf(BTreeNode<E> node, E data) {
+        int index = 0;
+        while (index < node.keyNum && data.compareTo(node.key[index]) > 0) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 交错查找中每一路在一个结点上的操作，N是结点的类型
+     */
+    private interface Descent<E, N> {
+        /**
+         * @return 找到时返回结点本身，否则返回下一层要进入的结点，没有时返回null
+         */
+        N next(N node, E data);
+
+        /**
+         * @return 已经找到data的结点中与data相等的数据
+         */
+        E found(N node, E data);
+    }
+
+    /**
+     * 与DynamicTableSearch中的交错查找相同，只是通过Descent访问结点
+     */
+    private static <E, N> void searchBatch(N root, E[] datas, E[] results, Descent<E, N> descent) {
+        int width = Math.min(DynamicTableSearch.BATCH_WIDTH, datas.length);
+        int[] lanes = new int[width]; // 每一路正在查找的数据序号
+        Object[] nodes = new Object[width]; // 每一路当前所在的结点
+        int next = 0; // 下一个开始查找的数据序号
+        int active = width; // 正在进行的查找个数
+        for (int j = 0; j < width; j++) {
+            lanes[j] = next++;
+            nodes[j] = root;
+        }
+        while (active > 0) {
+            for (int j = 0; j < active; ) {
+                @SuppressWarnings("unchecked")
+                N node = (N) nodes[j];
+                E result = null;
+                if (node != null) {
+                    E data = datas[lanes[j]];
+                    N child = descent.next(node, data);
+                    if (child != node) {
+                        nodes[j] = child;
+                        j++;
+                        continue;
+                    }
+                    result = descent.found(node, data);
+                }
+                results[lanes[j]] = result;
+                if (next < datas.length) {
+                    lanes[j] = next++;
+                    nodes[j] = root;
+                    j++;
+                } else {
+                    active--;
+                    lanes[j] = lanes[active];
+                    nodes[j] = nodes[active];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.benchmark.ThreadRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 并发B+树的多线程基准测试。
+ * <pre>
+ *     1.比较三种实现：乐观锁耦合的ConcurrentBPlusTree、用一个全局读写锁保护的BPlusTree、java.util.concurrent.ConcurrentSkipListMap。
+ *     2.readOnly：4个线程只查找；mixed：3个线程查找、1个线程插入和删除。
+ *     3.关键字在[0, 2*size)之间随机选择，初始时树中有一半的关键字。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:36
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentBPlusTreeBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"64"})
+    public int degree;
+
+    private ConcurrentBPlusTree<Integer, Integer> concurrentTree;
+    private BPlusTree<Integer, Integer> lockedTree;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ConcurrentSkipListMap<Integer, Integer> skipList;
+
+    @Setup
+    public void setup() {
+        concurrentTree = new ConcurrentBPlusTree<>(degree);
+        lockedTree = new BPlusTree<>(degree);
+        skipList = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < size; i++) {
+            Integer key = 2 * i;
+            concurrentTree.put(key, key);
+            lockedTree.insert(key, key);
+            skipList.put(key, key);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer readOnlyConcurrentTree(ThreadRandom random) {
+        return concurrentTree.get(random.randomKey(2 * size));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer readOnlyLockedTree(ThreadRandom random) {
+        lock.readLock().lock();
+        try {
+            return lockedTree.get(random.randomKey(2 * size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer readOnlySkipList(ThreadRandom random) {
+        return skipList.get(random.randomKey(2 * size));
+    }
+
+    @Benchmark
+    @Group("mixedConcurrentTree")
+    @GroupThreads(3)
+    public Integer mixedConcurrentTreeGet(ThreadRandom random) {
+        return concurrentTree.get(random.randomKey(2 * size));
+    }
+
+    @Benchmark
+    @Group("mixedConcurrentTree")
+    @GroupThreads(1)
+    public Integer mixedConcurrentTreeUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        return random.nextBoolean() ? concurrentTree.put(key, key) : concurrentTree.delete(key);
+    }
+
+    @Benchmark
+    @Group("mixedLockedTree")
+    @GroupThreads(3)
+    public Integer mixedLockedTreeGet(ThreadRandom random) {
+        lock.readLock().lock();
+        try {
+            return lockedTree.get(random.randomKey(2 * size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("mixedLockedTree")
+    @GroupThreads(1)
+    public Integer mixedLockedTreeUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        lock.writeLock().lock();
+        try {
+            return random.nextBoolean() ? lockedTree.insert(key, key) : lockedTree.delete(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("mixedSkipList")
+    @GroupThreads(3)
+    public Integer mixedSkipListGet(ThreadRandom random) {
+        return skipList.get(random.randomKey(2 * size));
+    }
+
+    @Benchmark
+    @Group("mixedSkipList")
+    @GroupThreads(1)
+    public Integer mixedSkipListUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        return random.nextBoolean() ? skipList.put(key, key) : skipList.remove(key);
+    }
+}
@@ -0,0 +1,131 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.benchmark.ThreadRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 无锁并发跳表的多线程基准测试，与java.util.concurrent.ConcurrentSkipListMap比较。
+ * <pre>
+ *     1.mixed：3个线程查找、1个线程插入和删除。
+ *     2.ingest：2个线程插入和删除，2个线程范围扫描RANGE_LENGTH个关键字，模拟写入的同时有序读取。
+ *     3.关键字在[0, 2*size)之间随机选择，初始时跳表中有一半的关键字。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:50
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentSkipListBenchmark {
+
+    private static final int RANGE_LENGTH = 100; // 范围扫描的关键字区间长度
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private ConcurrentSkipList<Integer, Integer> skipList;
+    private ConcurrentSkipListMap<Integer, Integer> skipListMap;
+
+    @Setup
+    public void setup() {
+        skipList = new ConcurrentSkipList<>();
+        skipListMap = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < size; i++) {
+            Integer key = 2 * i;
+            skipList.put(key, key);
+            skipListMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    @Group("mixedSkipList")
+    @GroupThreads(3)
+    public Integer mixedSkipListGet(ThreadRandom random) {
+        return skipList.get(random.randomKey(2 * size));
+    }
+
+    @Benchmark
+    @Group("mixedSkipList")
+    @GroupThreads(1)
+    public Integer mixedSkipListUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        return random.nextBoolean() ? skipList.put(key, key) : skipList.delete(key);
+    }
+
+    @Benchmark
+    @Group("mixedSkipListMap")
+    @GroupThreads(3)
+    public Integer mixedSkipListMapGet(ThreadRandom random) {
+        return skipListMap.get(random.randomKey(2 * size));
+    }
+
+    @Benchmark
+    @Group("mixedSkipListMap")
+    @GroupThreads(1)
+    public Integer mixedSkipListMapUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        return random.nextBoolean() ? skipListMap.put(key, key) : skipListMap.remove(key);
+    }
+
+    @Benchmark
+    @Group("ingestSkipList")
+    @GroupThreads(2)
+    public Integer ingestSkipListUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        return random.nextBoolean() ? skipList.put(key, key) : skipList.delete(key);
+    }
+
+    @Benchmark
+    @Group("ingestSkipList")
+    @GroupThreads(2)
+    public int ingestSkipListScan(ThreadRandom random) {
+        Integer from = random.randomKey(2 * size);
+        int count = 0;
+        Iterator<Map.Entry<Integer, Integer>> iterator = skipList.range(from, from + RANGE_LENGTH);
+        while (iterator.hasNext()) {
+            count += iterator.next().getValue();
+        }
+        return count;
+    }
+
+    @Benchmark
+    @Group("ingestSkipListMap")
+    @GroupThreads(2)
+    public Integer ingestSkipListMapUpdate(ThreadRandom random) {
+        Integer key = random.randomKey(2 * size);
+        return random.nextBoolean() ? skipListMap.put(key, key) : skipListMap.remove(key);
+    }
+
+    @Benchmark
+    @Group("ingestSkipListMap")
+    @GroupThreads(2)
+    public int ingestSkipListMapScan(ThreadRandom random) {
+        Integer from = random.randomKey(2 * size);
+        int count = 0;
+        for (Integer value : skipListMap.subMap(from, true, from + RANGE_LENGTH, true).values()) {
+            count += value;
+        }
+        return count;
+    }
+}
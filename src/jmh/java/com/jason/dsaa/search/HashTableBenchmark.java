@@ -0,0 +1,325 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.benchmark.KeyRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 开放定址哈希表与java.util.HashMap、动态查找表（平衡二叉树、红黑树）的基准测试。
+ * <pre>
+ *     1.get：表中是KeyRing初始窗口中的size个关键字，每次调用查找LOOKUPS个0到2*size之间的关键字，大约一半存在。
+ *     2.update：每次调用交替执行LOOKUPS/2次插入和LOOKUPS/2次删除，关键字取自KeyRing，
+ *     每次都真正插入或删除（包括向后移动和墓碑）。
+ *     3.putLatency：每轮迭代从空表开始不断插入新的随机关键字，统计单次插入时间的分布（SampleTime），
+ *     一次搬迁整个表的扩容在高百分位上表现为很长的停顿，渐进式扩容把搬迁分摊到之后的插入中。
+ *     换空表只在迭代之间进行，迭代时间缩短到PUT_LATENCY_MILLIS毫秒，表的大小不超过GROW_LIMIT。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:23
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HashTableBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+    private static final int GROW_LIMIT = 1 << 24; // putLatency中一轮迭代最多插入的关键字个数
+    private static final int PUT_LATENCY_MILLIS = 200; // putLatency每轮迭代的时间
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private int[] lookups;
+    private Integer[] boxedLookups;
+    private KeyRing ring; // update插入和删除的关键字
+    private HashMap<Integer, Integer> hashMap;
+    private LinearProbingHashMap<Integer, Integer> linearProbingHashMap;
+    private RobinHoodHashMap<Integer, Integer> robinHoodHashMap;
+    private SwissHashMap<Integer, Integer> swissHashMap;
+    private IntHashMap<Integer> intHashMap;
+    private BalancedBinaryTree<Integer> avlTree;
+    private RedBlackTree<Integer> redBlackTree;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        ring = new KeyRing(size, random);
+        hashMap = new HashMap<>();
+        linearProbingHashMap = new LinearProbingHashMap<>();
+        robinHoodHashMap = new RobinHoodHashMap<>();
+        swissHashMap = new SwissHashMap<>();
+        intHashMap = new IntHashMap<>();
+        avlTree = new BalancedBinaryTree<>();
+        redBlackTree = new RedBlackTree<>();
+        for (int i = 0; i < size; i++) {
+            Integer key = ring.get(i);
+            hashMap.put(key, key);
+            linearProbingHashMap.put(key, key);
+            robinHoodHashMap.put(key, key);
+            swissHashMap.put(key, key);
+            intHashMap.put(key, key);
+            avlTree.insert(key);
+            redBlackTree.insert(key);
+        }
+        lookups = new int[LOOKUPS];
+        boxedLookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(2 * size);
+            boxedLookups[i] = lookups[i];
+        }
+    }
+
+    @Benchmark
+    public int getHashMap() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += hashMap.get(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getLinearProbingHashMap() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += linearProbingHashMap.get(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getRobinHoodHashMap() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += robinHoodHashMap.get(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getSwissHashMap() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += swissHashMap.get(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getIntHashMap() {
+        int count = 0;
+        for (int key : lookups) {
+            count += intHashMap.get(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getAvlTree() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += avlTree.searchBalanceBinaryTree(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getRedBlackTree() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += redBlackTree.search(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int updateHashMap() {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 2) {
+            Integer key = ring.nextInsertKey();
+            count += hashMap.put(key, key) == null ? 1 : 0;
+            count += hashMap.remove(ring.nextRemoveKey()) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int updateLinearProbingHashMap() {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 2) {
+            Integer key = ring.nextInsertKey();
+            count += linearProbingHashMap.put(key, key) == null ? 1 : 0;
+            count += linearProbingHashMap.remove(ring.nextRemoveKey()) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int updateRobinHoodHashMap() {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 2) {
+            Integer key = ring.nextInsertKey();
+            count += robinHoodHashMap.put(key, key) == null ? 1 : 0;
+            count += robinHoodHashMap.remove(ring.nextRemoveKey()) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int updateSwissHashMap() {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 2) {
+            Integer key = ring.nextInsertKey();
+            count += swissHashMap.put(key, key) == null ? 1 : 0;
+            count += swissHashMap.remove(ring.nextRemoveKey()) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int updateIntHashMap() {
+        int count = 0;
+        for (int i = 0; i < LOOKUPS; i += 2) {
+            Integer key = ring.nextInsertKey();
+            count += intHashMap.put(key, key) == null ? 1 : 0;
+            count += intHashMap.remove(ring.nextRemoveKey()) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * putLatency使用的不断增长的表，每个测试方法只创建它用到的那个表。
+     * 每一轮迭代开始时换一个空表，测量的调用中不会新建或者丢弃整个表；
+     * 迭代时间很短，一轮迭代插入的关键字远少于GROW_LIMIT，超过时直接报错，不在测量过程中重置。
+     */
+    public abstract static class Growing<M> {
+        int next; // 下一个插入的关键字
+        M map;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            next = 0;
+            map = create();
+        }
+
+        abstract M create();
+
+        /**
+         * 连续的整数乘以奇数得到互不相同的关键字，避免HashMap因为Integer.hashCode()连续而顺序写入
+         */
+        Integer nextKey() {
+            if (next == GROW_LIMIT) {
+                throw new IllegalStateException("一轮迭代插入的关键字超过了" + GROW_LIMIT + "个，需要缩短迭代时间");
+            }
+            return next++ * 0x9E3779B9;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GrowingHashMap extends Growing<HashMap<Integer, Integer>> {
+        @Override
+        HashMap<Integer, Integer> create() {
+            return new HashMap<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GrowingLinearProbingHashMap extends Growing<LinearProbingHashMap<Integer, Integer>> {
+        @Override
+        LinearProbingHashMap<Integer, Integer> create() {
+            return new LinearProbingHashMap<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GrowingRobinHoodHashMap extends Growing<RobinHoodHashMap<Integer, Integer>> {
+        @Override
+        RobinHoodHashMap<Integer, Integer> create() {
+            return new RobinHoodHashMap<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GrowingSwissHashMap extends Growing<SwissHashMap<Integer, Integer>> {
+        @Override
+        SwissHashMap<Integer, Integer> create() {
+            return new SwissHashMap<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class GrowingIntHashMap extends Growing<IntHashMap<Integer>> {
+        @Override
+        IntHashMap<Integer> create() {
+            return new IntHashMap<>();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    public Integer putLatencyHashMap(GrowingHashMap growing) {
+        Integer key = growing.nextKey();
+        return growing.map.put(key, key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    public Integer putLatencyLinearProbingHashMap(GrowingLinearProbingHashMap growing) {
+        Integer key = growing.nextKey();
+        return growing.map.put(key, key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    public Integer putLatencyRobinHoodHashMap(GrowingRobinHoodHashMap growing) {
+        Integer key = growing.nextKey();
+        return growing.map.put(key, key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    public Integer putLatencySwissHashMap(GrowingSwissHashMap growing) {
+        Integer key = growing.nextKey();
+        return growing.map.put(key, key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = PUT_LATENCY_MILLIS, timeUnit = TimeUnit.MILLISECONDS)
+    public Integer putLatencyIntHashMap(GrowingIntHashMap growing) {
+        Integer key = growing.nextKey();
+        return growing.map.put(key, key);
+    }
+}
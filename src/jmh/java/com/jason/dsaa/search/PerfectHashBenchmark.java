@@ -0,0 +1,125 @@
+package com.jason.dsaa.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 最小完美哈希和静态字典与哈希表的查找基准测试。
+ * <pre>
+ *     1.表中有size个随机的long关键字，值是0到999之间的随机数。
+ *     2.每次调用查找LOOKUPS个关键字，一半存在，一半是随机数。
+ *     3.staticDictionary保存完整的关键字，结果准确；staticDictionary8只保存8位指纹。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:34
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PerfectHashBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private long[] lookups;
+    private Long[] boxedLookups;
+    private MinimalPerfectHash perfectHash;
+    private StaticDictionary staticDictionary;
+    private StaticDictionary staticDictionary8;
+    private LongHashMap<Integer> longHashMap;
+    private HashMap<Long, Integer> hashMap;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        long[] keys = new long[size];
+        int[] values = new int[size];
+        longHashMap = new LongHashMap<>(size);
+        hashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            long key = random.nextLong();
+            while (longHashMap.containsKey(key)) {
+                key = random.nextLong();
+            }
+            keys[i] = key;
+            values[i] = random.nextInt(1000);
+            longHashMap.put(key, values[i]);
+            hashMap.put(key, values[i]);
+        }
+        perfectHash = new MinimalPerfectHash(keys);
+        staticDictionary = new StaticDictionary(keys, values);
+        staticDictionary8 = new StaticDictionary(keys, values, 8, MinimalPerfectHash.DEFAULT_GAMMA);
+        lookups = new long[LOOKUPS];
+        boxedLookups = new Long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextBoolean() ? keys[random.nextInt(size)] : random.nextLong();
+            boxedLookups[i] = lookups[i];
+        }
+    }
+
+    @Benchmark
+    public int perfectHash() {
+        int sum = 0;
+        for (long key : lookups) {
+            sum += perfectHash.index(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int staticDictionary() {
+        int sum = 0;
+        for (long key : lookups) {
+            sum += staticDictionary.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int staticDictionary8() {
+        int sum = 0;
+        for (long key : lookups) {
+            sum += staticDictionary8.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int longHashMap() {
+        int sum = 0;
+        for (long key : lookups) {
+            Integer value = longHashMap.get(key);
+            sum += value == null ? -1 : value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int hashMap() {
+        int sum = 0;
+        for (Long key : boxedLookups) {
+            Integer value = hashMap.get(key);
+            sum += value == null ? -1 : value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,177 @@
+package com.jason.dsaa.search;
+
+import com.jason.dsaa.benchmark.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关键字为int/long的B-树与泛型B-树、B+树、java.util.TreeSet的基准测试。关键字是0到2*size之间的偶数，查找的关键字一半存在一半不存在。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:39
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PrimitiveBTreeBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private int[] shuffledKeys;
+    private int[] lookups;
+    private Integer[] boxedLookups;
+    private IntBTree intTree;
+    private LongBTree longTree;
+    private BSubTree<Integer> bSubTree;
+    private BPlusTree<Integer, Integer> bPlusTree;
+    private TreeSet<Integer> treeSet;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        shuffledKeys = Keys.shuffledEvenKeys(size, random);
+        lookups = new int[LOOKUPS];
+        boxedLookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(2 * size);
+            boxedLookups[i] = lookups[i];
+        }
+        intTree = new IntBTree();
+        longTree = new LongBTree();
+        bSubTree = new BSubTree<>(IntBTree.DEFAULT_DEGREE);
+        bPlusTree = new BPlusTree<>(IntBTree.DEFAULT_DEGREE);
+        treeSet = new TreeSet<>();
+        for (int key : shuffledKeys) {
+            intTree.insert(key);
+            longTree.insert(key);
+            bSubTree.insert(key);
+            bPlusTree.insert(key, key);
+            treeSet.add(key);
+        }
+    }
+
+    @Benchmark
+    public int containsIntBTree() {
+        int count = 0;
+        for (int key : lookups) {
+            if (intTree.contains(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsLongBTree() {
+        int count = 0;
+        for (int key : lookups) {
+            if (longTree.contains(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsBSubTree() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            if (bSubTree.search(bSubTree.root, key).found) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsBPlusTree() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            if (bPlusTree.containsKey(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsTreeSet() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            if (treeSet.contains(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public IntBTree insertIntBTree() {
+        IntBTree tree = new IntBTree();
+        for (int key : shuffledKeys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    public LongBTree insertLongBTree() {
+        LongBTree tree = new LongBTree();
+        for (int key : shuffledKeys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    public TreeSet<Integer> insertTreeSet() {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int key : shuffledKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int deleteInsertIntBTree() {
+        int count = 0;
+        for (int key : lookups) {
+            if (intTree.delete(key)) {
+                intTree.insert(key);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int deleteInsertTreeSet() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            if (treeSet.remove(key)) {
+                treeSet.add(key);
+                count++;
+            }
+        }
+        return count;
+    }
+}
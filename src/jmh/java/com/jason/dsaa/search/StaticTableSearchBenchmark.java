@@ -0,0 +1,157 @@
+package com.jason.dsaa.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有序表查找的基准测试：二分法查找、插值查找、指数查找、Eytzinger索引、分块查找。
+ * <pre>
+ *     1.UNIFORM：关键字在int范围内均匀分布；SKEWED：关键字是均匀随机数的4次方，集中在表头，插值查找估计的位置偏差很大。
+ *     2.查找的关键字一半在表中，一半是随机数。
+ *     3.sortedStream：按从小到大的顺序查找LOOKUPS个关键字，指数查找每次从上一个关键字的位置开始，不存在时从它的插入位置开始。
+ *     4.分块查找的块长为√n。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:55
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StaticTableSearchBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+
+    @Param({"1000", "1000000", "16000000"})
+    public int size;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public String keyDistribution;
+
+    private int[] datas;
+    private int[] lookups;
+    private int[] sortedLookups;
+    private EytzingerIndex index;
+    private int blockLength;
+    private int[] blockMaxKeys;
+    private BlockIndex blockIndex;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        datas = new int[size];
+        for (int i = 0; i < size; i++) {
+            if ("UNIFORM".equals(keyDistribution)) {
+                datas[i] = random.nextInt();
+            } else {
+                double r = random.nextDouble();
+                datas[i] = (int) (r * r * r * r * Integer.MAX_VALUE);
+            }
+        }
+        Arrays.sort(datas);
+        lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextBoolean() ? datas[random.nextInt(size)] : random.nextInt();
+        }
+        sortedLookups = lookups.clone();
+        Arrays.sort(sortedLookups);
+        index = new EytzingerIndex(datas);
+        blockLength = Math.max(1, (int) Math.sqrt(size));
+        blockIndex = new BlockIndex(datas, blockLength);
+        blockMaxKeys = new int[blockIndex.blockCount()];
+        for (int i = 0; i < blockMaxKeys.length; i++) {
+            blockMaxKeys[i] = datas[Math.min(size, (i + 1) * blockLength) - 1];
+        }
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        int sum = 0;
+        for (int key : lookups) {
+            sum += StaticTableSearch.binarySearch(datas, key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int interpolationSearch() {
+        int sum = 0;
+        for (int key : lookups) {
+            sum += StaticTableSearch.interpolationSearch(datas, key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int exponentialSearch() {
+        int sum = 0;
+        for (int key : lookups) {
+            sum += StaticTableSearch.exponentialSearch(datas, key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int eytzingerSearch() {
+        int sum = 0;
+        for (int key : lookups) {
+            sum += index.search(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int blockSearch() {
+        int sum = 0;
+        for (int key : lookups) {
+            sum += StaticTableSearch.blockSearch(datas, blockMaxKeys, key, blockLength);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int blockIndexSearch() {
+        int sum = 0;
+        for (int key : lookups) {
+            sum += blockIndex.search(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int sortedStreamBinarySearch() {
+        int sum = 0;
+        for (int key : sortedLookups) {
+            sum += StaticTableSearch.binarySearch(datas, key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int sortedStreamExponentialSearch() {
+        int sum = 0;
+        int from = 0;
+        for (int key : sortedLookups) {
+            int pos = StaticTableSearch.exponentialSearch(datas, from, key);
+            from = pos >= 0 ? pos : -(pos + 1);
+            sum += pos;
+        }
+        return sum;
+    }
+}
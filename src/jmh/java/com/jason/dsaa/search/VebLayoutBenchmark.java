@@ -0,0 +1,95 @@
+package com.jason.dsaa.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二叉排序树、平衡二叉树与它们的van Emde Boas布局快照的查找基准测试。
+ * <pre>
+ *     1.树中有size个0到2*size之间的随机关键字，二叉排序树用buildBalanced建立，与平衡二叉树的高度相近。
+ *     2.每次调用查找LOOKUPS个0到2*size之间的随机关键字，大约一半存在。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:29
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VebLayoutBenchmark {
+
+    private static final int LOOKUPS = 1024; // 每次调用查找的次数
+
+    @Param({"10000", "1000000", "4000000"})
+    public int size;
+
+    private int[] lookups;
+    private Integer[] boxedLookups;
+    private BinarySortTree<Integer> binarySortTree;
+    private BalancedBinaryTree<Integer> avlTree;
+    private VebLayoutIndex<Integer> vebIndex;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        avlTree = new BalancedBinaryTree<>();
+        while (avlTree.getNodeNumber() < size) {
+            avlTree.insert(random.nextInt(2 * size));
+        }
+        vebIndex = avlTree.snapshot(Integer::intValue);
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = avlTree.select(i);
+        }
+        binarySortTree = new BinarySortTree<>();
+        binarySortTree.buildBalanced(sorted);
+        lookups = new int[LOOKUPS];
+        boxedLookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(2 * size);
+            boxedLookups[i] = lookups[i];
+        }
+    }
+
+    @Benchmark
+    public int binarySortTree() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += binarySortTree.searchBinarySortTree(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int avlTree() {
+        int count = 0;
+        for (Integer key : boxedLookups) {
+            count += avlTree.searchBalanceBinaryTree(key) != null ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int vebIndex() {
+        int count = 0;
+        for (int key : lookups) {
+            count += vebIndex.contains(key) ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,318 @@
+package com.jason.dsaa.externalSort;
+
+import com.jason.dsaa.internalSort.ExchangeSort;
+import com.jason.dsaa.internalSort.LoserTree;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 外排序（多路归并排序）。对存放在文件中、无法一次装入内存的int数据进行排序。
+ * <pre>
+ *     1.文件中的每条记录是4个字节的int值（大端字节序），文件长度必须是4的整数倍。
+ *     2.生成初始归并段：每次按内存预算读入一段数据，用内排序排好序后写入临时文件。读写缓冲区也从内存预算中扣除，
+ *     最多占预算的1/8，其余的用来存放一段数据。
+ *     3.多路归并：用败者树每次合并fanIn个归并段，归并段个数超过fanIn时需要多趟归并。
+ *     4.归并时每一路的输入缓冲区和输出缓冲区平分内存预算，每个缓冲区至少4KB，所以内存预算不能小于(fanIn + 1) * 4KB。
+ *     5.读写磁盘的次数约为：2 * 数据量 * (1 + log(fanIn)(归并段个数))。
+ *     6.不使用内存映射：MappedByteBuffer没有公开的unmap方法，只有被垃圾回收之后才解除映射，每个窗口映射一次会留下大量映射，
+ *     删除临时文件时映射可能还在（Windows上无法删除）。读写都通过FileChannel和直接缓冲区，生成归并段时共用一个缓冲区，
+ *     所有趟归并共用同一组缓冲区，每次排序只分配一次。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:19
+ **/
+public class ExternalSort {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20; // 默认内存预算64MB
+    public static final int DEFAULT_FAN_IN = 64; // 默认归并路数
+    private static final int RECORD_BYTES = Integer.BYTES; // 每条记录的字节数
+    private static final int MIN_BUFFER_BYTES = 4096; // 归并时每个缓冲区的最小字节数
+    private static final int IO_BUFFER_BYTES = 1 << 20; // 生成归并段时读写缓冲区的最大字节数
+    private static final int MAX_RUN_RECORDS = Integer.MAX_VALUE / RECORD_BYTES; // 每个归并段的最大记录数，保证数组长度不超过int的范围
+
+    private final long memoryBudget; // 内存预算（字节）
+    private final int fanIn; // 归并路数
+    private final Path tempDirectory; // 临时文件目录
+
+    public ExternalSort() {
+        this(DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN, null);
+    }
+
+    /**
+     * @param memoryBudget  内存预算（字节），不能小于(fanIn + 1) * 4096
+     * @param fanIn         归并路数，不能小于2
+     * @param tempDirectory 临时文件目录，为null时使用系统的临时目录
+     */
+    public ExternalSort(long memoryBudget, int fanIn, Path tempDirectory) {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("归并路数不能小于2");
+        }
+        long minBudget = (long) MIN_BUFFER_BYTES * (fanIn + 1);
+        if (memoryBudget < minBudget) {
+            throw new IllegalArgumentException("归并路数为" + fanIn + "时内存预算不能小于" + minBudget + "字节");
+        }
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * 对文件中的int记录进行排序
+     *
+     * @param input  待排序文件
+     * @param output 排序结果文件，已存在时会被覆盖
+     * @throws IOException 读写文件异常
+     */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> runs = createRuns(input);
+        try {
+            ByteBuffer[] buffers = allocateBuffers(Math.min(fanIn, runs.size()));
+            while (runs.size() > fanIn) {
+                List<Path> next = new ArrayList<>();
+                try {
+                    for (int i = 0; i < runs.size(); i += fanIn) {
+                        List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                        Path run = createTempFile();
+                        next.add(run);
+                        meger(group, run, buffers);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    deleteAll(next);
+                    throw e;
+                }
+                deleteAll(runs);
+                runs = next;
+            }
+            meger(runs, output, buffers);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * 生成初始归并段
+     *
+     * @param input 待排序文件
+     * @return 归并段文件
+     */
+    private List<Path> createRuns(Path input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % RECORD_BYTES != 0) {
+                throw new IllegalArgumentException("文件长度必须是" + RECORD_BYTES + "的整数倍");
+            }
+            long total = size / RECORD_BYTES;
+            long ioBytes = Math.min(IO_BUFFER_BYTES, memoryBudget / 8);
+            ioBytes -= ioBytes % RECORD_BYTES;
+            long runBytes = memoryBudget - ioBytes; // 读写缓冲区之外的预算用来存放一段数据
+            int runRecords = (int) Math.min(Math.min(runBytes / RECORD_BYTES, MAX_RUN_RECORDS), Math.max(total, 1));
+            int[] datas = new int[runRecords];
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) ioBytes);
+            try {
+                for (long start = 0; start < total; start += runRecords) {
+                    int length = (int) Math.min(runRecords, total - start);
+                    readRun(channel, start * RECORD_BYTES, datas, length, buffer);
+                    ExchangeSort.parallelQuickSort(datas, 0, length - 1);
+                    Path run = createTempFile();
+                    runs.add(run);
+                    writeRun(run, datas, length, buffer);
+                }
+            } catch (IOException | RuntimeException e) {
+                deleteAll(runs);
+                throw e;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * 从position开始读入length条记录到datas中，每次最多读满一个缓冲区
+     */
+    private static void readRun(FileChannel channel, long position, int[] datas, int length, ByteBuffer buffer)
+            throws IOException {
+        int bufferRecords = buffer.capacity() / RECORD_BYTES;
+        for (int offset = 0; offset < length; offset += bufferRecords) {
+            int n = Math.min(bufferRecords, length - offset);
+            buffer.clear();
+            buffer.limit(n * RECORD_BYTES);
+            readFully(channel, buffer, position + (long) offset * RECORD_BYTES);
+            buffer.flip();
+            buffer.asIntBuffer().get(datas, offset, n);
+        }
+    }
+
+    /**
+     * 将排好序的数据写入归并段文件，每次最多写一个缓冲区
+     */
+    private static void writeRun(Path run, int[] datas, int length, ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            int bufferRecords = buffer.capacity() / RECORD_BYTES;
+            for (int offset = 0; offset < length; offset += bufferRecords) {
+                int n = Math.min(bufferRecords, length - offset);
+                buffer.clear();
+                buffer.asIntBuffer().put(datas, offset, n);
+                buffer.limit(n * RECORD_BYTES);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从position开始读满缓冲区的剩余部分
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException("文件不完整");
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * 用败者树将多个归并段合并到目标文件中
+     *
+     * @param runs    归并段文件
+     * @param output  目标文件
+     * @param buffers 由allocateBuffers分配的缓冲区，前k个用于输入，最后一个用于输出
+     */
+    private static void meger(List<Path> runs, Path output, ByteBuffer[] buffers) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (k == 0) {
+                return;
+            }
+            LoserTree loserTree = new LoserTree(k);
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), buffers[i]);
+                if (readers[i].hasNext()) {
+                    loserTree.set(i, readers[i].next());
+                }
+            }
+            loserTree.build();
+            ByteBuffer buffer = buffers[buffers.length - 1];
+            buffer.clear();
+            IntBuffer ints = buffer.asIntBuffer();
+            while (!loserTree.isEmpty()) {
+                ints.put(loserTree.winnerKey());
+                if (!ints.hasRemaining()) {
+                    flush(out, buffer, ints);
+                }
+                RunReader reader = readers[loserTree.winner()];
+                if (reader.hasNext()) {
+                    loserTree.replaceWinner(reader.next());
+                } else {
+                    loserTree.exhaustWinner();
+                }
+            }
+            flush(out, buffer, ints);
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer, IntBuffer ints) throws IOException {
+        buffer.limit(ints.position() * RECORD_BYTES);
+        buffer.position(0);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+        ints.clear();
+    }
+
+    /**
+     * 分配归并用的k+1个直接缓冲区：k个输入缓冲区和1个输出缓冲区平分内存预算。
+     * k是最多的归并路数，每一趟归并都复用这些缓冲区，路数较少的那次归并只用前面几个输入缓冲区。
+     * k不超过fanIn，构造方法已经保证每个缓冲区不小于MIN_BUFFER_BYTES，总大小不超过内存预算。
+     *
+     * @param k 最多的归并路数，为0时没有需要归并的数据
+     */
+    private ByteBuffer[] allocateBuffers(int k) {
+        if (k == 0) {
+            return new ByteBuffer[0];
+        }
+        long bytes = Math.min(memoryBudget / (k + 1), Integer.MAX_VALUE);
+        ByteBuffer[] buffers = new ByteBuffer[k + 1];
+        for (int i = 0; i <= k; i++) {
+            buffers[i] = ByteBuffer.allocateDirect((int) (bytes - bytes % RECORD_BYTES));
+        }
+        return buffers;
+    }
+
+    private Path createTempFile() throws IOException {
+        return tempDirectory == null ? Files.createTempFile("run", ".bin")
+                : Files.createTempFile(tempDirectory, "run", ".bin");
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * 归并段的读取器。每次将归并段的一个窗口读入同一个缓冲区，读完后再读入下一个窗口。
+     */
+    private static class RunReader {
+        private final FileChannel channel;
+        private final long records; // 归并段的记录数
+        private final int windowRecords; // 每个窗口的记录数
+        private long position; // 下一个窗口的起始记录
+        private final ByteBuffer window; // 复用的窗口缓冲区
+
+        RunReader(Path run, ByteBuffer window) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.records = channel.size() / RECORD_BYTES;
+            this.windowRecords = window.capacity() / RECORD_BYTES;
+            this.position = 0;
+            this.window = window;
+            window.clear();
+            window.limit(0);
+        }
+
+        boolean hasNext() throws IOException {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            if (position >= records) {
+                return false;
+            }
+            int length = (int) Math.min(windowRecords, records - position);
+            window.clear();
+            window.limit(length * RECORD_BYTES);
+            readFully(channel, window, position * RECORD_BYTES);
+            window.flip();
+            position += length;
+            return true;
+        }
+
+        int next() {
+            return window.getInt();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
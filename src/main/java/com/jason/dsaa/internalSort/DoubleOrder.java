@@ -0,0 +1,76 @@
+package com.jason.dsaa.internalSort;
+
+/**
+ * double排序的预处理和后处理，使结果与Arrays.sort(double[])的顺序相同：-0.0在0.0之前，NaN在最后。
+ * <pre>
+ *     1.排序算法只用<和>比较，NaN与任何数比较都是false，-0.0和0.0相等，直接排序会打乱其他数据或者使-0.0和0.0的顺序不确定。
+ *     2.排序之前把NaN移到区间末尾，把-0.0改成0.0并记下个数；排序时只对前面不含NaN的部分使用原来的比较；
+ *     排序之后找到第一个0.0，把前面记下个数的0.0改回-0.0。
+ *     3.两次处理都是O(n)，不改变排序算法本身的复杂度。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 12:28
+ **/
+final class DoubleOrder {
+
+    private DoubleOrder() {
+    }
+
+    /**
+     * 把datas[low]-datas[high]之间的NaN移到区间末尾，其他数据的相对顺序不保证。
+     * 与Arrays.sort相同，用交换移动NaN，保留每个NaN原来的位模式
+     *
+     * @return 最后一个不是NaN的数据的位置，全是NaN时返回low - 1
+     */
+    static int moveNaNsToEnd(double[] datas, int low, int high) {
+        while (low <= high && Double.isNaN(datas[high])) {
+            high--;
+        }
+        for (int i = high - 1; i >= low; i--) {
+            double nan = datas[i];
+            if (Double.isNaN(nan)) {
+                datas[i] = datas[high];
+                datas[high--] = nan;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * 把datas[low]-datas[high]之间的-0.0改成0.0
+     *
+     * @return -0.0的个数
+     */
+    static int replaceNegativeZeros(double[] datas, int low, int high) {
+        int count = 0;
+        for (int i = low; i <= high; i++) {
+            if (datas[i] == 0.0 && Double.doubleToRawLongBits(datas[i]) < 0) {
+                datas[i] = 0.0;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 排序之后把已经有序的datas[low]-datas[high]中最前面的count个0.0改回-0.0
+     */
+    static void restoreNegativeZeros(double[] datas, int low, int high, int count) {
+        if (count == 0) {
+            return;
+        }
+        // 折半查找第一个不小于0.0的位置，它之后至少有count个0.0
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (datas[mid] < 0.0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int i = low; i < low + count; i++) {
+            datas[i] = -0.0;
+        }
+    }
+}
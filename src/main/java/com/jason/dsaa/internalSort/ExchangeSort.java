@@ -1,5 +1,9 @@
 package com.jason.dsaa.internalSort;
 
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * 交换排序。包括冒泡排序、快速排序
  *
@@ -8,6 +12,10 @@ package com.jason.dsaa.internalSort;
  **/
 public class ExchangeSort {
 
+    private static final int INSERTION_SORT_THRESHOLD = 32; // 小于该长度的区间直接使用插入排序
+    private static final int NINTHER_THRESHOLD = 128; // 大于该长度的区间使用九数取中选择枢轴
+    private static final int PARALLEL_THRESHOLD = 1 << 13; // 小于该长度的区间不再拆分并行任务
+
     /**
      * 冒泡排序。
      * <pre>
@@ -73,4 +81,452 @@ public class ExchangeSort {
         datas[low] = temp;
         return low;
     }
+
+    /**
+     * 内省排序（快速排序的改进）。
+     * <pre>
+     *     1.使用三数取中/九数取中选择枢轴，有序或逆序的数据不会退化成O(n2)。
+     *     2.区间长度小于阈值时改用直接插入排序。
+     *     3.递归深度超过2log2n时改用堆排序，最坏时间复杂度为O(nlog2n)。
+     *     4.只对较短的一侧递归，较长的一侧循环处理，栈深度不超过O(log2n)。
+     *     5.是一种不稳定的排序算法。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     */
+    public static void introSort(int[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        introSort(datas, 0, datas.length - 1, depthLimit(datas.length));
+    }
+
+    /**
+     * 内省排序，只对datas[low]-datas[high]之间的数据排序
+     *
+     * @param datas 待排序数据
+     * @param low   起始位置
+     * @param high  结束位置
+     */
+    public static void introSort(int[] datas, int low, int high) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        introSort(datas, low, high, depthLimit(high - low + 1));
+    }
+
+    /**
+     * 并行快速排序，默认对整个数组进行排序
+     *
+     * @param datas 待排序数据
+     */
+    public static void parallelQuickSort(int[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        parallelQuickSort(datas, 0, datas.length - 1);
+    }
+
+    /**
+     * 并行快速排序。
+     * <pre>
+     *     每次划分后将左右两个区间作为两个任务交给ForkJoinPool执行，
+     *     区间长度小于并行阈值后在当前线程中进行内省排序。
+     *     枢轴选择、插入排序和堆排序的切换规则与introSort相同。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     * @param low   起始位置
+     * @param high  结束位置
+     */
+    public static void parallelQuickSort(int[] datas, int low, int high) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        int depthLimit = depthLimit(high - low + 1);
+        if (high - low < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            introSort(datas, low, high, depthLimit);
+        } else {
+            ForkJoinPool.commonPool().invoke(new QuickSortTask(datas, low, high, depthLimit));
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param datas      待排序数据
+     * @param low        起始位置
+     * @param high       结束位置
+     * @param depthLimit 剩余的递归深度，为0时改用堆排序
+     */
+    private static void introSort(int[] datas, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                SelectionSort.heapSortAsc(datas, low, high);
+                return;
+            }
+            depthLimit--;
+            int partion = pivotPartion(datas, low, high);
+            // 较短的一侧递归，较长的一侧继续循环
+            if (partion - low < high - partion) {
+                introSort(datas, low, partion - 1, depthLimit);
+                low = partion + 1;
+            } else {
+                introSort(datas, partion + 1, high, depthLimit);
+                high = partion - 1;
+            }
+        }
+        InsertionSort.insertSort(datas, low, high);
+    }
+
+    /**
+     * 选择枢轴并划分，返回枢轴最终的位置。
+     * 与partion不同的是遇到与枢轴相等的元素时两侧指针都会停下，大量重复数据时两侧的区间依然是均衡的。
+     */
+    static int pivotPartion(int[] datas, int low, int high) {
+        swap(datas, low, choosePivot(datas, low, high));
+        return hoarePartion(datas, low, high);
+    }
+
+    /**
+     * 以datas[low]为枢轴进行划分，返回枢轴最终的位置。划分后枢轴左侧的元素都不大于它，右侧的元素都不小于它。
+     */
+    static int hoarePartion(int[] datas, int low, int high) {
+        int temp = datas[low];
+        int i = low;
+        int j = high + 1;
+        while (true) {
+            while (datas[++i] < temp) {
+                if (i == high) {
+                    break;
+                }
+            }
+            while (temp < datas[--j]) { // datas[low]即为枢轴，j不会越过low
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(datas, i, j);
+        }
+        swap(datas, low, j);
+        return j;
+    }
+
+    /**
+     * 选择枢轴的位置。区间较短时三数取中，较长时九数取中。
+     */
+    private static int choosePivot(int[] datas, int low, int high) {
+        int length = high - low + 1;
+        int middle = (low + high) >>> 1;
+        if (length < NINTHER_THRESHOLD) {
+            return medianOfThree(datas, low, middle, high);
+        }
+        int step = length / 8;
+        int a = medianOfThree(datas, low, low + step, low + 2 * step);
+        int b = medianOfThree(datas, middle - step, middle, middle + step);
+        int c = medianOfThree(datas, high - 2 * step, high - step, high);
+        return medianOfThree(datas, a, b, c);
+    }
+
+    /**
+     * 返回三个位置中值居中的那个位置
+     */
+    private static int medianOfThree(int[] datas, int a, int b, int c) {
+        if (datas[a] < datas[b]) {
+            return datas[b] < datas[c] ? b : (datas[a] < datas[c] ? c : a);
+        }
+        return datas[b] > datas[c] ? b : (datas[a] > datas[c] ? c : a);
+    }
+
+    static void swap(int[] datas, int i, int j) {
+        int temp = datas[i];
+        datas[i] = datas[j];
+        datas[j] = temp;
+    }
+
+    /**
+     * 递归深度上限：2log2n
+     */
+    static int depthLimit(int length) {
+        return length <= 1 ? 0 : 2 * (31 - Integer.numberOfLeadingZeros(length));
+    }
+
+    /**
+     * 快速排序。long类型。
+     * 采用与introSort相同的策略：三数取中/九数取中选择枢轴，短区间插入排序，递归过深改用堆排序。
+     *
+     * @param datas 待排序数据
+     */
+    public static void quickSort(long[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        introSort(datas, 0, datas.length - 1, depthLimit(datas.length));
+    }
+
+    private static void introSort(long[] datas, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                SelectionSort.heapSortAsc(datas, low, high);
+                return;
+            }
+            depthLimit--;
+            int partion = pivotPartion(datas, low, high);
+            if (partion - low < high - partion) {
+                introSort(datas, low, partion - 1, depthLimit);
+                low = partion + 1;
+            } else {
+                introSort(datas, partion + 1, high, depthLimit);
+                high = partion - 1;
+            }
+        }
+        InsertionSort.insertSort(datas, low, high);
+    }
+
+    private static int pivotPartion(long[] datas, int low, int high) {
+        swap(datas, low, choosePivot(datas, low, high));
+        long temp = datas[low];
+        int i = low;
+        int j = high + 1;
+        while (true) {
+            while (datas[++i] < temp) {
+                if (i == high) {
+                    break;
+                }
+            }
+            while (temp < datas[--j]) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(datas, i, j);
+        }
+        swap(datas, low, j);
+        return j;
+    }
+
+    private static int choosePivot(long[] datas, int low, int high) {
+        int length = high - low + 1;
+        int middle = (low + high) >>> 1;
+        if (length < NINTHER_THRESHOLD) {
+            return medianOfThree(datas, low, middle, high);
+        }
+        int step = length / 8;
+        int a = medianOfThree(datas, low, low + step, low + 2 * step);
+        int b = medianOfThree(datas, middle - step, middle, middle + step);
+        int c = medianOfThree(datas, high - 2 * step, high - step, high);
+        return medianOfThree(datas, a, b, c);
+    }
+
+    private static int medianOfThree(long[] datas, int a, int b, int c) {
+        if (datas[a] < datas[b]) {
+            return datas[b] < datas[c] ? b : (datas[a] < datas[c] ? c : a);
+        }
+        return datas[b] > datas[c] ? b : (datas[a] > datas[c] ? c : a);
+    }
+
+    private static void swap(long[] datas, int i, int j) {
+        long temp = datas[i];
+        datas[i] = datas[j];
+        datas[j] = temp;
+    }
+
+    /**
+     * 快速排序。double类型，结果与Arrays.sort(double[])相同：-0.0在0.0之前，NaN在最后。
+     * 采用与introSort相同的策略：三数取中/九数取中选择枢轴，短区间插入排序，递归过深改用堆排序。
+     *
+     * @param datas 待排序数据
+     */
+    public static void quickSort(double[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        int end = DoubleOrder.moveNaNsToEnd(datas, 0, datas.length - 1);
+        int negativeZeros = DoubleOrder.replaceNegativeZeros(datas, 0, end);
+        introSort(datas, 0, end, depthLimit(end + 1));
+        DoubleOrder.restoreNegativeZeros(datas, 0, end, negativeZeros);
+    }
+
+    private static void introSort(double[] datas, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                SelectionSort.heapSortAscNonNaN(datas, low, high);
+                return;
+            }
+            depthLimit--;
+            int partion = pivotPartion(datas, low, high);
+            if (partion - low < high - partion) {
+                introSort(datas, low, partion - 1, depthLimit);
+                low = partion + 1;
+            } else {
+                introSort(datas, partion + 1, high, depthLimit);
+                high = partion - 1;
+            }
+        }
+        InsertionSort.insertSortNonNaN(datas, low, high);
+    }
+
+    private static int pivotPartion(double[] datas, int low, int high) {
+        swap(datas, low, choosePivot(datas, low, high));
+        double temp = datas[low];
+        int i = low;
+        int j = high + 1;
+        while (true) {
+            while (datas[++i] < temp) {
+                if (i == high) {
+                    break;
+                }
+            }
+            while (temp < datas[--j]) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(datas, i, j);
+        }
+        swap(datas, low, j);
+        return j;
+    }
+
+    private static int choosePivot(double[] datas, int low, int high) {
+        int length = high - low + 1;
+        int middle = (low + high) >>> 1;
+        if (length < NINTHER_THRESHOLD) {
+            return medianOfThree(datas, low, middle, high);
+        }
+        int step = length / 8;
+        int a = medianOfThree(datas, low, low + step, low + 2 * step);
+        int b = medianOfThree(datas, middle - step, middle, middle + step);
+        int c = medianOfThree(datas, high - 2 * step, high - step, high);
+        return medianOfThree(datas, a, b, c);
+    }
+
+    private static int medianOfThree(double[] datas, int a, int b, int c) {
+        if (datas[a] < datas[b]) {
+            return datas[b] < datas[c] ? b : (datas[a] < datas[c] ? c : a);
+        }
+        return datas[b] > datas[c] ? b : (datas[a] > datas[c] ? c : a);
+    }
+
+    private static void swap(double[] datas, int i, int j) {
+        double temp = datas[i];
+        datas[i] = datas[j];
+        datas[j] = temp;
+    }
+
+    /**
+     * 快速排序。使用比较器比较数据。
+     * 采用与introSort相同的策略：三数取中/九数取中选择枢轴，短区间插入排序，递归过深改用堆排序。
+     *
+     * @param datas      待排序数据
+     * @param comparator 比较器
+     * @param <T>        数据类型
+     */
+    public static <T> void quickSort(T[] datas, Comparator<? super T> comparator) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        introSort(datas, 0, datas.length - 1, depthLimit(datas.length), comparator);
+    }
+
+    private static <T> void introSort(T[] datas, int low, int high, int depthLimit, Comparator<? super T> comparator) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                SelectionSort.heapSortAsc(datas, low, high, comparator);
+                return;
+            }
+            depthLimit--;
+            int partion = pivotPartion(datas, low, high, comparator);
+            if (partion - low < high - partion) {
+                introSort(datas, low, partion - 1, depthLimit, comparator);
+                low = partion + 1;
+            } else {
+                introSort(datas, partion + 1, high, depthLimit, comparator);
+                high = partion - 1;
+            }
+        }
+        InsertionSort.insertSort(datas, low, high, comparator);
+    }
+
+    private static <T> int pivotPartion(T[] datas, int low, int high, Comparator<? super T> comparator) {
+        swap(datas, low, choosePivot(datas, low, high, comparator));
+        T temp = datas[low];
+        int i = low;
+        int j = high + 1;
+        while (true) {
+            while (comparator.compare(datas[++i], temp) < 0) {
+                if (i == high) {
+                    break;
+                }
+            }
+            while (comparator.compare(temp, datas[--j]) < 0) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(datas, i, j);
+        }
+        swap(datas, low, j);
+        return j;
+    }
+
+    private static <T> int choosePivot(T[] datas, int low, int high, Comparator<? super T> comparator) {
+        int length = high - low + 1;
+        int middle = (low + high) >>> 1;
+        if (length < NINTHER_THRESHOLD) {
+            return medianOfThree(datas, low, middle, high, comparator);
+        }
+        int step = length / 8;
+        int a = medianOfThree(datas, low, low + step, low + 2 * step, comparator);
+        int b = medianOfThree(datas, middle - step, middle, middle + step, comparator);
+        int c = medianOfThree(datas, high - 2 * step, high - step, high, comparator);
+        return medianOfThree(datas, a, b, c, comparator);
+    }
+
+    private static <T> int medianOfThree(T[] datas, int a, int b, int c, Comparator<? super T> comparator) {
+        if (comparator.compare(datas[a], datas[b]) < 0) {
+            return comparator.compare(datas[b], datas[c]) < 0 ? b : (comparator.compare(datas[a], datas[c]) < 0 ? c : a);
+        }
+        return comparator.compare(datas[b], datas[c]) > 0 ? b : (comparator.compare(datas[a], datas[c]) > 0 ? c : a);
+    }
+
+    private static <T> void swap(T[] datas, int i, int j) {
+        T temp = datas[i];
+        datas[i] = datas[j];
+        datas[j] = temp;
+    }
+
+    /**
+     * 并行快速排序的任务
+     */
+    private static class QuickSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] datas;
+        private final int low;
+        private final int high;
+        private final int depthLimit;
+
+        QuickSortTask(int[] datas, int low, int high, int depthLimit) {
+            this.datas = datas;
+            this.low = low;
+            this.high = high;
+            this.depthLimit = depthLimit;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < PARALLEL_THRESHOLD) {
+                introSort(datas, low, high, depthLimit);
+                return;
+            }
+            if (depthLimit == 0) {
+                SelectionSort.heapSortAsc(datas, low, high);
+                return;
+            }
+            int partion = pivotPartion(datas, low, high);
+            invokeAll(new QuickSortTask(datas, low, partion - 1, depthLimit - 1),
+                    new QuickSortTask(datas, partion + 1, high, depthLimit - 1));
+        }
+    }
 }
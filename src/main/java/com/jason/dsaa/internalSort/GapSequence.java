@@ -0,0 +1,106 @@
+package com.jason.dsaa.internalSort;
+
+/**
+ * 希尔排序的增量序列。
+ * <pre>
+ *     1.增量序列在类加载时一次性计算好，按升序存放，第一个增量都是1，排序时不需要申请空间。
+ *     2.排序时从小于数组长度的最大增量开始，依次使用更小的增量，最后一趟的增量为1。
+ *     3.逐次减半的增量序列（n/2, n/4, ..., 1）中偶数位置和奇数位置的元素直到最后一趟才会比较，最坏时间复杂度为O(n2)，
+ *     增量依赖数组长度，不能预先计算，由InsertionSort.shellSort(int[])和shellSortStatistics(int[])实现，不在此列出。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:26
+ **/
+public enum GapSequence {
+    /**
+     * Ciura序列：1, 4, 10, 23, 57, 132, 301, 701, 1750，之后每次乘以2.25。实验得到的序列，实际效果最好。
+     */
+    CIURA(ciura()),
+    /**
+     * Tokuda序列：h(k) = ceil((9^k - 4^k) / (5 * 4^(k-1)))，即1, 4, 9, 20, 46, 103, 233, 525, ...
+     */
+    TOKUDA(tokuda()),
+    /**
+     * Sedgewick序列：9(4^k - 2^k) + 1与4^k - 3 * 2^k + 1合并，即1, 5, 19, 41, 109, 209, 505, 929, ...，
+     * 最坏时间复杂度为O(n^(4/3))。
+     */
+    SEDGEWICK(sedgewick());
+
+    private final int[] gaps; // 升序排列的增量
+
+    GapSequence(int[] gaps) {
+        this.gaps = gaps;
+    }
+
+    /**
+     * 长度为n的数组排序时使用的第一个增量的序号，即小于n的最大增量的序号
+     *
+     * @param n 数组长度
+     * @return 增量的序号，n小于2时返回-1
+     */
+    public int start(int n) {
+        int index = -1;
+        while (index + 1 < gaps.length && gaps[index + 1] < n) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @param index 增量的序号
+     * @return 第index个增量
+     */
+    public int gap(int index) {
+        return gaps[index];
+    }
+
+    private static int[] ciura() {
+        int[] known = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+        int count = known.length;
+        for (long h = known[count - 1]; (h = (long) (h * 2.25)) <= Integer.MAX_VALUE; ) {
+            count++;
+        }
+        int[] gaps = new int[count];
+        System.arraycopy(known, 0, gaps, 0, known.length);
+        for (int i = known.length; i < count; i++) {
+            gaps[i] = (int) (gaps[i - 1] * 2.25);
+        }
+        return gaps;
+    }
+
+    private static int[] tokuda() {
+        int count = 0;
+        for (double h = 1; Math.ceil(h) <= Integer.MAX_VALUE; h = 2.25 * h + 1) {
+            count++;
+        }
+        int[] gaps = new int[count];
+        double h = 1;
+        for (int i = 0; i < count; i++) {
+            gaps[i] = (int) Math.ceil(h);
+            h = 2.25 * h + 1;
+        }
+        return gaps;
+    }
+
+    private static int[] sedgewick() {
+        long[] candidates = new long[32];
+        int count = 0;
+        for (int k = 0; k < 16; k++) { // 4^16已经超过int的范围
+            long a = 9 * ((1L << (2 * k)) - (1L << k)) + 1;
+            long b = (1L << (2 * k)) - 3 * (1L << k) + 1;
+            if (a <= Integer.MAX_VALUE) {
+                candidates[count++] = a;
+            }
+            if (k >= 2 && b <= Integer.MAX_VALUE) {
+                candidates[count++] = b;
+            }
+        }
+        int[] gaps = new int[count];
+        for (int i = 0; i < count; i++) {
+            gaps[i] = (int) candidates[i];
+        }
+        InsertionSort.insertSort(gaps, 0, count - 1);
+        return gaps;
+    }
+}
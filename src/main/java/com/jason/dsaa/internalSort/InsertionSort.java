@@ -1,5 +1,7 @@
 package com.jason.dsaa.internalSort;
 
+import java.util.Comparator;
+
 /**
  * 插入排序。包括直接插入排序和希尔排序
  *
@@ -54,6 +56,114 @@ public class InsertionSort {
         withGuard(datas, length);
     }
 
+    /**
+     * 对数组中datas[low]-datas[high]之间的数据进行直接插入排序
+     *
+     * @param datas 数据
+     * @param low   起始位置
+     * @param high  结束位置
+     */
+    public static void insertSort(int[] datas, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int value = datas[i];
+            int j = i - 1;
+            for (; j >= low && datas[j] > value; j--) {
+                datas[j + 1] = datas[j];
+            }
+            datas[j + 1] = value;
+        }
+    }
+
+    /**
+     * 直接插入排序算法。long类型
+     *
+     * @param datas 数据
+     */
+    public static void insertSort(long[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        insertSort(datas, 0, datas.length - 1);
+    }
+
+    /**
+     * 对数组中datas[low]-datas[high]之间的数据进行直接插入排序。long类型
+     */
+    public static void insertSort(long[] datas, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            long value = datas[i];
+            int j = i - 1;
+            for (; j >= low && datas[j] > value; j--) {
+                datas[j + 1] = datas[j];
+            }
+            datas[j + 1] = value;
+        }
+    }
+
+    /**
+     * 直接插入排序算法。double类型，结果与Arrays.sort(double[])相同：-0.0在0.0之前，NaN在最后
+     *
+     * @param datas 数据
+     */
+    public static void insertSort(double[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        insertSort(datas, 0, datas.length - 1);
+    }
+
+    /**
+     * 对数组中datas[low]-datas[high]之间的数据进行直接插入排序。double类型，-0.0在0.0之前，NaN在最后
+     */
+    public static void insertSort(double[] datas, int low, int high) {
+        int end = DoubleOrder.moveNaNsToEnd(datas, low, high);
+        int negativeZeros = DoubleOrder.replaceNegativeZeros(datas, low, end);
+        insertSortNonNaN(datas, low, end);
+        DoubleOrder.restoreNegativeZeros(datas, low, end, negativeZeros);
+    }
+
+    /**
+     * 直接插入排序，区间中不能含有NaN和-0.0，由DoubleOrder处理之后调用
+     */
+    static void insertSortNonNaN(double[] datas, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            double value = datas[i];
+            int j = i - 1;
+            for (; j >= low && datas[j] > value; j--) {
+                datas[j + 1] = datas[j];
+            }
+            datas[j + 1] = value;
+        }
+    }
+
+    /**
+     * 直接插入排序算法。使用比较器比较数据
+     *
+     * @param datas      数据
+     * @param comparator 比较器
+     * @param <T>        数据类型
+     */
+    public static <T> void insertSort(T[] datas, Comparator<? super T> comparator) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        insertSort(datas, 0, datas.length - 1, comparator);
+    }
+
+    /**
+     * 对数组中datas[low]-datas[high]之间的数据进行直接插入排序。使用比较器比较数据
+     */
+    public static <T> void insertSort(T[] datas, int low, int high, Comparator<? super T> comparator) {
+        for (int i = low + 1; i <= high; i++) {
+            T value = datas[i];
+            int j = i - 1;
+            for (; j >= low && comparator.compare(datas[j], value) > 0; j--) {
+                datas[j + 1] = datas[j];
+            }
+            datas[j + 1] = value;
+        }
+    }
+
     /**
      * 不带监视哨的直接插入算法
      *
@@ -124,5 +234,157 @@ public class InsertionSort {
         }
     }
 
+    /**
+     * 希尔排序。使用指定的增量序列，适用于不能申请额外空间的场合。
+     *
+     * @param datas    数据
+     * @param sequence 增量序列
+     */
+    public static void shellSort(int[] datas, GapSequence sequence) {
+        shellSort(datas, 0, datas.length - 1, sequence);
+    }
+
+    /**
+     * 希尔排序。使用指定的增量序列对datas[low]-datas[high]排序。
+     * <pre>
+     *     1.增量序列是预先计算好的，排序过程中不申请任何空间。
+     *     2.每一趟是间隔为gap的直接插入排序：暂存datas[i]，比它大的元素依次后移gap位，再把它放到空出的位置上，
+     *     每个元素只写一次，不需要交换。
+     * </pre>
+     *
+     * @param datas    数据
+     * @param low      起始位置
+     * @param high     结束位置（包含）
+     * @param sequence 增量序列
+     */
+    public static void shellSort(int[] datas, int low, int high, GapSequence sequence) {
+        for (int k = sequence.start(high - low + 1); k >= 0; k--) {
+            int gap = sequence.gap(k);
+            for (int i = low + gap; i <= high; i++) {
+                int temp = datas[i];
+                int j = i - gap;
+                for (; j >= low && datas[j] > temp; j -= gap) {
+                    datas[j + gap] = datas[j];
+                }
+                datas[j + gap] = temp;
+            }
+        }
+    }
+
+    /**
+     * 希尔排序，并统计比较次数和移动次数。排序过程与shellSort(int[])相同（逐次减半的增量序列），
+     * 作为比较其他增量序列的基准。
+     *
+     * @param datas 数据
+     * @return 比较次数和移动次数
+     */
+    public static SortStatistics shellSortStatistics(int[] datas) {
+        long[] counts = new long[2];
+        for (int gap = datas.length / 2; gap > 0; gap /= 2) {
+            shellPassStatistics(datas, gap, counts);
+        }
+        return new SortStatistics(counts[0], counts[1]);
+    }
+
+    /**
+     * 希尔排序，并统计比较次数和移动次数。排序过程与shellSort(int[], GapSequence)相同，
+     * 只用于比较不同增量序列的开销，计数会降低排序的速度。
+     *
+     * @param datas    数据
+     * @param sequence 增量序列
+     * @return 比较次数和移动次数
+     */
+    public static SortStatistics shellSortStatistics(int[] datas, GapSequence sequence) {
+        long[] counts = new long[2];
+        for (int k = sequence.start(datas.length); k >= 0; k--) {
+            shellPassStatistics(datas, sequence.gap(k), counts);
+        }
+        return new SortStatistics(counts[0], counts[1]);
+    }
+
+    /**
+     * 增量为gap的一趟直接插入排序，比较次数累加到counts[0]，移动次数累加到counts[1]
+     */
+    private static void shellPassStatistics(int[] datas, int gap, long[] counts) {
+        long comparisons = 0;
+        long moves = 0;
+        for (int i = gap; i < datas.length; i++) {
+            int temp = datas[i];
+            int j = i - gap;
+            for (; j >= 0; j -= gap) {
+                comparisons++;
+                if (datas[j] <= temp) {
+                    break;
+                }
+                datas[j + gap] = datas[j];
+                moves++;
+            }
+            if (j + gap != i) { // 元素没有移动时不计暂存和写回
+                datas[j + gap] = temp;
+                moves += 2;
+            }
+        }
+        counts[0] += comparisons;
+        counts[1] += moves;
+    }
+
+    /**
+     * 希尔排序。long类型
+     *
+     * @param datas 数据
+     */
+    public static void shellSort(long[] datas) {
+        for (int d = datas.length / 2; d > 0; d = d / 2) {
+            for (int i = d; i < datas.length; i++) {
+                long temp = datas[i];
+                int j = i - d;
+                for (; j >= 0 && datas[j] > temp; j -= d) {
+                    datas[j + d] = datas[j];
+                }
+                datas[j + d] = temp;
+            }
+        }
+    }
+
+    /**
+     * 希尔排序。double类型，结果与Arrays.sort(double[])相同：-0.0在0.0之前，NaN在最后
+     *
+     * @param datas 数据
+     */
+    public static void shellSort(double[] datas) {
+        int length = DoubleOrder.moveNaNsToEnd(datas, 0, datas.length - 1) + 1;
+        int negativeZeros = DoubleOrder.replaceNegativeZeros(datas, 0, length - 1);
+        for (int d = length / 2; d > 0; d = d / 2) {
+            for (int i = d; i < length; i++) {
+                double temp = datas[i];
+                int j = i - d;
+                for (; j >= 0 && datas[j] > temp; j -= d) {
+                    datas[j + d] = datas[j];
+                }
+                datas[j + d] = temp;
+            }
+        }
+        DoubleOrder.restoreNegativeZeros(datas, 0, length - 1, negativeZeros);
+    }
+
+    /**
+     * 希尔排序。使用比较器比较数据
+     *
+     * @param datas      数据
+     * @param comparator 比较器
+     * @param <T>        数据类型
+     */
+    public static <T> void shellSort(T[] datas, Comparator<? super T> comparator) {
+        for (int d = datas.length / 2; d > 0; d = d / 2) {
+            for (int i = d; i < datas.length; i++) {
+                T temp = datas[i];
+                int j = i - d;
+                for (; j >= 0 && comparator.compare(datas[j], temp) > 0; j -= d) {
+                    datas[j + d] = datas[j];
+                }
+                datas[j + d] = temp;
+            }
+        }
+    }
 
 }
@@ -0,0 +1,307 @@
+package com.jason.dsaa.internalSort;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * 败者树。是树形选择排序中锦标赛思想的改进，用于k路归并。
+ * <pre>
+ *     1.k个叶子结点存放每一路当前的关键字，k-1个非叶子结点存放该结点比赛中的败者（叶子的序号），tree[0]存放最终的胜者。
+ *     2.取走胜者之后，只需要沿着胜者叶子到根结点的路径与各结点中的败者重新比赛，每次选择的时间复杂度是O(log2k)。
+ *     3.每一路用一个标志表示是否已经取完，不需要使用Integer.MAX_VALUE作为无穷大，任何int值都可以参加比赛。
+ *     4.关键字相等时序号小的一路获胜，归并的结果是稳定的。
+ *     5.同一个败者树对象可以反复用于排序、归并和置换选择，容量足够时不再申请新的空间。
+ *     排序只使用tree、keys和exhausted，k路共2k个int加k个boolean；runs在第一次置换选择、cursors在第一次归并时才申请。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:19
+ **/
+public class LoserTree {
+
+    private int[] tree; // 非叶子结点中的败者，tree[0]为胜者
+    private int[] keys; // 每一路当前的关键字
+    private boolean[] exhausted; // 每一路是否已经取完
+    private int[] runs; // 每一路当前关键字所属的归并段，只在置换选择中使用，没有使用过时为null
+    private int[] cursors; // 归并时每一路的读取位置，没有归并过时为null
+    private int k; // 路数
+
+    /**
+     * 创建败者树
+     *
+     * @param k 路数
+     */
+    public LoserTree(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("败者树至少需要1路");
+        }
+        this.tree = new int[k];
+        this.keys = new int[k];
+        this.exhausted = new boolean[k];
+        this.k = k;
+        clear();
+    }
+
+    /**
+     * 重新设置路数，容量足够时复用原来的存储空间。所有的路都被置为已取完。
+     *
+     * @param k 路数
+     */
+    public void reset(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("败者树至少需要1路");
+        }
+        if (k > tree.length) {
+            this.tree = new int[k];
+            this.keys = new int[k];
+            this.exhausted = new boolean[k];
+            this.runs = null;
+            this.cursors = null;
+        }
+        this.k = k;
+        clear();
+    }
+
+    private void clear() {
+        for (int i = 0; i < k; i++) {
+            exhausted[i] = true;
+            tree[i] = 0;
+        }
+        if (runs != null) {
+            Arrays.fill(runs, 0, k, 0);
+        }
+    }
+
+    /**
+     * 设置第i路的关键字，设置完所有的路之后需要调用build建树
+     *
+     * @param i   路的序号
+     * @param key 关键字
+     */
+    public void set(int i, int key) {
+        keys[i] = key;
+        exhausted[i] = false;
+    }
+
+    /**
+     * 建立败者树。
+     * <pre>
+     *     1.从最后一个非叶子结点开始自底向上比赛，每个结点中暂时存放该结点的胜者。
+     *     2.再自顶向下把每个结点中的胜者换成败者：两个孩子的胜者中不是本结点胜者的那一个就是败者。
+     *     自顶向下处理时孩子结点还没有被修改，所以不需要额外的空间。
+     * </pre>
+     */
+    public void build() {
+        if (k == 1) {
+            tree[0] = 0;
+            return;
+        }
+        for (int node = k - 1; node > 0; node--) {
+            int a = winnerOf(2 * node);
+            int b = winnerOf(2 * node + 1);
+            tree[node] = beats(a, b) ? a : b;
+        }
+        tree[0] = tree[1];
+        for (int node = 1; node < k; node++) {
+            int a = winnerOf(2 * node);
+            int b = winnerOf(2 * node + 1);
+            tree[node] = tree[node] == a ? b : a;
+        }
+    }
+
+    /**
+     * 结点node的胜者。node大于等于k时是叶子结点，否则是还存放着胜者的非叶子结点。
+     */
+    private int winnerOf(int node) {
+        return node >= k ? node - k : tree[node];
+    }
+
+    /**
+     * @return true：所有的路都已经取完
+     */
+    public boolean isEmpty() {
+        return exhausted[tree[0]];
+    }
+
+    /**
+     * @return 胜者所在路的序号
+     */
+    public int winner() {
+        return tree[0];
+    }
+
+    /**
+     * @return 胜者的关键字
+     */
+    public int winnerKey() {
+        return keys[tree[0]];
+    }
+
+    /**
+     * 胜者所在的路取出下一个关键字，并重新比赛
+     *
+     * @param key 下一个关键字
+     */
+    public void replaceWinner(int key) {
+        int winner = tree[0];
+        keys[winner] = key;
+        replay(winner);
+    }
+
+    /**
+     * 胜者所在的路已经取完，并重新比赛
+     */
+    public void exhaustWinner() {
+        int winner = tree[0];
+        exhausted[winner] = true;
+        replay(winner);
+    }
+
+    /**
+     * 沿着第leaf路到根结点的路径重新比赛
+     */
+    private void replay(int leaf) {
+        int winner = leaf;
+        for (int node = (k + leaf) / 2; node > 0; node /= 2) {
+            if (beats(tree[node], winner)) {
+                int temp = tree[node];
+                tree[node] = winner;
+                winner = temp;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * 第a路是否战胜第b路。先比较所属的归并段，再比较关键字，最后比较序号。
+     */
+    private boolean beats(int a, int b) {
+        if (exhausted[a] || exhausted[b]) {
+            return !exhausted[a] || (exhausted[b] && a < b);
+        }
+        if (runs != null && runs[a] != runs[b]) {
+            return runs[a] < runs[b];
+        }
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    /**
+     * 锦标赛排序（树形选择排序）。
+     * <pre>
+     *     1.每个元素是一路，建树之后每次输出胜者，并把胜者所在的路置为已取完，重新比赛。
+     *     2.数据先复制到败者树的关键字数组中，结果直接写回原数组。
+     *     3.时间复杂度：O(nlog2n)；空间：败者树的2n个int和n个boolean，不需要补齐到2的幂，
+     *     败者树对象可以在多次排序之间复用（见SelectionSort.treeSelectionSort(int[], LoserTree)）。是一种稳定的排序算法。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     */
+    public void sort(int[] datas) {
+        int length = datas.length;
+        if (length < 2) {
+            return;
+        }
+        reset(length);
+        for (int i = 0; i < length; i++) {
+            set(i, datas[i]);
+        }
+        build();
+        for (int i = 0; i < length; i++) {
+            datas[i] = winnerKey();
+            exhaustWinner();
+        }
+    }
+
+    /**
+     * 多路归并。将src中的runNum个有序段合并到dest中，第i个有序段为src[bounds[i]]-src[bounds[i+1]-1]，
+     * 合并结果写入dest[bounds[0]]-dest[bounds[runNum]-1]。
+     *
+     * @param src    源序列
+     * @param bounds 有序段的边界，长度至少为runNum+1
+     * @param runNum 有序段的个数
+     * @param dest   目标序列
+     */
+    public void merge(int[] src, int[] bounds, int runNum, int[] dest) {
+        if (runNum < 1) {
+            return;
+        }
+        reset(runNum);
+        if (cursors == null) {
+            cursors = new int[tree.length];
+        }
+        for (int i = 0; i < runNum; i++) {
+            cursors[i] = bounds[i];
+            if (cursors[i] < bounds[i + 1]) {
+                set(i, src[cursors[i]++]);
+            }
+        }
+        build();
+        int position = bounds[0];
+        while (!isEmpty()) {
+            int winner = winner();
+            dest[position++] = winnerKey();
+            if (cursors[winner] < bounds[winner + 1]) {
+                replaceWinner(src[cursors[winner]++]);
+            } else {
+                exhaustWinner();
+            }
+        }
+    }
+
+    /**
+     * 置换选择。从数据流中生成初始归并段，用于外排序。
+     * <pre>
+     *     1.先从数据流中读入k个元素组成败者树，它们都属于第0个归并段。
+     *     2.输出胜者，再读入一个新元素：新元素不小于刚输出的元素时属于当前归并段，否则属于下一个归并段。
+     *     3.比赛时先比较所属的归并段，所以当前归并段的元素全部输出之后才会输出下一个归并段的元素。
+     *     4.对于随机数据，归并段的平均长度约为2k，是k个元素内排序得到的归并段长度的2倍。
+     * </pre>
+     *
+     * @param input  数据流
+     * @param k      败者树的路数，即内存中同时保存的元素个数
+     * @param output 接收输出的元素，元素按归并段依次输出，每个归并段内有序
+     * @return 归并段的个数
+     */
+    public int replacementSelection(PrimitiveIterator.OfInt input, int k, RunConsumer output) {
+        reset(k);
+        if (runs == null) {
+            runs = new int[tree.length];
+        }
+        for (int i = 0; i < k && input.hasNext(); i++) {
+            set(i, input.nextInt());
+        }
+        build();
+        int runCount = 0;
+        while (!isEmpty()) {
+            int winner = winner();
+            int run = runs[winner];
+            int key = keys[winner];
+            output.accept(run, key);
+            runCount = run + 1;
+            if (input.hasNext()) {
+                int next = input.nextInt();
+                if (next < key) {
+                    runs[winner] = run + 1;
+                }
+                replaceWinner(next);
+            } else {
+                exhaustWinner();
+            }
+        }
+        return runCount;
+    }
+
+    /**
+     * 置换选择的输出
+     */
+    @FunctionalInterface
+    public interface RunConsumer {
+        /**
+         * 输出一个元素
+         *
+         * @param run 元素所属的归并段，从0开始
+         * @param key 元素
+         */
+        void accept(int run, int key);
+    }
+}
@@ -1,5 +1,10 @@
 package com.jason.dsaa.internalSort;
 
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToLongFunction;
+
 /**
  * 归并排序。
  *
@@ -8,6 +13,9 @@ package com.jason.dsaa.internalSort;
  **/
 public class MegeringSort {
 
+    private static final int MIN_RUN = 32; // 自然有序段的最小长度，不足的部分用插入排序补齐
+    private static final int PARALLEL_THRESHOLD = 1 << 13; // 小于该长度的合并或分段不再拆分并行任务
+
     /**
      * 归并排序。将两个相邻的有序表合并成一个有序表。
      * 将原数组中的src[start]-src[middle]和src[middle+1]-src[end]排序并复制都dest[start]-dest[end]
@@ -106,4 +114,478 @@ public class MegeringSort {
             s = s * 2;
         }
     }
+
+    /**
+     * 二路归并排序。long类型。
+     *
+     * @param datas 待排序序列
+     */
+    public static void megerSort(long[] datas) {
+        int s = 1;
+        int length = datas.length;
+        long[] temp = new long[length];
+
+        while (s < length) {
+            megerPass(datas, temp, s, length);
+            s = s * 2;
+            megerPass(temp, datas, s, length);
+            s = s * 2;
+        }
+    }
+
+    private static void megerPass(long[] src, long[] dest, int s, int n) {
+        int position = 0;
+        while (position + 2 * s - 1 < n - 1) {
+            meger(src, dest, position, position + s - 1, position + 2 * s - 1);
+            position = position + 2 * s;
+        }
+        if (position + s - 1 < n - 1) {
+            meger(src, dest, position, position + s - 1, n - 1);
+        } else {
+            System.arraycopy(src, position, dest, position, n - position);
+        }
+    }
+
+    private static void meger(long[] src, long[] dest, int start, int middle, int end) {
+        int i = start;
+        int j = middle + 1;
+        int k = start;
+        while (i <= middle && j <= end) {
+            if (src[i] <= src[j]) {
+                dest[k++] = src[i++];
+            } else {
+                dest[k++] = src[j++];
+            }
+        }
+        System.arraycopy(src, i, dest, k, middle + 1 - i);
+        System.arraycopy(src, j, dest, k + middle + 1 - i, end + 1 - j);
+    }
+
+    /**
+     * 二路归并排序。double类型，结果与Arrays.sort(double[])相同：-0.0在0.0之前，NaN在最后。
+     *
+     * @param datas 待排序序列
+     */
+    public static void megerSort(double[] datas) {
+        int s = 1;
+        int length = DoubleOrder.moveNaNsToEnd(datas, 0, datas.length - 1) + 1;
+        int negativeZeros = DoubleOrder.replaceNegativeZeros(datas, 0, length - 1);
+        double[] temp = new double[length];
+
+        while (s < length) {
+            megerPass(datas, temp, s, length);
+            s = s * 2;
+            megerPass(temp, datas, s, length);
+            s = s * 2;
+        }
+        DoubleOrder.restoreNegativeZeros(datas, 0, length - 1, negativeZeros);
+    }
+
+    private static void megerPass(double[] src, double[] dest, int s, int n) {
+        int position = 0;
+        while (position + 2 * s - 1 < n - 1) {
+            meger(src, dest, position, position + s - 1, position + 2 * s - 1);
+            position = position + 2 * s;
+        }
+        if (position + s - 1 < n - 1) {
+            meger(src, dest, position, position + s - 1, n - 1);
+        } else {
+            System.arraycopy(src, position, dest, position, n - position);
+        }
+    }
+
+    private static void meger(double[] src, double[] dest, int start, int middle, int end) {
+        int i = start;
+        int j = middle + 1;
+        int k = start;
+        while (i <= middle && j <= end) {
+            if (src[i] <= src[j]) {
+                dest[k++] = src[i++];
+            } else {
+                dest[k++] = src[j++];
+            }
+        }
+        System.arraycopy(src, i, dest, k, middle + 1 - i);
+        System.arraycopy(src, j, dest, k + middle + 1 - i, end + 1 - j);
+    }
+
+    /**
+     * 二路归并排序。使用比较器比较数据，是一种稳定的排序算法。
+     *
+     * @param datas      待排序序列
+     * @param comparator 比较器
+     * @param <T>        数据类型
+     */
+    public static <T> void megerSort(T[] datas, Comparator<? super T> comparator) {
+        int s = 1;
+        int length = datas.length;
+        T[] temp = datas.clone();
+
+        while (s < length) {
+            megerPass(datas, temp, s, length, comparator);
+            s = s * 2;
+            megerPass(temp, datas, s, length, comparator);
+            s = s * 2;
+        }
+    }
+
+    private static <T> void megerPass(T[] src, T[] dest, int s, int n, Comparator<? super T> comparator) {
+        int position = 0;
+        while (position + 2 * s - 1 < n - 1) {
+            meger(src, dest, position, position + s - 1, position + 2 * s - 1, comparator);
+            position = position + 2 * s;
+        }
+        if (position + s - 1 < n - 1) {
+            meger(src, dest, position, position + s - 1, n - 1, comparator);
+        } else {
+            System.arraycopy(src, position, dest, position, n - position);
+        }
+    }
+
+    private static <T> void meger(T[] src, T[] dest, int start, int middle, int end, Comparator<? super T> comparator) {
+        int i = start;
+        int j = middle + 1;
+        int k = start;
+        while (i <= middle && j <= end) {
+            if (comparator.compare(src[i], src[j]) <= 0) {
+                dest[k++] = src[i++];
+            } else {
+                dest[k++] = src[j++];
+            }
+        }
+        System.arraycopy(src, i, dest, k, middle + 1 - i);
+        System.arraycopy(src, j, dest, k + middle + 1 - i, end + 1 - j);
+    }
+
+    /**
+     * 按关键字二路归并排序，是一种稳定的排序算法。
+     * <pre>
+     *     1.每个记录只调用一次keyExtractor取出long类型的关键字，排序过程中只比较long值，不装箱也不调用compareTo。
+     *     2.关键字和记录的原始下标一起归并，排序完成后按下标一次性重排记录。
+     *     3.空间复杂度：O(n)。
+     * </pre>
+     *
+     * @param datas        待排序序列
+     * @param keyExtractor 从记录中取出关键字的函数
+     * @param <T>          数据类型
+     */
+    public static <T> void megerSort(T[] datas, ToLongFunction<? super T> keyExtractor) {
+        int length = datas.length;
+        long[] keys = new long[length];
+        int[] index = new int[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = keyExtractor.applyAsLong(datas[i]);
+            index[i] = i;
+        }
+        long[] tempKeys = new long[length];
+        int[] tempIndex = new int[length];
+        int s = 1;
+        while (s < length) {
+            megerPass(keys, index, tempKeys, tempIndex, s, length);
+            s = s * 2;
+            megerPass(tempKeys, tempIndex, keys, index, s, length);
+            s = s * 2;
+        }
+        T[] copy = datas.clone();
+        for (int i = 0; i < length; i++) {
+            datas[i] = copy[index[i]];
+        }
+    }
+
+    private static void megerPass(long[] srcKeys, int[] srcIndex, long[] destKeys, int[] destIndex, int s, int n) {
+        int position = 0;
+        while (position < n) {
+            int middle = Math.min(position + s, n);
+            int end = Math.min(position + 2 * s, n);
+            int i = position;
+            int j = middle;
+            int k = position;
+            while (i < middle && j < end) {
+                if (srcKeys[i] <= srcKeys[j]) {
+                    destKeys[k] = srcKeys[i];
+                    destIndex[k++] = srcIndex[i++];
+                } else {
+                    destKeys[k] = srcKeys[j];
+                    destIndex[k++] = srcIndex[j++];
+                }
+            }
+            System.arraycopy(srcKeys, i, destKeys, k, middle - i);
+            System.arraycopy(srcIndex, i, destIndex, k, middle - i);
+            k += middle - i;
+            System.arraycopy(srcKeys, j, destKeys, k, end - j);
+            System.arraycopy(srcIndex, j, destIndex, k, end - j);
+            position = end;
+        }
+    }
+
+    /**
+     * 并行自然归并排序。
+     * <pre>
+     *     1.先扫描出数据中已经有序的段（严格降序的段会被反转），长度不足MIN_RUN的段用直接插入排序补齐。
+     *     2.每一趟将相邻的两个段两两合并，各对之间并行执行；较长的合并再按二分拆分成多个子合并并行执行。
+     *     3.整个排序只申请一个与原数组等长的辅助数组，在原数组和辅助数组之间交替合并。
+     *     4.基本有序的数据只有很少的段，时间复杂度接近O(n)；最坏时间复杂度O(nlog2n)。
+     *     5.空间复杂度：O(n)。是一种稳定的排序算法。
+     * </pre>
+     *
+     * @param datas 待排序序列
+     */
+    public static void parallelMegerSort(int[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        int length = datas.length;
+        if (length < 2) {
+            return;
+        }
+        int[] runs = findRuns(datas);
+        int runNum = runs.length - 1;
+        int[] src = datas;
+        int[] dest = new int[length];
+        while (runNum > 1) {
+            invoke(new MegerPassTask(src, dest, runs, 0, runNum / 2));
+            if (runNum % 2 == 1) {
+                int start = runs[runNum - 1];
+                System.arraycopy(src, start, dest, start, length - start);
+            }
+            // 合并后段的边界为原来边界的偶数下标
+            int newRunNum = (runNum + 1) / 2;
+            for (int i = 1; i < newRunNum; i++) {
+                runs[i] = runs[2 * i];
+            }
+            runs[newRunNum] = length;
+            runNum = newRunNum;
+            int[] temp = src;
+            src = dest;
+            dest = temp;
+        }
+        if (src != datas) {
+            System.arraycopy(src, 0, datas, 0, length);
+        }
+    }
+
+    /**
+     * 找出数据中的有序段。数据按块并行扫描，有序段不会跨越块的边界。
+     *
+     * @param datas 数据
+     * @return 有序段的边界，第i段为[runs[i], runs[i+1])，最后一个元素为数据的长度
+     */
+    private static int[] findRuns(int[] datas) {
+        int length = datas.length;
+        int chunkNum = Math.max(1, Math.min(length / PARALLEL_THRESHOLD, ForkJoinPool.getCommonPoolParallelism() * 4));
+        int[][] chunkRuns = new int[chunkNum][];
+        invoke(new FindRunsTask(datas, chunkRuns, 0, chunkNum));
+        int total = 0;
+        for (int[] chunkRun : chunkRuns) {
+            total += chunkRun.length - 1;
+        }
+        int[] runs = new int[total + 1];
+        int k = 0;
+        for (int[] chunkRun : chunkRuns) {
+            System.arraycopy(chunkRun, 0, runs, k, chunkRun.length - 1);
+            k += chunkRun.length - 1;
+        }
+        runs[total] = length;
+        return runs;
+    }
+
+    /**
+     * 找出datas[low]-datas[high-1]之间的有序段
+     *
+     * @return 有序段的边界，最后一个元素为high
+     */
+    private static int[] findRuns(int[] datas, int low, int high) {
+        // 除最后一段外每段的长度都不小于MIN_RUN
+        int[] runs = new int[(high - low + MIN_RUN - 1) / MIN_RUN + 1];
+        int runNum = 0;
+        int start = low;
+        while (start < high) {
+            int end = start + 1;
+            if (end < high && datas[end] < datas[start]) {
+                // 严格降序的段，反转后成为升序段，相等的元素不会被反转，保证稳定性
+                while (end < high && datas[end] < datas[end - 1]) {
+                    end++;
+                }
+                reverse(datas, start, end - 1);
+            } else {
+                while (end < high && datas[end] >= datas[end - 1]) {
+                    end++;
+                }
+            }
+            if (end - start < MIN_RUN) {
+                end = Math.min(start + MIN_RUN, high);
+                InsertionSort.insertSort(datas, start, end - 1);
+            }
+            runs[runNum++] = start;
+            start = end;
+        }
+        int[] result = new int[runNum + 1];
+        System.arraycopy(runs, 0, result, 0, runNum);
+        result[runNum] = high;
+        return result;
+    }
+
+    private static void reverse(int[] datas, int low, int high) {
+        while (low < high) {
+            int temp = datas[low];
+            datas[low++] = datas[high];
+            datas[high--] = temp;
+        }
+    }
+
+    /**
+     * 将有序序列src[a1]-src[a2-1]和src[b1]-src[b2-1]合并到dest[d]开始的位置。相等的元素中前一个序列的排在前面。
+     */
+    private static void meger(int[] src, int a1, int a2, int b1, int b2, int[] dest, int d) {
+        if (a1 < a2 && b1 < b2 && src[a2 - 1] <= src[b1]) {
+            // 两个序列整体有序，直接复制
+            System.arraycopy(src, a1, dest, d, a2 - a1);
+            System.arraycopy(src, b1, dest, d + a2 - a1, b2 - b1);
+            return;
+        }
+        while (a1 < a2 && b1 < b2) {
+            if (src[a1] <= src[b1]) {
+                dest[d++] = src[a1++];
+            } else {
+                dest[d++] = src[b1++];
+            }
+        }
+        System.arraycopy(src, a1, dest, d, a2 - a1);
+        System.arraycopy(src, b1, dest, d + a2 - a1, b2 - b1);
+    }
+
+    /**
+     * 在有序序列src[low]-src[high-1]中查找第一个大于等于key（upper为true时是大于key）的位置
+     */
+    private static int bound(int[] src, int low, int high, int key, boolean upper) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (src[middle] < key || (upper && src[middle] == key)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void invoke(RecursiveAction task) {
+        if (ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    /**
+     * 并行查找有序段的任务，处理第low到第high-1块
+     */
+    private static class FindRunsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] datas;
+        private final int[][] chunkRuns;
+        private final int low;
+        private final int high;
+
+        FindRunsTask(int[] datas, int[][] chunkRuns, int low, int high) {
+            this.datas = datas;
+            this.chunkRuns = chunkRuns;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low == 1) {
+                int chunkNum = chunkRuns.length;
+                int start = (int) ((long) datas.length * low / chunkNum);
+                int end = (int) ((long) datas.length * high / chunkNum);
+                chunkRuns[low] = findRuns(datas, start, end);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new FindRunsTask(datas, chunkRuns, low, middle), new FindRunsTask(datas, chunkRuns, middle, high));
+        }
+    }
+
+    /**
+     * 一趟归并的任务，合并第low到第high-1对有序段
+     */
+    private static class MegerPassTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dest;
+        private final int[] runs;
+        private final int low;
+        private final int high;
+
+        MegerPassTask(int[] src, int[] dest, int[] runs, int low, int high) {
+            this.src = src;
+            this.dest = dest;
+            this.runs = runs;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low == 1) {
+                int start = runs[2 * low];
+                int middle = runs[2 * low + 1];
+                int end = runs[2 * low + 2];
+                new MegerTask(src, start, middle, middle, end, dest, start).compute();
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new MegerPassTask(src, dest, runs, low, middle), new MegerPassTask(src, dest, runs, middle, high));
+        }
+    }
+
+    /**
+     * 并行合并两个有序序列的任务。
+     * 取较长序列的中间元素，在另一个序列中二分查找其位置，将一次合并拆分成两个互不相关的合并。
+     */
+    private static class MegerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int a1, a2, b1, b2;
+        private final int[] dest;
+        private final int d;
+
+        MegerTask(int[] src, int a1, int a2, int b1, int b2, int[] dest, int d) {
+            this.src = src;
+            this.a1 = a1;
+            this.a2 = a2;
+            this.b1 = b1;
+            this.b2 = b2;
+            this.dest = dest;
+            this.d = d;
+        }
+
+        @Override
+        protected void compute() {
+            int lengthA = a2 - a1;
+            int lengthB = b2 - b1;
+            if (lengthA + lengthB <= PARALLEL_THRESHOLD) {
+                meger(src, a1, a2, b1, b2, dest, d);
+                return;
+            }
+            int splitA, splitB;
+            if (lengthA >= lengthB) {
+                // 序列B中小于该元素的都排在它前面，等于它的都排在它后面
+                splitA = (a1 + a2) >>> 1;
+                splitB = bound(src, b1, b2, src[splitA], false);
+            } else {
+                // 序列A中小于等于该元素的都排在它前面
+                splitB = (b1 + b2) >>> 1;
+                splitA = bound(src, a1, a2, src[splitB], true);
+            }
+            int splitD = d + (splitA - a1) + (splitB - b1);
+            invokeAll(new MegerTask(src, a1, splitA, b1, splitB, dest, d),
+                    new MegerTask(src, splitA, a2, splitB, b2, dest, splitD));
+        }
+    }
 }
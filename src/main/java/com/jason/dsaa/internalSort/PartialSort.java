@@ -0,0 +1,200 @@
+package com.jason.dsaa.internalSort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+
+/**
+ * 部分排序。包括第n小元素选择、部分排序、流式求最小的k个元素。
+ * <pre>
+ *     只需要最小的k个元素或者中位数时，不必对整个数组排序：
+ *     1.nthElement：内省选择，平均时间复杂度O(n)，最坏时间复杂度O(n)。
+ *     2.partialSort：先选择再对前k个排序，时间复杂度O(n + klog2k)。
+ *     3.topK：用大小为k的大顶堆扫描一遍数据，时间复杂度O(nlog2k)，空间复杂度O(k)，适用于无法一次装入内存的数据流。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:22
+ **/
+public class PartialSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16; // 小于该长度的区间直接插入排序
+    private static final int GROUP_SIZE = 5; // 中位数的中位数算法中每组的元素个数
+
+    /**
+     * 内省选择。重新排列数组，使datas[n]是排序后位于第n个位置的元素，
+     * 它前面的元素都不大于它，后面的元素都不小于它。
+     * <pre>
+     *     1.与快速排序相同的方法划分，但只需要继续处理第n个位置所在的一侧。
+     *     2.划分的次数超过2log2n时，改用中位数的中位数（BFPRT）选择枢轴，保证最坏时间复杂度为O(n)。
+     * </pre>
+     *
+     * @param datas 数据
+     * @param n     位置，从0开始
+     * @return 第n小的元素
+     */
+    public static int nthElement(int[] datas, int n) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        if (n < 0 || n >= datas.length) {
+            throw new IndexOutOfBoundsException("位置" + n + "超出了数组的范围");
+        }
+        select(datas, 0, datas.length - 1, n);
+        return datas[n];
+    }
+
+    /**
+     * 求中位数，元素个数为偶数时返回较小的那个中位数。数组会被重新排列。
+     *
+     * @param datas 数据
+     * @return 中位数
+     */
+    public static int median(int[] datas) {
+        return nthElement(datas, (datas.length - 1) / 2);
+    }
+
+    /**
+     * 部分排序。排序后datas[0]-datas[k-1]是最小的k个元素并且按升序排列，其余元素的顺序不确定。
+     *
+     * @param datas 数据
+     * @param k     需要排序的元素个数
+     */
+    public static void partialSort(int[] datas, int k) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        if (k < 0 || k > datas.length) {
+            throw new IndexOutOfBoundsException("k=" + k + "超出了数组的范围");
+        }
+        if (k == 0) {
+            return;
+        }
+        select(datas, 0, datas.length - 1, k - 1);
+        ExchangeSort.introSort(datas, 0, k - 2);
+    }
+
+    /**
+     * 求数据流中最小的k个元素。
+     * <pre>
+     *     用数组维护一个大小为k的大顶堆，堆顶是目前为止第k小的元素，
+     *     新的元素比堆顶小时替换堆顶并向下筛选，否则直接丢弃。
+     * </pre>
+     *
+     * @param iterator 数据流
+     * @param k        元素个数
+     * @return 最小的k个元素，按升序排列；数据不足k个时返回所有的数据
+     */
+    public static int[] topK(PrimitiveIterator.OfInt iterator, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k不能小于0");
+        }
+        int[] heap = new int[k];
+        int size = 0;
+        while (iterator.hasNext()) {
+            int value = iterator.nextInt();
+            if (size < k) {
+                heap[size++] = value;
+                if (size == k) {
+                    for (int i = k / 2 - 1; i >= 0; i--) {
+                        SelectionSort.bigTopHeapSift(heap, i, k);
+                    }
+                }
+            } else if (k > 0 && value < heap[0]) {
+                heap[0] = value;
+                SelectionSort.bigTopHeapSift(heap, 0, k);
+            }
+        }
+        if (size < k) {
+            int[] result = new int[size];
+            System.arraycopy(heap, 0, result, 0, size);
+            heap = result;
+        }
+        ExchangeSort.introSort(heap);
+        return heap;
+    }
+
+    /**
+     * 求数据流中最小的k个元素。使用比较器比较数据
+     *
+     * @param iterator   数据流
+     * @param k          元素个数
+     * @param comparator 比较器，求最大的k个元素时传入相反的比较器
+     * @param <T>        数据类型
+     * @return 最小的k个元素，按升序排列；数据不足k个时返回所有的数据
+     */
+    public static <T> List<T> topK(Iterator<? extends T> iterator, int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k不能小于0");
+        }
+        List<T> result = new ArrayList<>();
+        if (k == 0) {
+            return result;
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(k, Collections.reverseOrder(comparator));
+        while (iterator.hasNext()) {
+            T value = iterator.next();
+            if (heap.size() < k) {
+                heap.offer(value);
+            } else if (comparator.compare(value, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(value);
+            }
+        }
+        while (!heap.isEmpty()) {
+            result.add(heap.poll());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 在datas[low]-datas[high]之间选择第n小的元素
+     */
+    private static void select(int[] datas, int low, int high, int n) {
+        int depthLimit = ExchangeSort.depthLimit(high - low + 1);
+        while (high > low) {
+            if (high - low + 1 <= INSERTION_SORT_THRESHOLD) {
+                InsertionSort.insertSort(datas, low, high);
+                return;
+            }
+            int partion;
+            if (depthLimit > 0) {
+                depthLimit--;
+                partion = ExchangeSort.pivotPartion(datas, low, high);
+            } else {
+                ExchangeSort.swap(datas, low, medianOfMedians(datas, low, high));
+                partion = ExchangeSort.hoarePartion(datas, low, high);
+            }
+            if (partion == n) {
+                return;
+            } else if (n < partion) {
+                high = partion - 1;
+            } else {
+                low = partion + 1;
+            }
+        }
+    }
+
+    /**
+     * 中位数的中位数。每5个元素一组求出中位数并移动到区间的前部，再递归地求这些中位数的中位数。
+     *
+     * @return 中位数的中位数所在的位置
+     */
+    private static int medianOfMedians(int[] datas, int low, int high) {
+        int medianNum = 0;
+        for (int start = low; start <= high; start += GROUP_SIZE) {
+            int end = Math.min(start + GROUP_SIZE - 1, high);
+            InsertionSort.insertSort(datas, start, end);
+            ExchangeSort.swap(datas, low + medianNum, (start + end) >>> 1);
+            medianNum++;
+        }
+        int middle = low + (medianNum - 1) / 2;
+        select(datas, low, low + medianNum - 1, middle);
+        return middle;
+    }
+}
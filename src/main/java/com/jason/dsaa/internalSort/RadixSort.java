@@ -0,0 +1,456 @@
+package com.jason.dsaa.internalSort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 基数排序。包括LSD（低位优先）基数排序、并行LSD基数排序、MSD（高位优先）美国国旗排序。
+ * <pre>
+ *     1.把关键字看成若干个r位的“数字”，按数字分配到2^r个桶中，不比较关键字的大小。
+ *     2.时间复杂度：O(d(n+2^r))，d为关键字的位数除以r。
+ *     3.有符号数在取数字之前先翻转符号位，负数就排在正数之前。
+ *     4.LSD基数排序需要一个与原数组等长的辅助数组，是一种稳定的排序算法。
+ *     5.美国国旗排序在原数组中交换元素，只需要O(2^r)的辅助空间，是一种不稳定的排序算法。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:18
+ **/
+public class RadixSort {
+
+    public static final int DEFAULT_BITS = 8; // 默认每个数字的位数
+    private static final int FLAG_BITS = 8; // 美国国旗排序每个数字的位数
+    private static final int INSERTION_SORT_THRESHOLD = 64; // 美国国旗排序中小于该长度的桶使用插入排序
+    private static final int PARALLEL_THRESHOLD = 1 << 16; // 小于该长度时并行基数排序退化为串行
+
+    /**
+     * LSD基数排序，每个数字默认8位。int类型。
+     *
+     * @param datas 待排序数据
+     */
+    public static void radixSort(int[] datas) {
+        radixSort(datas, DEFAULT_BITS);
+    }
+
+    /**
+     * LSD基数排序。int类型。
+     * <pre>
+     *     每个数字的位数越多，排序的趟数越少，但计数数组越大。常用的位数是8、11、16：
+     *     32位的关键字分别需要4、3、2趟。
+     *     所有趟的计数在一次扫描中完成；如果某一趟所有元素都落在同一个桶中，则跳过该趟。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     * @param bits  每个数字的位数，取值范围1-16
+     */
+    public static void radixSort(int[] datas, int bits) {
+        checkBits(bits);
+        int length = datas.length;
+        if (length < 2) {
+            return;
+        }
+        int mask = (1 << bits) - 1;
+        int passes = (32 + bits - 1) / bits;
+        int[][] count = new int[passes][1 << bits];
+        for (int data : datas) {
+            int key = data ^ Integer.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                count[p][(key >>> (p * bits)) & mask]++;
+            }
+        }
+        int[] src = datas;
+        int[] dest = new int[length];
+        for (int p = 0; p < passes; p++) {
+            int shift = p * bits;
+            int[] bucket = count[p];
+            if (bucket[digit(src[0], shift, mask)] == length) {
+                continue;
+            }
+            int sum = 0;
+            for (int i = 0; i < bucket.length; i++) {
+                int temp = bucket[i];
+                bucket[i] = sum;
+                sum += temp;
+            }
+            for (int data : src) {
+                dest[bucket[digit(data, shift, mask)]++] = data;
+            }
+            int[] temp = src;
+            src = dest;
+            dest = temp;
+        }
+        if (src != datas) {
+            System.arraycopy(src, 0, datas, 0, length);
+        }
+    }
+
+    /**
+     * 并行LSD基数排序，每个数字默认8位。int类型。
+     *
+     * @param datas 待排序数据
+     */
+    public static void parallelRadixSort(int[] datas) {
+        parallelRadixSort(datas, DEFAULT_BITS);
+    }
+
+    /**
+     * 并行LSD基数排序。int类型。
+     * <pre>
+     *     1.将数据分成与并行度相同的块，每一趟先并行统计每一块中各个桶的元素个数。
+     *     2.按“桶优先、块其次”的顺序求前缀和，得到每一块在每个桶中的起始位置。
+     *     3.各块并行地将元素分配到目标数组中，同一个桶中块的先后顺序不变，所以依然是稳定的。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     * @param bits  每个数字的位数，取值范围1-16
+     */
+    public static void parallelRadixSort(int[] datas, int bits) {
+        checkBits(bits);
+        int length = datas.length;
+        int chunkNum = ForkJoinPool.getCommonPoolParallelism();
+        if (length < PARALLEL_THRESHOLD || chunkNum <= 1) {
+            radixSort(datas, bits);
+            return;
+        }
+        int mask = (1 << bits) - 1;
+        int radix = 1 << bits;
+        int passes = (32 + bits - 1) / bits;
+        int[][] count = new int[chunkNum][radix];
+        int[] src = datas;
+        int[] dest = new int[length];
+        for (int p = 0; p < passes; p++) {
+            int shift = p * bits;
+            int[] from = src;
+            int[] to = dest;
+            IntStream.range(0, chunkNum).parallel().forEach(c -> {
+                int[] bucket = count[c];
+                Arrays.fill(bucket, 0);
+                for (int i = chunkStart(length, chunkNum, c), end = chunkStart(length, chunkNum, c + 1); i < end; i++) {
+                    bucket[digit(from[i], shift, mask)]++;
+                }
+            });
+            int sum = 0;
+            for (int d = 0; d < radix; d++) {
+                for (int c = 0; c < chunkNum; c++) {
+                    int temp = count[c][d];
+                    count[c][d] = sum;
+                    sum += temp;
+                }
+            }
+            if (isSingleBucket(count, radix, length)) {
+                continue;
+            }
+            IntStream.range(0, chunkNum).parallel().forEach(c -> {
+                int[] bucket = count[c];
+                for (int i = chunkStart(length, chunkNum, c), end = chunkStart(length, chunkNum, c + 1); i < end; i++) {
+                    to[bucket[digit(from[i], shift, mask)]++] = from[i];
+                }
+            });
+            src = to;
+            dest = from;
+        }
+        if (src != datas) {
+            System.arraycopy(src, 0, datas, 0, length);
+        }
+    }
+
+    /**
+     * 美国国旗排序（MSD基数排序的原地版本）。int类型。
+     * <pre>
+     *     1.从最高的8位开始，统计每个桶的元素个数，确定每个桶在数组中的区间。
+     *     2.依次检查每个桶区间中的元素，不属于该桶的元素交换到其所属的桶中，直到每个元素都在自己的桶中。
+     *     3.对每个桶递归地按下一个8位排序，长度小于阈值的桶直接使用插入排序。
+     *     4.不需要与原数组等长的辅助数组，适合对大数组排序。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     */
+    public static void americanFlagSort(int[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        americanFlagSort(datas, 0, datas.length, 32 - FLAG_BITS);
+    }
+
+    /**
+     * 对datas[low]-datas[high-1]之间的数据按第shift位开始的数字进行美国国旗排序
+     */
+    private static void americanFlagSort(int[] datas, int low, int high, int shift) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            InsertionSort.insertSort(datas, low, high - 1);
+            return;
+        }
+        int radix = 1 << FLAG_BITS;
+        int mask = radix - 1;
+        int[] heads = new int[radix];
+        int[] tails = new int[radix];
+        for (int i = low; i < high; i++) {
+            tails[digit(datas[i], shift, mask)]++;
+        }
+        int start = low;
+        for (int d = 0; d < radix; d++) {
+            heads[d] = start;
+            start += tails[d];
+            tails[d] = start;
+        }
+        for (int d = 0; d < radix; d++) {
+            while (heads[d] < tails[d]) {
+                int value = datas[heads[d]];
+                int digit = digit(value, shift, mask);
+                // 循环交换，直到取出的元素属于当前的桶
+                while (digit != d) {
+                    int temp = datas[heads[digit]];
+                    datas[heads[digit]++] = value;
+                    value = temp;
+                    digit = digit(value, shift, mask);
+                }
+                datas[heads[d]++] = value;
+            }
+        }
+        if (shift > 0) {
+            start = low;
+            for (int d = 0; d < radix; d++) {
+                if (tails[d] - start > 1) {
+                    americanFlagSort(datas, start, tails[d], Math.max(shift - FLAG_BITS, 0));
+                }
+                start = tails[d];
+            }
+        }
+    }
+
+    /**
+     * 取出翻转符号位后的关键字从第shift位开始的数字
+     */
+    private static int digit(int data, int shift, int mask) {
+        return ((data ^ Integer.MIN_VALUE) >>> shift) & mask;
+    }
+
+    /**
+     * LSD基数排序，每个数字默认8位。long类型。
+     *
+     * @param datas 待排序数据
+     */
+    public static void radixSort(long[] datas) {
+        radixSort(datas, DEFAULT_BITS);
+    }
+
+    /**
+     * LSD基数排序。long类型。
+     * <pre>
+     *     每个数字的位数越多，排序的趟数越少，但计数数组越大。常用的位数是8、11、16：
+     *     64位的关键字分别需要8、6、4趟。
+     *     所有趟的计数在一次扫描中完成；如果某一趟所有元素都落在同一个桶中，则跳过该趟。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     * @param bits  每个数字的位数，取值范围1-16
+     */
+    public static void radixSort(long[] datas, int bits) {
+        checkBits(bits);
+        int length = datas.length;
+        if (length < 2) {
+            return;
+        }
+        int mask = (1 << bits) - 1;
+        int passes = (64 + bits - 1) / bits;
+        int[][] count = new int[passes][1 << bits];
+        for (long data : datas) {
+            long key = data ^ Long.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                count[p][(int) ((key >>> (p * bits)) & mask)]++;
+            }
+        }
+        long[] src = datas;
+        long[] dest = new long[length];
+        for (int p = 0; p < passes; p++) {
+            int shift = p * bits;
+            int[] bucket = count[p];
+            if (bucket[digit(src[0], shift, mask)] == length) {
+                continue;
+            }
+            int sum = 0;
+            for (int i = 0; i < bucket.length; i++) {
+                int temp = bucket[i];
+                bucket[i] = sum;
+                sum += temp;
+            }
+            for (long data : src) {
+                dest[bucket[digit(data, shift, mask)]++] = data;
+            }
+            long[] temp = src;
+            src = dest;
+            dest = temp;
+        }
+        if (src != datas) {
+            System.arraycopy(src, 0, datas, 0, length);
+        }
+    }
+
+    /**
+     * 并行LSD基数排序，每个数字默认8位。long类型。
+     *
+     * @param datas 待排序数据
+     */
+    public static void parallelRadixSort(long[] datas) {
+        parallelRadixSort(datas, DEFAULT_BITS);
+    }
+
+    /**
+     * 并行LSD基数排序。long类型。
+     * <pre>
+     *     1.将数据分成与并行度相同的块，每一趟先并行统计每一块中各个桶的元素个数。
+     *     2.按“桶优先、块其次”的顺序求前缀和，得到每一块在每个桶中的起始位置。
+     *     3.各块并行地将元素分配到目标数组中，同一个桶中块的先后顺序不变，所以依然是稳定的。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     * @param bits  每个数字的位数，取值范围1-16
+     */
+    public static void parallelRadixSort(long[] datas, int bits) {
+        checkBits(bits);
+        int length = datas.length;
+        int chunkNum = ForkJoinPool.getCommonPoolParallelism();
+        if (length < PARALLEL_THRESHOLD || chunkNum <= 1) {
+            radixSort(datas, bits);
+            return;
+        }
+        int mask = (1 << bits) - 1;
+        int radix = 1 << bits;
+        int passes = (64 + bits - 1) / bits;
+        int[][] count = new int[chunkNum][radix];
+        long[] src = datas;
+        long[] dest = new long[length];
+        for (int p = 0; p < passes; p++) {
+            int shift = p * bits;
+            long[] from = src;
+            long[] to = dest;
+            IntStream.range(0, chunkNum).parallel().forEach(c -> {
+                int[] bucket = count[c];
+                Arrays.fill(bucket, 0);
+                for (int i = chunkStart(length, chunkNum, c), end = chunkStart(length, chunkNum, c + 1); i < end; i++) {
+                    bucket[digit(from[i], shift, mask)]++;
+                }
+            });
+            int sum = 0;
+            for (int d = 0; d < radix; d++) {
+                for (int c = 0; c < chunkNum; c++) {
+                    int temp = count[c][d];
+                    count[c][d] = sum;
+                    sum += temp;
+                }
+            }
+            if (isSingleBucket(count, radix, length)) {
+                continue;
+            }
+            IntStream.range(0, chunkNum).parallel().forEach(c -> {
+                int[] bucket = count[c];
+                for (int i = chunkStart(length, chunkNum, c), end = chunkStart(length, chunkNum, c + 1); i < end; i++) {
+                    to[bucket[digit(from[i], shift, mask)]++] = from[i];
+                }
+            });
+            src = to;
+            dest = from;
+        }
+        if (src != datas) {
+            System.arraycopy(src, 0, datas, 0, length);
+        }
+    }
+
+    /**
+     * 美国国旗排序（MSD基数排序的原地版本）。long类型。
+     * <pre>
+     *     1.从最高的8位开始，统计每个桶的元素个数，确定每个桶在数组中的区间。
+     *     2.依次检查每个桶区间中的元素，不属于该桶的元素交换到其所属的桶中，直到每个元素都在自己的桶中。
+     *     3.对每个桶递归地按下一个8位排序，长度小于阈值的桶直接使用插入排序。
+     *     4.不需要与原数组等长的辅助数组，适合对大数组排序。
+     * </pre>
+     *
+     * @param datas 待排序数据
+     */
+    public static void americanFlagSort(long[] datas) {
+        if (datas == null) {
+            throw new NullPointerException("数组不能为空");
+        }
+        americanFlagSort(datas, 0, datas.length, 64 - FLAG_BITS);
+    }
+
+    /**
+     * 对datas[low]-datas[high-1]之间的数据按第shift位开始的数字进行美国国旗排序
+     */
+    private static void americanFlagSort(long[] datas, int low, int high, int shift) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            InsertionSort.insertSort(datas, low, high - 1);
+            return;
+        }
+        int radix = 1 << FLAG_BITS;
+        int mask = radix - 1;
+        int[] heads = new int[radix];
+        int[] tails = new int[radix];
+        for (int i = low; i < high; i++) {
+            tails[digit(datas[i], shift, mask)]++;
+        }
+        int start = low;
+        for (int d = 0; d < radix; d++) {
+            heads[d] = start;
+            start += tails[d];
+            tails[d] = start;
+        }
+        for (int d = 0; d < radix; d++) {
+            while (heads[d] < tails[d]) {
+                long value = datas[heads[d]];
+                int digit = digit(value, shift, mask);
+                // 循环交换，直到取出的元素属于当前的桶
+                while (digit != d) {
+                    long temp = datas[heads[digit]];
+                    datas[heads[digit]++] = value;
+                    value = temp;
+                    digit = digit(value, shift, mask);
+                }
+                datas[heads[d]++] = value;
+            }
+        }
+        if (shift > 0) {
+            start = low;
+            for (int d = 0; d < radix; d++) {
+                if (tails[d] - start > 1) {
+                    americanFlagSort(datas, start, tails[d], Math.max(shift - FLAG_BITS, 0));
+                }
+                start = tails[d];
+            }
+        }
+    }
+
+    /**
+     * 取出翻转符号位后的关键字从第shift位开始的数字
+     */
+    private static int digit(long data, int shift, int mask) {
+        return (int) (((data ^ Long.MIN_VALUE) >>> shift) & mask);
+    }
+
+    /**
+     * 第c块的起始位置
+     */
+    private static int chunkStart(int length, int chunkNum, int c) {
+        return (int) ((long) length * c / chunkNum);
+    }
+
+    /**
+     * 判断前缀和之后是否所有元素都在同一个桶中
+     */
+    private static boolean isSingleBucket(int[][] count, int radix, int length) {
+        for (int d = 0; d < radix; d++) {
+            int end = d == radix - 1 ? length : count[0][d + 1];
+            if (end - count[0][d] == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkBits(int bits) {
+        if (bits < 1 || bits > 16) {
+            throw new IllegalArgumentException("每个数字的位数必须在1到16之间");
+        }
+    }
+}
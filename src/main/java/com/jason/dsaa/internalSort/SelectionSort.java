@@ -1,7 +1,6 @@
 package com.jason.dsaa.internalSort;
 
-
-import com.jason.dsaa.utils.PrintUtil;
+import java.util.Comparator;
 
 /**
  * 选择排序。包括直接选择排序、树形选择排序、堆排序
@@ -41,85 +40,32 @@ public class SelectionSort {
 
     /**
      * 树形选择排序。
-     * 注意：datas的长度必须满足2的k次幂。
      * <pre>
-     *     空间复杂度：空间存储需求比较大。
+     *     使用败者树进行锦标赛排序，每个元素是一个叶子结点，
+     *     已经输出的叶子用标志表示，不需要补齐到2的k次幂，也不需要用最大值作为无穷大，数组中可以含有Integer.MAX_VALUE。
+     *     空间复杂度：O(n)，败者树占2n个int和n个boolean（原来补齐到2的幂的胜者树占2n到4n个int）。
      *     时间复杂度：O(nlog2n)。
      *     是一种稳定的排序算法。
+     *     每次调用都新建败者树，反复排序时使用treeSelectionSort(int[], LoserTree)复用同一个败者树。
      * </pre>
      *
      * @param datas 待排序数据
      */
     public static void treeSelectionSort(int[] datas) {
-        int length = datas.length; // 待排序的数组长度，length一定要是2的幂次方，如果不是则扩大到2的幂次方
-
-        if (!((length & (length - 1)) == 0)) {// 判断length是否是2的幂次方
-            int minPower = minPower(length);
-            length = (int) Math.pow(2, minPower + 1);
-        }
-        int treeSize = length * 2 - 1; // 树的存储大小
-        int[] tree = new int[treeSize]; // 树的存储空间
-
-        // 由后向前将待排序数据存储在树中（叶子节点）
-        for (int i = length - 1, j = treeSize - 1; i >= 0; i--, j--) {
-            if (i > datas.length - 1) {
-                tree[j] = MAX;
-            } else {
-                tree[j] = datas[i];
-            }
-        }
-        // 填充非叶子节点
-        for (int i = treeSize - 1 - length; i >= 0; i--) {
-            tree[i] = Integer.min(tree[2 * i + 1], tree[2 * i + 2]);
-        }
-        PrintUtil.printIntArray(tree);
-
-
-        // 排序
-        int i = 0;
-        while (i < datas.length) {
-            int minValue = tree[0];
-            datas[i] = minValue; // 最小值
-
-            // 将树中次最小值替换为无穷大值
-            int minIndex = 0;// 最小值下标
-            while (true) {
-                int a = (minIndex + 1) * 2 - 1;
-                int b = (minIndex + 1) * 2;
-                if (a > tree.length - 1 || b > tree.length - 1) {
-                    break;
-                }
-                int v1 = tree[a];
-                int v2 = tree[b];
-                // 将最小值的结点置为无穷大
-                minIndex = Math.min(v1, v2) == v1 ? a : b;
-                tree[minIndex] = MAX;
-            }
-
-            // 重新选择生成胜利树，找出最小值
-            while (minIndex > 0) {
-                if (minIndex % 2 == 0) {
-                    tree[minIndex / 2 - 1] = Math.min(tree[minIndex], tree[minIndex - 1]);
-                    minIndex = minIndex / 2 - 1;
-                } else {
-                    tree[minIndex / 2] = Math.min(tree[minIndex], tree[minIndex + 1]);
-                    minIndex = minIndex / 2;
-                }
-            }
-            i++;
+        if (datas.length < 2) {
+            return;
         }
+        new LoserTree(datas.length).sort(datas);
     }
 
     /**
-     * 求number的2的对数
+     * 使用调用者提供的败者树进行树形选择排序，败者树的容量不小于datas的长度时不申请新的空间。
+     *
+     * @param datas     待排序数据
+     * @param loserTree 败者树，排序之后可以继续用于下一次排序
      */
-    private static int minPower(int number) {
-        for (int i = 1; i < Integer.MAX_VALUE; i++) {
-            if (Math.pow(2, i) < 10 && Math.pow(2, i + 1) > 10) {
-                return i;
-            }
-        }
-        return -1;
+    public static void treeSelectionSort(int[] datas, LoserTree loserTree) {
+        loserTree.sort(datas);
     }
 
     /**
@@ -145,8 +91,6 @@ public class SelectionSort {
         for (int i = length / 2 - 1; i >= 0; i--) {
             smallTopHeapSift(datas, i, length);
         }
-        System.out.println("小顶堆：");
-        PrintUtil.printIntArray(datas);
         // 堆排序
         for (int i = length - 1; i > 0; i--) {
             temp = datas[0];
@@ -159,13 +103,15 @@ public class SelectionSort {
 
     /**
      * 筛选，调整堆.
-     * 小顶堆筛选
+     * 小顶堆筛选。
+     * 将datas[low]向下筛选，使以low为根的子树重新成为小顶堆，堆中的元素为datas[0]-datas[high-1]。
+     * 常用于维护固定大小的堆，例如求最大的k个元素。
      *
      * @param datas 堆
-     * @param low   下界
-     * @param high  上界
+     * @param low   需要筛选的结点
+     * @param high  堆中元素的个数
      */
-    private static void smallTopHeapSift(int[] datas, int low, int high) {
+    public static void smallTopHeapSift(int[] datas, int low, int high) {
         int root = low; // 子树的根结点
         int child = 2 * low + 1; // root结点的左结点
         int temp = datas[root];
@@ -195,8 +141,6 @@ public class SelectionSort {
         for (int i = length / 2 - 1; i >= 0; i--) {
             bigTopHeapSift(datas, i, length);
         }
-        System.out.println("大顶堆：");
-        PrintUtil.printIntArray(datas);
 
         for (int i = length - 1; i > 0; i--) {
             temp = datas[0];
@@ -206,10 +150,61 @@ public class SelectionSort {
         }
     }
 
+    /**
+     * 堆排序。正序，只对datas[low]-datas[high]之间的数据排序
+     *
+     * @param datas 待排序数据
+     * @param low   起始位置
+     * @param high  结束位置
+     */
+    public static void heapSortAsc(int[] datas, int low, int high) {
+        int length = high - low + 1;
+        int temp;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            bigTopHeapSift(datas, low, i, length);
+        }
+        for (int i = length - 1; i > 0; i--) {
+            temp = datas[low];
+            datas[low] = datas[low + i];
+            datas[low + i] = temp;
+            bigTopHeapSift(datas, low, 0, i);
+        }
+    }
+
+    /**
+     * 筛选器，大顶堆。堆的根结点存放在datas[offset]处
+     *
+     * @param datas  堆
+     * @param offset 堆在数组中的起始位置
+     * @param low    需要调整的结点（相对offset的下标）
+     * @param high   上界（相对offset的下标）
+     */
+    private static void bigTopHeapSift(int[] datas, int offset, int low, int high) {
+        int temp = datas[offset + low];
+        for (int k = low * 2 + 1; k < high; k = k * 2 + 1) {
+            if (k < high - 1 && datas[offset + k] < datas[offset + k + 1]) {
+                k++;
+            }
+            if (datas[offset + k] > temp) {
+                datas[offset + low] = datas[offset + k];
+                low = k;
+            } else {
+                break;
+            }
+        }
+        datas[offset + low] = temp;
+    }
+
     /**
      * 筛选器，大顶堆。
+     * 将datas[low]向下筛选，使以low为根的子树重新成为大顶堆，堆中的元素为datas[0]-datas[high-1]。
+     * 常用于维护固定大小的堆，例如求最小的k个元素。
+     *
+     * @param datas 堆
+     * @param low   需要筛选的结点
+     * @param high  堆中元素的个数
      */
-    private static void bigTopHeapSift(int[] datas, int low, int high) {
+    public static void bigTopHeapSift(int[] datas, int low, int high) {
         int temp = datas[low];//先取出当前元素i
         for (int k = low * 2 + 1; k < high; k = k * 2 + 1) {//从i结点的左子结点开始，也就是2i+1处开始
             if (k < high - 1 && datas[k] < datas[k + 1]) {//如果左子结点小于右子结点，k指向右子结点
@@ -225,4 +220,142 @@ public class SelectionSort {
         datas[low] = temp;//将temp值放到最终的位置
     }
 
+    /**
+     * 堆排序。正序，long类型
+     *
+     * @param datas 待排序数据
+     */
+    public static void heapSortAsc(long[] datas) {
+        heapSortAsc(datas, 0, datas.length - 1);
+    }
+
+    /**
+     * 堆排序。正序，long类型，只对datas[low]-datas[high]之间的数据排序
+     */
+    public static void heapSortAsc(long[] datas, int low, int high) {
+        int length = high - low + 1;
+        long temp;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            bigTopHeapSift(datas, low, i, length);
+        }
+        for (int i = length - 1; i > 0; i--) {
+            temp = datas[low];
+            datas[low] = datas[low + i];
+            datas[low + i] = temp;
+            bigTopHeapSift(datas, low, 0, i);
+        }
+    }
+
+    private static void bigTopHeapSift(long[] datas, int offset, int low, int high) {
+        long temp = datas[offset + low];
+        for (int k = low * 2 + 1; k < high; k = k * 2 + 1) {
+            if (k < high - 1 && datas[offset + k] < datas[offset + k + 1]) {
+                k++;
+            }
+            if (datas[offset + k] > temp) {
+                datas[offset + low] = datas[offset + k];
+                low = k;
+            } else {
+                break;
+            }
+        }
+        datas[offset + low] = temp;
+    }
+
+    /**
+     * 堆排序。正序，double类型，结果与Arrays.sort(double[])相同：-0.0在0.0之前，NaN在最后
+     *
+     * @param datas 待排序数据
+     */
+    public static void heapSortAsc(double[] datas) {
+        heapSortAsc(datas, 0, datas.length - 1);
+    }
+
+    /**
+     * 堆排序。正序，double类型，只对datas[low]-datas[high]之间的数据排序，-0.0在0.0之前，NaN在最后
+     */
+    public static void heapSortAsc(double[] datas, int low, int high) {
+        int end = DoubleOrder.moveNaNsToEnd(datas, low, high);
+        int negativeZeros = DoubleOrder.replaceNegativeZeros(datas, low, end);
+        heapSortAscNonNaN(datas, low, end);
+        DoubleOrder.restoreNegativeZeros(datas, low, end, negativeZeros);
+    }
+
+    /**
+     * 堆排序，区间中不能含有NaN和-0.0，由DoubleOrder处理之后调用
+     */
+    static void heapSortAscNonNaN(double[] datas, int low, int high) {
+        int length = high - low + 1;
+        double temp;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            bigTopHeapSift(datas, low, i, length);
+        }
+        for (int i = length - 1; i > 0; i--) {
+            temp = datas[low];
+            datas[low] = datas[low + i];
+            datas[low + i] = temp;
+            bigTopHeapSift(datas, low, 0, i);
+        }
+    }
+
+    private static void bigTopHeapSift(double[] datas, int offset, int low, int high) {
+        double temp = datas[offset + low];
+        for (int k = low * 2 + 1; k < high; k = k * 2 + 1) {
+            if (k < high - 1 && datas[offset + k] < datas[offset + k + 1]) {
+                k++;
+            }
+            if (datas[offset + k] > temp) {
+                datas[offset + low] = datas[offset + k];
+                low = k;
+            } else {
+                break;
+            }
+        }
+        datas[offset + low] = temp;
+    }
+
+    /**
+     * 堆排序。正序，使用比较器比较数据
+     *
+     * @param datas      待排序数据
+     * @param comparator 比较器
+     * @param <T>        数据类型
+     */
+    public static <T> void heapSortAsc(T[] datas, Comparator<? super T> comparator) {
+        heapSortAsc(datas, 0, datas.length - 1, comparator);
+    }
+
+    /**
+     * 堆排序。正序，使用比较器比较数据，只对datas[low]-datas[high]之间的数据排序
+     */
+    public static <T> void heapSortAsc(T[] datas, int low, int high, Comparator<? super T> comparator) {
+        int length = high - low + 1;
+        T temp;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            bigTopHeapSift(datas, low, i, length, comparator);
+        }
+        for (int i = length - 1; i > 0; i--) {
+            temp = datas[low];
+            datas[low] = datas[low + i];
+            datas[low + i] = temp;
+            bigTopHeapSift(datas, low, 0, i, comparator);
+        }
+    }
+
+    private static <T> void bigTopHeapSift(T[] datas, int offset, int low, int high, Comparator<? super T> comparator) {
+        T temp = datas[offset + low];
+        for (int k = low * 2 + 1; k < high; k = k * 2 + 1) {
+            if (k < high - 1 && comparator.compare(datas[offset + k], datas[offset + k + 1]) < 0) {
+                k++;
+            }
+            if (comparator.compare(datas[offset + k], temp) > 0) {
+                datas[offset + low] = datas[offset + k];
+                low = k;
+            } else {
+                break;
+            }
+        }
+        datas[offset + low] = temp;
+    }
+
 }
@@ -0,0 +1,40 @@
+package com.jason.dsaa.internalSort;
+
+/**
+ * 排序过程的统计：关键字的比较次数和元素的移动次数。用于比较不同算法或不同参数的实际开销。
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:26
+ **/
+public class SortStatistics {
+
+    private final long comparisons; // 比较次数
+    private final long moves; // 移动次数
+
+    public SortStatistics(long comparisons, long moves) {
+        this.comparisons = comparisons;
+        this.moves = moves;
+    }
+
+    /**
+     * @return 关键字的比较次数
+     */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * @return 元素的移动次数，取出暂存和写回都算一次移动
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    @Override
+    public String toString() {
+        return "SortStatistics{" +
+                "comparisons=" + comparisons +
+                ", moves=" + moves +
+                '}';
+    }
+}
@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.array;
 
-import com.jason.structure.nodes.TripleNode;
+import com.jason.dsaa.nodes.TripleNode;
 
 /**
  * 稀疏矩阵的三元组存储。以行序优先顺序存储稀疏矩阵中的元素。
@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.linear;
 
-import com.jason.structure.nodes.Node;
+import com.jason.dsaa.nodes.Node;
 
 /**
  * 循环链表，使用头指针来标识循环链表
@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.linear;
 
-import com.jason.structure.nodes.DoubleNode;
+import com.jason.dsaa.nodes.DoubleNode;
 
 import java.util.Objects;
 
@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.linear;
 
-import com.jason.structure.nodes.Node;
+import com.jason.dsaa.nodes.Node;
 
 /**
  * 单链表实现
@@ -0,0 +1,291 @@
+package com.jason.dsaa.linearity.queue;
+
+import java.util.Arrays;
+
+/**
+ * 索引优先队列（d叉小顶堆）。
+ * <pre>
+ *     1.队列中的元素是0到capacity-1之间的整数序号，每个序号对应一个long类型的关键字（int关键字可以直接传入），关键字最小的元素在队首。
+ *     2.堆用数组存储，结点i的孩子是d*i+1到d*i+d，双亲是(i-1)/d。d越大堆越矮，出队时比较次数更多但访问的缓存行更少。
+ *     3.用position数组记录每个序号在堆中的位置，可以在O(logd n)时间内修改任意元素的关键字或删除任意元素。
+ *     4.关键字相等时序号小的元素先出队。
+ *     5.入队、出队、修改关键字的时间复杂度：O(logd n)；批量建堆的时间复杂度：O(n)。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:21
+ **/
+public class IndexedPriorityQueue {
+
+    public static final int DEFAULT_ARITY = 4; // 默认为4叉堆
+
+    private final int d; // 堆的叉数
+    private final int[] heap; // 堆，存放元素的序号
+    private final int[] position; // 每个序号在堆中的位置，不在队列中时为-1
+    private final long[] keys; // 每个序号对应的关键字
+    private int size; // 队列中元素的个数
+
+    /**
+     * @param capacity 容量，元素的序号必须小于容量
+     */
+    public IndexedPriorityQueue(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * @param capacity 容量，元素的序号必须小于容量
+     * @param d        堆的叉数，不能小于2
+     */
+    public IndexedPriorityQueue(int capacity, int d) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        if (d < 2) {
+            throw new IllegalArgumentException("堆的叉数不能小于2");
+        }
+        this.d = d;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(position, -1);
+        this.size = 0;
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * 判断队列是否为空
+     *
+     * @return true为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 返回队列中元素的个数
+     *
+     * @return 元素个数
+     */
+    public int length() {
+        return size;
+    }
+
+    /**
+     * 判断序号是否在队列中
+     *
+     * @param index 序号
+     * @return true：在队列中
+     */
+    public boolean contains(int index) {
+        checkIndex(index);
+        return position[index] >= 0;
+    }
+
+    /**
+     * 返回序号对应的关键字
+     *
+     * @param index 序号
+     * @return 关键字
+     */
+    public long keyOf(int index) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException("序号" + index + "不在队列中");
+        }
+        return keys[index];
+    }
+
+    /**
+     * 入队
+     *
+     * @param index 序号
+     * @param key   关键字
+     */
+    public void offer(int index, long key) {
+        if (contains(index)) {
+            throw new IllegalArgumentException("序号" + index + "已经在队列中");
+        }
+        keys[index] = key;
+        heap[size] = index;
+        position[index] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * 批量建堆。清空队列后将序号0到keys.length-1全部入队，从最后一个非叶子结点开始向下筛选。
+     *
+     * @param keys 每个序号对应的关键字
+     */
+    public void heapify(long[] keys) {
+        if (keys.length > heap.length) {
+            throw new IllegalArgumentException("元素个数超过了队列的容量");
+        }
+        clear();
+        System.arraycopy(keys, 0, this.keys, 0, keys.length);
+        size = keys.length;
+        for (int i = 0; i < size; i++) {
+            heap[i] = i;
+            position[i] = i;
+        }
+        for (int i = (size - 2) / d; i >= 0 && size > 1; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * 读取队首元素
+     *
+     * @return 关键字最小的序号，队列为空时返回-1
+     */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * 读取队首元素的关键字
+     *
+     * @return 最小的关键字
+     */
+    public long peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("队列为空");
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * 删除队首元素
+     *
+     * @return 关键字最小的序号，队列为空时返回-1
+     */
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int min = heap[0];
+        removeAt(0);
+        return min;
+    }
+
+    /**
+     * 删除队列中的任意元素
+     *
+     * @param index 序号
+     */
+    public void remove(int index) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException("序号" + index + "不在队列中");
+        }
+        removeAt(position[index]);
+    }
+
+    /**
+     * 减小关键字，常用于戴克斯特拉算法中松弛边。
+     *
+     * @param index 序号
+     * @param key   新的关键字，不能大于原来的关键字
+     */
+    public void decreaseKey(int index, long key) {
+        if (key > keyOf(index)) {
+            throw new IllegalArgumentException("新的关键字不能大于原来的关键字");
+        }
+        keys[index] = key;
+        siftUp(position[index]);
+    }
+
+    /**
+     * 修改关键字，新的关键字可以大于也可以小于原来的关键字
+     *
+     * @param index 序号
+     * @param key   新的关键字
+     */
+    public void changeKey(int index, long key) {
+        long old = keyOf(index);
+        keys[index] = key;
+        if (key < old) {
+            siftUp(position[index]);
+        } else {
+            siftDown(position[index]);
+        }
+    }
+
+    private void removeAt(int pos) {
+        int index = heap[pos];
+        position[index] = -1;
+        size--;
+        if (pos == size) {
+            return;
+        }
+        // 用最后一个元素填补空位，再向上或向下筛选
+        int last = heap[size];
+        heap[pos] = last;
+        position[last] = pos;
+        siftUp(pos);
+        if (position[last] == pos) {
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * 向上筛选：与双亲比较，比双亲小则双亲下移
+     */
+    private void siftUp(int pos) {
+        int index = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / d;
+            if (!less(index, heap[parent])) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            position[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = index;
+        position[index] = pos;
+    }
+
+    /**
+     * 向下筛选：找出d个孩子中最小的一个，比它大则该孩子上移
+     */
+    private void siftDown(int pos) {
+        int index = heap[pos];
+        while (true) {
+            int first = d * pos + 1;
+            if (first >= size) {
+                break;
+            }
+            int min = first;
+            for (int child = first + 1, last = Math.min(first + d, size); child < last; child++) {
+                if (less(heap[child], heap[min])) {
+                    min = child;
+                }
+            }
+            if (!less(heap[min], index)) {
+                break;
+            }
+            heap[pos] = heap[min];
+            position[heap[pos]] = pos;
+            pos = min;
+        }
+        heap[pos] = index;
+        position[index] = pos;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= heap.length) {
+            throw new IndexOutOfBoundsException("序号" + index + "超出了队列的容量");
+        }
+    }
+}
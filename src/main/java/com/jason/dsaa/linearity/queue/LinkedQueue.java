@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.queue;
 
-import com.jason.structure.nodes.Node;
+import com.jason.dsaa.nodes.Node;
 
 /**
  * 链队列
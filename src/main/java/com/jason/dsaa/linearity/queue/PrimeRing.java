@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.queue;
 
-import com.jason.structure.linearity.linear.OrderList;
+import com.jason.dsaa.linearity.linear.OrderList;
 
 import java.util.Objects;
 
@@ -1,6 +1,6 @@
 package com.jason.dsaa.linearity.stacks;
 
-import com.jason.structure.nodes.Node;
+import com.jason.dsaa.nodes.Node;
 
 /**
  * 链式栈的实现
@@ -11,6 +11,8 @@ public class AVLTreeNode<E extends Comparable<E>> implements Comparable<E> {
     public AVLTreeNode<E> left; // 左子树
     public AVLTreeNode<E> right; // 右子树
     public AVLTreeNode<E> parent; // 父结点
+    public int height = 1; // 以该结点为根的子树的高度，叶子结点为1
+    public int size = 1; // 以该结点为根的子树的结点个数
 
     public AVLTreeNode(E data) {
         this(data, null, null, null);
@@ -41,6 +43,8 @@ public class AVLTreeNode<E extends Comparable<E>> implements Comparable<E> {
                 ", parent=" + parentData +
                 ", left=" + leftData +
                 ", right=" + rightData +
+                ", height=" + height +
+                ", size=" + size +
                 '}';
     }
 
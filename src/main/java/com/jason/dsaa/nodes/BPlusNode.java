@@ -1,29 +1,35 @@
 package com.jason.dsaa.nodes;
 
 /**
- * B+树结点
+ * B+树结点。非叶子结点的keys[i]是子树children[i]中的最大关键字；叶子结点的keys[i]对应的值是values[i]。
  *
  * @author WangChenHol
  * @date 2021-9-13 15:08
  **/
-public class BPlusNode<T extends Comparable<T>> {
+public class BPlusNode<K extends Comparable<K>, V> {
     public int keyNum; // 关键字的数量
     public boolean isLeaf; // 是否是叶子结点
-    public T[] keys; // 数据
-    public BPlusNode<T>[] children; // 子结点
-    public BPlusNode<T> parent; // 父结点
-    public BPlusNode<T> next; // 下一个节点
+    public K[] keys; // 数据
+    public BPlusNode<K, V>[] children; // 子结点，只有非叶子结点使用
+    public V[] values; // 关键字对应的值，只有叶子结点使用
+    public BPlusNode<K, V> parent; // 父结点
+    public BPlusNode<K, V> next; // 下一个节点，只有叶子结点使用，所有叶子结点按关键字从小到大链接
 
-    public BPlusNode(int m, boolean isLeaf, BPlusNode<T> parent, BPlusNode<T> next) {
+    @SuppressWarnings("unchecked")
+    public BPlusNode(int m, boolean isLeaf, BPlusNode<K, V> parent, BPlusNode<K, V> next) {
         this.keyNum = 0;
         this.isLeaf = isLeaf;
-        this.keys = (T[]) new Comparable[m];
-        this.children = new BPlusNode[m];
+        this.keys = (K[]) new Comparable<?>[m];
+        if (isLeaf) {
+            this.values = (V[]) new Object[m];
+        } else {
+            this.children = (BPlusNode<K, V>[]) new BPlusNode<?, ?>[m];
+        }
         this.parent = parent;
         this.next = next;
     }
 
-    public BPlusNode(int m, boolean isLeaf, BPlusNode<T> parent) {
+    public BPlusNode(int m, boolean isLeaf, BPlusNode<K, V> parent) {
         this(m, isLeaf, parent, null);
     }
 
@@ -34,4 +40,11 @@ public class BPlusNode<T extends Comparable<T>> {
     public BPlusNode(int m) {
         this(m, false);
     }
+
+    /**
+     * @return 结点中的最大关键字
+     */
+    public K maxKey() {
+        return keys[keyNum - 1];
+    }
 }
@@ -4,12 +4,12 @@ package com.jason.dsaa.nodes;
  * @author WangChenHol
  * @date 2021-9-13 16:35
  **/
-public class BPlusResult<T extends Comparable<T>> {
-    public BPlusNode<T> node; // 数据所在的结点
-    public int pos; // 数据在结点中的位置
+public class BPlusResult<K extends Comparable<K>, V> {
+    public BPlusNode<K, V> node; // 数据所在的叶子结点，树为空时为null
+    public int pos; // 数据在结点中的位置，未找到时为数据应该插入的位置
     public boolean found; // true：找到，false：未找到
 
-    public BPlusResult(BPlusNode<T> node, int pos, boolean found) {
+    public BPlusResult(BPlusNode<K, V> node, int pos, boolean found) {
         this.node = node;
         this.pos = pos;
         this.found = found;
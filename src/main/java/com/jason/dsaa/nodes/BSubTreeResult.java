@@ -10,4 +10,13 @@ public class BSubTreeResult<E extends Comparable<E>> {
     public BTreeNode<E> resultNode;  // 指向找到的结点
     public int i; // 在结点中的关键码的序号
     public boolean found; // true：找到
+
+    /**
+     * 关键字数组实际是Comparable[]，泛型参数确定时直接访问resultNode.key会抛出ClassCastException，需要通过此方法读取
+     *
+     * @return 找到的关键字
+     */
+    public E key() {
+        return resultNode.key[i];
+    }
 }
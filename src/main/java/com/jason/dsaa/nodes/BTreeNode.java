@@ -10,8 +10,8 @@ public class BTreeNode<E extends Comparable<E>> {
 
     public int keyNum; // 关键字个数域，该结点有多少个关键字
     public boolean isLeaf; // 是否是叶子结点
-    public E[] key; // 关键字数组
-    public BTreeNode<E>[] child; // 子树指针数组，P0,P1,P2....
+    public E[] key; // 关键字数组，比最大关键字个数多一个位置，插入时暂存分裂前的关键字
+    public BTreeNode<E>[] child; // 子树指针数组，P0,P1,P2....，同样多一个位置
     public BTreeNode<E> parent; // 双亲结点指针，指向父级结点
 
 
@@ -23,8 +23,8 @@ public class BTreeNode<E extends Comparable<E>> {
     public BTreeNode(int m) {
         this.keyNum = 0;
         this.isLeaf = true;
-        this.key = (E[]) new Comparable[m - 1];
-        this.child = new BTreeNode[m];
+        this.key = (E[]) new Comparable[m];
+        this.child = new BTreeNode[m + 1];
         this.parent = null;
     }
 
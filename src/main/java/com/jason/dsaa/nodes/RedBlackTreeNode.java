@@ -0,0 +1,37 @@
+package com.jason.dsaa.nodes;
+
+/**
+ * 红黑树的结点
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:45
+ **/
+public class RedBlackTreeNode<E extends Comparable<E>> implements Comparable<E> {
+    public E data; // 结点数据元素
+    public RedBlackTreeNode<E> left; // 左子树
+    public RedBlackTreeNode<E> right; // 右子树
+    public boolean red; // true：红色，即指向该结点的链接是红链接
+    public int size = 1; // 以该结点为根的子树的结点个数
+
+    public RedBlackTreeNode(E data, boolean red) {
+        this.data = data;
+        this.red = red;
+    }
+
+    @Override
+    public String toString() {
+        E leftData = left != null ? left.data : null;
+        E rightData = right != null ? right.data : null;
+        return "RedBlackTreeNode{" +
+                "data=" + data +
+                ", color=" + (red ? "RED" : "BLACK") +
+                ", left=" + leftData +
+                ", right=" + rightData +
+                '}';
+    }
+
+    @Override
+    public int compareTo(E o) {
+        return data.compareTo(o);
+    }
+}
@@ -0,0 +1,37 @@
+package com.jason.dsaa.nodes;
+
+/**
+ * 树堆的结点
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:45
+ **/
+public class TreapNode<E extends Comparable<E>> implements Comparable<E> {
+    public E data; // 结点数据元素
+    public TreapNode<E> left; // 左子树
+    public TreapNode<E> right; // 右子树
+    public final int priority; // 随机优先级，父结点的优先级不小于子结点
+    public int size = 1; // 以该结点为根的子树的结点个数
+
+    public TreapNode(E data, int priority) {
+        this.data = data;
+        this.priority = priority;
+    }
+
+    @Override
+    public String toString() {
+        E leftData = left != null ? left.data : null;
+        E rightData = right != null ? right.data : null;
+        return "TreapNode{" +
+                "data=" + data +
+                ", priority=" + priority +
+                ", left=" + leftData +
+                ", right=" + rightData +
+                '}';
+    }
+
+    @Override
+    public int compareTo(E o) {
+        return data.compareTo(o);
+    }
+}
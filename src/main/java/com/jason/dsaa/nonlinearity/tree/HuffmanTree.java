@@ -1,6 +1,7 @@
 package com.jason.dsaa.nonlinearity.tree;
 
 
+import com.jason.dsaa.linearity.queue.IndexedPriorityQueue;
 import com.jason.dsaa.nodes.HuffmanNode;
 
 import java.util.Arrays;
@@ -28,11 +29,18 @@ public class HuffmanTree {
         for (i = 0; i < n; i++) {
             huffman[i] = new HuffmanNode(weights[i]); // 首先构造n个具有权值的结点
         }
+        // 未加入到哈夫曼树中的结点按权值放入优先队列，每次取出权值最小的结点的时间复杂度为O(log2n)
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(m);
+        long[] leafWeights = new long[n];
+        for (i = 0; i < n; i++) {
+            leafWeights[i] = weights[i];
+        }
+        queue.heapify(leafWeights);
         for (i = n; i < m; i++) {
             // 选择不在选择未加入到哈夫曼树中权值最小的两个结点。
-            HuffmanNode min1 = selectMin(huffman, i - 1);
+            HuffmanNode min1 = huffman[queue.poll()];
             min1.flag = 1;
-            HuffmanNode min2 = selectMin(huffman, i - 1);
+            HuffmanNode min2 = huffman[queue.poll()];
             min2.flag = 1;
 
             // 构造最小两个结点的父结点，并修改父结点的权值
@@ -43,6 +51,7 @@ public class HuffmanTree {
             parent.rightChild = min2;
             parent.weight = min1.weight + min2.weight;
             huffman[i] = parent;
+            queue.offer(i, parent.weight);
         }
         // 从叶子结点到根结点求每个字符的哈夫曼编码
         int[][] huffmanCode = new int[n][n];
@@ -60,24 +69,6 @@ public class HuffmanTree {
         return huffmanCode;
     }
 
-    /**
-     * 选择权值最小的结点
-     *
-     * @param nodes 结点数组
-     * @param end   选择范围
-     * @return 最小结点
-     */
-    private static HuffmanNode selectMin(HuffmanNode[] nodes, int end) {
-        HuffmanNode min = nodes[end];
-        for (int i = 0; i <= end; i++) {
-            HuffmanNode huffmanNode = nodes[i];
-            if (huffmanNode.flag == 0 && huffmanNode.weight < min.weight) {
-                min = huffmanNode;
-            }
-        }
-        return min;
-    }
-
     public static void display(int[][] huffman) {
         for (int i = 0; i < huffman.length; i++) {
             System.out.print(Arrays.toString(huffman[i]) + " ");
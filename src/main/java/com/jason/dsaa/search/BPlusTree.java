@@ -4,6 +4,12 @@ package com.jason.dsaa.search;
 import com.jason.dsaa.nodes.BPlusNode;
 import com.jason.dsaa.nodes.BPlusResult;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
 /**
  * B+树
  * <pre>
@@ -11,110 +17,472 @@ import com.jason.dsaa.nodes.BPlusResult;
  *     1.在B+树中，每个结点含有n个关键字和n个子树。也就是每个关键字对应一个子树。
  *     2.每个结点（除根结点）中的关键字个数m的取值范围：n/2 <= m <= n。树的根结点关键字个数取值范围：1 <= m <=n。
  *     3.树中所有叶子结点包含了全部所有关键字的信息及指向对应记录的指针，且所有叶子结点中的关键字值都是从小到大的顺序依次连接的。
- *     4.所有非叶子结点仅起到 LinkedQueue<AVLTreeNode<E>> queue = new LinkedQueue<>();索引的作用，即结点中的每一个索引项只含有对应子树的最大关键字和指向该子树的指针，不含有该关键字对应记录的存储地址。
+ *     4.所有非叶子结点仅起到索引的作用，即结点中的每一个索引项只含有对应子树的最大关键字和指向该子树的指针，不含有该关键字对应记录的存储地址。
+ *     5.插入时结点的关键字超过n个则从中间分裂为两个结点，并在父结点中增加一个索引项，父结点也可能继续分裂。
+ *     6.删除时结点的关键字少于n/2个则先向相邻的兄弟结点借一个关键字，兄弟结点也不够时与兄弟结点合并，父结点也可能继续合并。
+ *     7.范围查找只在定位起点时访问非叶子结点，之后沿着叶子结点的next指针顺序扫描。
  * </pre>
  *
  * @author WangChenHol
  * @date 2021-9-10 16:57
  **/
-public class BPlusTree<T extends Comparable<T>> {
-    public BPlusNode<T> root = null; // 根结点
-    public BPlusNode<T> leaf = null; // 指向关键字最小的叶子结点
+public class BPlusTree<K extends Comparable<K>, V> {
+    public BPlusNode<K, V> root = null; // 根结点
+    public BPlusNode<K, V> leaf = null; // 指向关键字最小的叶子结点
     public final int degree; // 阶层，默认是最小值3
     public final int MIN_KEY_NUM; // 每个结点（除根结点）中的关键字个数最小值
-    public final int MAX_KEY_NUM; // 每个结点（除根结点）中的关键字个数最小值
+    public final int MAX_KEY_NUM; // 每个结点（除根结点）中的关键字个数最大值
+    private int size; // 关键字的个数
 
     public BPlusTree(int degree) {
         if (degree < 3) {
             throw new IllegalArgumentException("B+树最小为3阶");
         }
         this.degree = degree;
-        this.MIN_KEY_NUM = degree / 2;
+        this.MIN_KEY_NUM = (degree + 1) / 2; // n/2向上取整，非根结点至少有2棵子树
         this.MAX_KEY_NUM = degree;
     }
 
-    public BPlusResult<T> search(T data) {
-        checkDataIsNotNull(data);
-        int pos = -1;
-        boolean found = false;
-        BPlusNode<T> node = this.root;
-        while (node != null) {
-            int index = 0;
-            T[] keys = node.keys;
-            // TODO
-            while (index < node.keyNum && data.compareTo(keys[index]) > 0) {
-                index++;
-            }
-
-            node = node.children[pos];
+    /**
+     * 查找关键字所在的叶子结点
+     *
+     * @param key 关键字
+     * @return 查找的结果。未找到时node和pos是关键字应该插入的叶子结点和位置
+     */
+    public BPlusResult<K, V> search(K key) {
+        checkDataIsNotNull(key);
+        BPlusNode<K, V> node = this.root;
+        if (node == null) {
+            return new BPlusResult<>(null, 0, false);
         }
-        return new BPlusResult<T>(node, pos, found);
+        while (!node.isLeaf) {
+            // 关键字大于所有关键字时进入最后一棵子树
+            node = node.children[Math.min(indexOf(node, key), node.keyNum - 1)];
+        }
+        int pos = indexOf(node, key);
+        return new BPlusResult<>(node, pos, pos < node.keyNum && key.compareTo(node.keys[pos]) == 0);
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(K key) {
+        BPlusResult<K, V> result = search(key);
+        return result.found ? result.node.values[result.pos] : null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(K key) {
+        return search(key).found;
     }
 
-    private void checkDataIsNotNull(T data) {
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void checkDataIsNotNull(K data) {
         if (data == null) {
             throw new NullPointerException("请选择查找的数据");
         }
     }
 
-    public BPlusNode<T> insert(T data) {
-        checkDataIsNotNull(data);
-
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V insert(K key, V value) {
+        checkDataIsNotNull(key);
         if (this.root == null) {
-            BPlusNode<T> node = new BPlusNode<>(this.degree, true);
-            node.keys[0] = data;
-            node.keyNum++;
-            this.root = node;
-            return node;
-        }
-        BPlusResult<T> search = search(data);
-        // 不插入已存在的数据
-        if (search.found) {
+            BPlusNode<K, V> node = new BPlusNode<>(this.degree + 1, true);
+            insertEntry(node, 0, key, value, null);
+            this.root = this.leaf = node;
+            this.size = 1;
             return null;
         }
-        BPlusNode<T> node = search.node;
-        if (search.pos > -1 && node.keyNum < MAX_KEY_NUM) {
-            addKey(node.keys, data);
-            node.keyNum++;
-            return node;
-        } else {
+        BPlusNode<K, V> node = this.root;
+        while (!node.isLeaf) {
+            int index = indexOf(node, key);
+            if (index == node.keyNum) {
+                // 新的关键字大于所有关键字，成为最后一棵子树的最大关键字
+                index--;
+                node.keys[index] = key;
+            }
+            node = node.children[index];
+        }
+        int pos = indexOf(node, key);
+        if (pos < node.keyNum && key.compareTo(node.keys[pos]) == 0) {
+            V old = node.values[pos];
+            node.values[pos] = value;
+            return old;
+        }
+        insertEntry(node, pos, key, value, null);
+        this.size++;
+        while (node != null && node.keyNum > MAX_KEY_NUM) {
+            node = splitNode(node);
+        }
+        return null;
+    }
 
+    /**
+     * 从有序数据批量建树，原来的数据会被清空。
+     * 自底向上逐层建立结点，每一层的关键字平均分配到各个结点中，时间复杂度：O(n)。
+     *
+     * @param keys   关键字，必须严格递增
+     * @param values 关键字对应的值
+     */
+    public void bulkLoad(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("关键字和值的个数不相等");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            checkDataIsNotNull(keys[i]);
+            if (i > 0 && keys[i - 1].compareTo(keys[i]) >= 0) {
+                throw new IllegalArgumentException("关键字必须严格递增");
+            }
+        }
+        this.root = this.leaf = null;
+        this.size = keys.length;
+        if (keys.length == 0) {
+            return;
+        }
+        int count = (keys.length + MAX_KEY_NUM - 1) / MAX_KEY_NUM;
+        BPlusNode<K, V>[] level = newNodes(count);
+        for (int i = 0, start = 0; i < count; i++) {
+            int num = keys.length / count + (i < keys.length % count ? 1 : 0);
+            BPlusNode<K, V> node = new BPlusNode<>(this.degree + 1, true);
+            System.arraycopy(keys, start, node.keys, 0, num);
+            System.arraycopy(values, start, node.values, 0, num);
+            node.keyNum = num;
+            if (i > 0) {
+                level[i - 1].next = node;
+            }
+            level[i] = node;
+            start += num;
+        }
+        this.leaf = level[0];
+        while (count > 1) {
+            int parentCount = (count + MAX_KEY_NUM - 1) / MAX_KEY_NUM;
+            BPlusNode<K, V>[] parents = newNodes(parentCount);
+            for (int i = 0, start = 0; i < parentCount; i++) {
+                int num = count / parentCount + (i < count % parentCount ? 1 : 0);
+                BPlusNode<K, V> parent = new BPlusNode<>(this.degree + 1, false);
+                for (int j = start; j < start + num; j++) {
+                    insertEntry(parent, parent.keyNum, level[j].maxKey(), null, level[j]);
+                }
+                parents[i] = parent;
+                start += num;
+            }
+            level = parents;
+            count = parentCount;
+        }
+        this.root = level[0];
+    }
 
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V delete(K key) {
+        checkDataIsNotNull(key);
+        BPlusNode<K, V> node = this.root;
+        if (node == null) {
+            return null;
+        }
+        while (!node.isLeaf) {
+            int index = indexOf(node, key);
+            if (index == node.keyNum) {
+                return null;
+            }
+            node = node.children[index];
+        }
+        int pos = indexOf(node, key);
+        if (pos == node.keyNum || key.compareTo(node.keys[pos]) != 0) {
             return null;
         }
+        V old = node.values[pos];
+        removeEntry(node, pos);
+        this.size--;
+        rebalance(node, key);
+        return old;
+    }
+
+    /**
+     * 范围查找。按关键字从小到大处理[from, to]之间的所有数据
+     *
+     * @param from   最小关键字（包含），为null时从第一个关键字开始
+     * @param to     最大关键字（包含），为null时直到最后一个关键字
+     * @param action 处理每个关键字和值
+     * @return 处理的数据个数
+     */
+    public int range(K from, K to, BiConsumer<? super K, ? super V> action) {
+        int count = 0;
+        BPlusNode<K, V> node = this.leaf;
+        int pos = 0;
+        if (from != null) {
+            BPlusResult<K, V> result = search(from);
+            node = result.node;
+            pos = result.pos;
+        }
+        for (; node != null; node = node.next, pos = 0) {
+            for (; pos < node.keyNum; pos++) {
+                if (to != null && node.keys[pos].compareTo(to) > 0) {
+                    return count;
+                }
+                action.accept(node.keys[pos], node.values[pos]);
+                count++;
+            }
+        }
+        return count;
     }
 
-//    public BPlusNode<T> delete(T data) {
-//
-//    }
-//
-//    public String display() {
-//
-//    }
+    /**
+     * 前缀查找。从from开始按关键字从小到大处理数据，直到关键字不满足prefix为止。
+     * 例如查找以"abc"开头的字符串：prefixScan("abc", key -> key.startsWith("abc"), action)。
+     *
+     * @param from   前缀对应的最小关键字
+     * @param prefix 关键字是否具有该前缀
+     * @param action 处理每个关键字和值
+     * @return 处理的数据个数
+     */
+    public int prefixScan(K from, Predicate<? super K> prefix, BiConsumer<? super K, ? super V> action) {
+        int count = 0;
+        BPlusResult<K, V> result = search(from);
+        int pos = result.pos;
+        for (BPlusNode<K, V> node = result.node; node != null; node = node.next, pos = 0) {
+            for (; pos < node.keyNum; pos++) {
+                if (!prefix.test(node.keys[pos])) {
+                    return count;
+                }
+                action.accept(node.keys[pos], node.values[pos]);
+                count++;
+            }
+        }
+        return count;
+    }
 
     /**
-     * 在关键字数组中添加新的关键字，按升序添加
+     * 按层显示B+树，每一层占一行，每个结点显示为[关键字 关键字 ...]
      *
-     * @param keys 关键字数组
-     * @param key  新的关键字
-     */
-    private T[] addKey(T[] keys, T key) {
-        int i = 0;
-        for (; i < keys.length; i++) {
-            if (keys[i] == null) {
-                keys[i] = key;
-                break;
+     * @return B+树的结构
+     */
+    public String display() {
+        List<StringBuilder> levels = new ArrayList<>();
+        if (this.root != null) {
+            display(this.root, 0, levels);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (StringBuilder level : levels) {
+            builder.append(level).append("\n");
+        }
+        return builder.toString();
+    }
+
+    private void display(BPlusNode<K, V> node, int depth, List<StringBuilder> levels) {
+        if (levels.size() == depth) {
+            levels.add(new StringBuilder());
+        }
+        StringBuilder level = levels.get(depth);
+        if (level.length() > 0) {
+            level.append(" ");
+        }
+        level.append("[");
+        for (int i = 0; i < node.keyNum; i++) {
+            level.append(i == 0 ? "" : " ").append(node.keys[i]);
+        }
+        level.append("]");
+        if (!node.isLeaf) {
+            for (int i = 0; i < node.keyNum; i++) {
+                display(node.children[i], depth + 1, levels);
             }
-            if (key.compareTo(keys[i]) < 0) {
-                int j = keys.length - 1;
-                while (j > i) {
-                    keys[j] = keys[j - 1];
-                    j--;
+        }
+    }
+
+    /**
+     * 分裂结点。前一半关键字留在原结点，后一半移到新的右兄弟结点，并在父结点中增加右兄弟结点的索引项。
+     *
+     * @param node 关键字个数超过最大值的结点
+     * @return 父结点，父结点的关键字个数也可能超过最大值
+     */
+    private BPlusNode<K, V> splitNode(BPlusNode<K, V> node) {
+        int leftNum = node.keyNum / 2;
+        int rightNum = node.keyNum - leftNum;
+        BPlusNode<K, V> right = new BPlusNode<>(this.degree + 1, node.isLeaf, node.parent);
+        System.arraycopy(node.keys, leftNum, right.keys, 0, rightNum);
+        Arrays.fill(node.keys, leftNum, node.keyNum, null);
+        if (node.isLeaf) {
+            System.arraycopy(node.values, leftNum, right.values, 0, rightNum);
+            Arrays.fill(node.values, leftNum, node.keyNum, null);
+            right.next = node.next;
+            node.next = right;
+        } else {
+            System.arraycopy(node.children, leftNum, right.children, 0, rightNum);
+            Arrays.fill(node.children, leftNum, node.keyNum, null);
+            for (int i = 0; i < rightNum; i++) {
+                right.children[i].parent = right;
+            }
+        }
+        node.keyNum = leftNum;
+        right.keyNum = rightNum;
+
+        BPlusNode<K, V> parent = node.parent;
+        if (parent == null) {
+            parent = new BPlusNode<>(this.degree + 1, false);
+            insertEntry(parent, 0, node.maxKey(), null, node);
+            insertEntry(parent, 1, right.maxKey(), null, right);
+            this.root = parent;
+            return null;
+        }
+        // 父结点中原来的索引项是分裂前的最大关键字，也就是右兄弟结点的最大关键字
+        int index = indexOf(parent, right.maxKey());
+        parent.keys[index] = node.maxKey();
+        insertEntry(parent, index + 1, right.maxKey(), null, right);
+        return parent;
+    }
+
+    /**
+     * 删除之后自底向上调整：更新父结点中的最大关键字，关键字个数不足时向兄弟结点借或者与兄弟结点合并。
+     *
+     * @param node 删除了关键字的叶子结点
+     * @param key  被删除的关键字，用于在父结点中定位
+     */
+    private void rebalance(BPlusNode<K, V> node, K key) {
+        while (node != this.root) {
+            BPlusNode<K, V> parent = node.parent;
+            int index = indexOf(parent, key);
+            if (node.keyNum >= MIN_KEY_NUM) {
+                K max = node.maxKey();
+                if (max.compareTo(parent.keys[index]) == 0) {
+                    return; // 最大关键字没有变化，祖先结点也不需要修改
                 }
-                keys[j] = key;
-                break;
+                parent.keys[index] = max;
+            } else if (index > 0 && parent.children[index - 1].keyNum > MIN_KEY_NUM) {
+                BPlusNode<K, V> left = parent.children[index - 1];
+                int last = left.keyNum - 1;
+                insertEntry(node, 0, left.keys[last], left.isLeaf ? left.values[last] : null,
+                        left.isLeaf ? null : left.children[last]);
+                removeEntry(left, last);
+                parent.keys[index - 1] = left.maxKey();
+                parent.keys[index] = node.maxKey();
+            } else if (index + 1 < parent.keyNum && parent.children[index + 1].keyNum > MIN_KEY_NUM) {
+                BPlusNode<K, V> right = parent.children[index + 1];
+                insertEntry(node, node.keyNum, right.keys[0], right.isLeaf ? right.values[0] : null,
+                        right.isLeaf ? null : right.children[0]);
+                removeEntry(right, 0);
+                parent.keys[index] = node.maxKey();
+            } else if (index > 0) {
+                BPlusNode<K, V> left = parent.children[index - 1];
+                merge(left, node);
+                parent.keys[index - 1] = left.maxKey();
+                removeEntry(parent, index);
+            } else {
+                merge(node, parent.children[index + 1]);
+                parent.keys[index] = node.maxKey();
+                removeEntry(parent, index + 1);
+            }
+            node = parent;
+        }
+        if (!this.root.isLeaf && this.root.keyNum == 1) {
+            this.root = this.root.children[0];
+            this.root.parent = null;
+        } else if (this.root.isLeaf && this.root.keyNum == 0) {
+            this.root = this.leaf = null;
+        }
+    }
+
+    /**
+     * 将右兄弟结点合并到左兄弟结点中
+     */
+    private void merge(BPlusNode<K, V> left, BPlusNode<K, V> right) {
+        System.arraycopy(right.keys, 0, left.keys, left.keyNum, right.keyNum);
+        if (left.isLeaf) {
+            System.arraycopy(right.values, 0, left.values, left.keyNum, right.keyNum);
+            left.next = right.next;
+        } else {
+            System.arraycopy(right.children, 0, left.children, left.keyNum, right.keyNum);
+            for (int i = 0; i < right.keyNum; i++) {
+                right.children[i].parent = left;
+            }
+        }
+        left.keyNum += right.keyNum;
+    }
+
+    /**
+     * 在结点的pos位置插入一个索引项，叶子结点插入关键字和值，非叶子结点插入关键字和子树
+     */
+    private void insertEntry(BPlusNode<K, V> node, int pos, K key, V value, BPlusNode<K, V> child) {
+        int moved = node.keyNum - pos;
+        System.arraycopy(node.keys, pos, node.keys, pos + 1, moved);
+        node.keys[pos] = key;
+        if (node.isLeaf) {
+            System.arraycopy(node.values, pos, node.values, pos + 1, moved);
+            node.values[pos] = value;
+        } else {
+            System.arraycopy(node.children, pos, node.children, pos + 1, moved);
+            node.children[pos] = child;
+            child.parent = node;
+        }
+        node.keyNum++;
+    }
+
+    /**
+     * 删除结点pos位置的索引项
+     */
+    private void removeEntry(BPlusNode<K, V> node, int pos) {
+        int moved = node.keyNum - pos - 1;
+        System.arraycopy(node.keys, pos + 1, node.keys, pos, moved);
+        node.keyNum--;
+        node.keys[node.keyNum] = null;
+        if (node.isLeaf) {
+            System.arraycopy(node.values, pos + 1, node.values, pos, moved);
+            node.values[node.keyNum] = null;
+        } else {
+            System.arraycopy(node.children, pos + 1, node.children, pos, moved);
+            node.children[node.keyNum] = null;
+        }
+    }
+
+    /**
+     * 折半查找结点中第一个不小于key的关键字的位置
+     *
+     * @return 关键字的位置，所有关键字都小于key时返回keyNum
+     */
+    private int indexOf(BPlusNode<K, V> node, K key) {
+        int low = 0;
+        int high = node.keyNum - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = node.keys[mid].compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
             }
         }
-        return keys;
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>, V> BPlusNode<K, V>[] newNodes(int length) {
+        return (BPlusNode<K, V>[]) new BPlusNode<?, ?>[length];
     }
 }
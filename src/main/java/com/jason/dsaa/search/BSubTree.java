@@ -4,7 +4,8 @@ package com.jason.dsaa.search;
 import com.jason.dsaa.nodes.BSubTreeResult;
 import com.jason.dsaa.nodes.BTreeNode;
 
-import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * B-树,一个树的阶，就是这个树中各个节点的子节点个数的最大值.
@@ -14,12 +15,16 @@ import java.util.Arrays;
  *      结点示例：
  *          n | P0 | K1 | P1 | K2 | P2 | K3 | P3 | K4 | P4 .......
  *          其中阶数：m >= 3 。
- *          n 是该结点关键字的个数，n的取值范围： m/2 -1 <= n <= m-1 。
+ *          n 是该结点关键字的个数，n的取值范围： m/2 -1 <= n <= m-1 （m/2向上取整）。
  *          Pi指向子树，Kj为该结点j位置的关键字。 0 <= i <=n , 1 <= j <= n 。
  *
  *      1.所有的终端结点（叶子结点）都出现在同一层次上，并且不带任何信息。
  *      2.除根结点之外，所有的非终端结点的关键字个数：最少为m/2-1个，最多为m-1个。
  *      3.每个结点的子树数目最少为m/2个，最多为m个。
+ *      4.插入时结点的关键字超过m-1个则从中间分裂为两个结点，中间的关键字上移到父结点，父结点也可能继续分裂。
+ *      5.删除非终端结点中的关键字时用其左子树中的最大关键字代替，转为删除叶子结点中的关键字；
+ *      结点的关键字少于m/2-1个时先向相邻的兄弟结点借一个关键字，兄弟结点也不够时与兄弟结点合并，父结点也可能继续合并。
+ *      6.中序遍历使用显式的栈，不需要递归，也不需要通过双亲结点回溯。
  *
  * </pre>
  *
@@ -33,18 +38,30 @@ public class BSubTree<E extends Comparable<E>> {
     private final int maxKeyNum; // 每个结点关键字的最大数量
     private final int minNodeNum; // 每个结点的最小子树的数量
     private final int maxNodeNum; // 每个结点的最大子树的数量
+    private int size; // 关键字的个数
 
     public BSubTree(int t) {
         if (t < 3) {
             throw new IllegalArgumentException("B-树的最小阶层不能小于3");
         }
         this.degree = t;
-        this.minKeyNum = t / 2 - 1;
+        this.minKeyNum = (t + 1) / 2 - 1; // m/2向上取整，3阶B-树的非根结点至少有1个关键字
         this.maxKeyNum = t - 1;
-        this.minNodeNum = t / 2;
+        this.minNodeNum = (t + 1) / 2;
         this.maxNodeNum = t;
     }
 
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
     /**
      * 查找结点
      *
@@ -68,7 +85,7 @@ public class BSubTree<E extends Comparable<E>> {
                 found = true; //找到
             } else {
                 parentNode = currSearchNode;
-                currSearchNode = currSearchNode.child[index];
+                currSearchNode = currSearchNode.isLeaf ? null : currSearchNode.child[index];
             }
         }
         if (!found) {
@@ -84,117 +101,348 @@ public class BSubTree<E extends Comparable<E>> {
      * 插入数据，所有的插入操作都是在叶子结点上完成的。
      *
      * @param data 数据
-     * @return true：插入成功
+     * @return true：插入成功，false：数据已经存在
      */
     public boolean insert(E data) {
-        return insert(this.root, data);
-    }
-
-    private boolean insert(BTreeNode<E> root, E data) {
-        if (root == null) {
+        if (this.root == null) {
             this.root = new BTreeNode<>(this.degree);
             this.root.key[0] = data;
             this.root.keyNum++;
+            this.size++;
             return true;
         }
         // 插入数据之前先判断该数据是否已经存在于B-树中，如果存在则不需要插入，直接返回
-        BSubTreeResult<E> search = search(root, data);
+        BSubTreeResult<E> search = search(this.root, data);
         if (search.found) {
-            return true;
+            return false;
         }
         int index = search.i;
         BTreeNode<E> resultNode = search.resultNode;
-        // 直接在当前结点添加关键字
-        if (resultNode.keyNum < this.maxKeyNum) {
-            System.arraycopy(resultNode.key, index, resultNode.key, index + 1, resultNode.keyNum - index);
-            resultNode.key[index] = data;
-            resultNode.keyNum++;
-        } else {
-            // 分裂结点
-            splitNode(search.resultNode, data);
-
+        // 先在叶子结点添加关键字，关键字数组多留了一个位置，超过最大值时再分裂
+        System.arraycopy(resultNode.key, index, resultNode.key, index + 1, resultNode.keyNum - index);
+        resultNode.key[index] = data;
+        resultNode.keyNum++;
+        this.size++;
+        while (resultNode != null && resultNode.keyNum > this.maxKeyNum) {
+            resultNode = splitNode(resultNode);
         }
         return true;
     }
 
     /**
-     * 分裂结点
+     * 从有序数据批量建树，原来的数据会被清空。
+     * 先确定能容纳所有关键字的最小高度，再把关键字平均分配到各棵子树中，每个关键字只复制一次，时间复杂度：O(n)。
      *
-     * @param curr 分裂的当前结点
-     * @return 返回值为处理完当前结点的父结点，如果其父结点还需要分裂，则返回的是其父结点的父结点
+     * @param keys 关键字，必须严格递增
      */
-    private BTreeNode<E> splitNode(BTreeNode<E> curr, E data) {
-        BTreeNode<E> parent = curr.parent;
-        E[] currKey = curr.key;
-        E[] copyCurrKey = copyKey(data, currKey); // 新的关键字数组
-        E middleKey = copyCurrKey[copyCurrKey.length / 2]; // 需要提升的中间关键字
-        if (parent == null) {
-            // 父结点
-            this.root = div(copyCurrKey, middleKey, new BTreeNode<>(this.degree));
-            return this.root;
-        } else {
-            if (parent.keyNum == maxKeyNum) {
-                BTreeNode<E> splitNode = splitNode(parent, middleKey);
-                BTreeNode<E>[] child = parent.child;
-                BTreeNode<E> div = div(copyCurrKey, middleKey, parent);
-                splitNode.child[0] = div.child[0];
-                splitNode.child[1] = div.child[1];
-                return div;
-            } else {
-                return div(copyCurrKey, middleKey, parent);
+    public void bulkLoad(E[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new IllegalArgumentException("关键字不能为空");
+            }
+            if (i > 0 && keys[i - 1].compareTo(keys[i]) >= 0) {
+                throw new IllegalArgumentException("关键字必须严格递增");
+            }
+        }
+        this.root = null;
+        this.size = keys.length;
+        if (keys.length == 0) {
+            return;
+        }
+        // capacity[h]：高度为h的满B-树的关键字个数加1，即m的h次方
+        long[] capacity = new long[2];
+        capacity[0] = 1;
+        capacity[1] = this.maxNodeNum;
+        while (capacity[capacity.length - 1] <= keys.length) {
+            long[] grown = new long[capacity.length + 1];
+            System.arraycopy(capacity, 0, grown, 0, capacity.length);
+            grown[capacity.length] = capacity[capacity.length - 1] * this.maxNodeNum;
+            capacity = grown;
+        }
+        this.root = build(keys, 0, keys.length, capacity.length - 1, capacity);
+    }
+
+    /**
+     * 用keys[from, to)建立一棵高度为height的子树。子树的个数取能容纳所有关键字的最小值，
+     * 此时每棵子树至少分到一半的容量，不会少于最小关键字个数。
+     */
+    private BTreeNode<E> build(E[] keys, int from, int to, int height, long[] capacity) {
+        BTreeNode<E> node = new BTreeNode<>(this.degree);
+        int num = to - from;
+        if (height == 1) {
+            System.arraycopy(keys, from, node.key, 0, num);
+            node.keyNum = num;
+            return node;
+        }
+        node.isLeaf = false;
+        long childCapacity = capacity[height - 1];
+        int childNum = (int) ((num + childCapacity) / childCapacity); // (num + 1) / childCapacity 向上取整
+        int slots = num + 1; // 每棵子树的关键字个数加1的总和
+        int start = from;
+        for (int i = 0; i < childNum; i++) {
+            int childKeyNum = slots / childNum + (i < slots % childNum ? 1 : 0) - 1;
+            BTreeNode<E> child = build(keys, start, start + childKeyNum, height - 1, capacity);
+            child.parent = node;
+            node.child[i] = child;
+            start += childKeyNum;
+            if (i < childNum - 1) {
+                node.key[i] = keys[start++];
             }
         }
+        node.keyNum = childNum - 1;
+        return node;
     }
 
     /**
-     * 分裂
+     * 删除数据。非终端结点中的数据用其左子树中的最大关键字代替，转为删除叶子结点中的关键字。
      *
-     * @param middleKey 需要提升的关键字
-     * @param parent    父结点
-     * @return 父结点
+     * @param data 数据
+     * @return true：删除成功，false：数据不存在
      */
-    private BTreeNode<E> div(E[] copyCurrKey, E middleKey, BTreeNode<E> parent) {
-        E[] parentKey = parent.key;
+    public boolean delete(E data) {
+        if (this.root == null) {
+            return false;
+        }
+        BSubTreeResult<E> search = search(this.root, data);
+        if (!search.found) {
+            return false;
+        }
+        BTreeNode<E> node = search.resultNode;
+        int index = search.i;
+        if (!node.isLeaf) {
+            BTreeNode<E> predecessor = node.child[index];
+            while (!predecessor.isLeaf) {
+                predecessor = predecessor.child[predecessor.keyNum];
+            }
+            node.key[index] = predecessor.key[predecessor.keyNum - 1];
+            node = predecessor;
+            index = predecessor.keyNum - 1;
+        }
+        System.arraycopy(node.key, index + 1, node.key, index, node.keyNum - index - 1);
+        node.key[--node.keyNum] = null;
+        this.size--;
+        while (node != this.root && node.keyNum < this.minKeyNum) {
+            node = rebalance(node);
+        }
+        if (this.root.keyNum == 0) {
+            this.root = this.root.isLeaf ? null : this.root.child[0];
+            if (this.root != null) {
+                this.root.parent = null;
+            }
+        }
+        return true;
+    }
 
-        // 将需要提升的关键字添加到父结点的关键字数组中
-        BTreeNode<E>[] child = parent.child;
-        addKey(parentKey, middleKey);
-        parent.keyNum++;
-        parent.isLeaf = false;
+    /**
+     * 中序遍历所有的关键字
+     *
+     * @return 按关键字从小到大返回每个关键字所在的结点和位置
+     */
+    public Iterator<BSubTreeResult<E>> iterator() {
+        return range(null, null);
+    }
+
+    /**
+     * 范围查找。按关键字从小到大返回[from, to]之间的所有关键字所在的结点和位置，
+     * 通过返回结果的key()读取关键字。遍历过程中不能修改B-树。
+     *
+     * @param from 最小关键字（包含），为null时从第一个关键字开始
+     * @param to   最大关键字（包含），为null时直到最后一个关键字
+     * @return 迭代器
+     */
+    public Iterator<BSubTreeResult<E>> range(E from, E to) {
+        return new Cursor(from, to);
+    }
+
+    /**
+     * 中序遍历的游标。栈中保存从根结点到当前结点的路径，以及每个结点中下一个要访问的关键字的位置。
+     */
+    private class Cursor implements Iterator<BSubTreeResult<E>> {
+        private final E to;
+        private final BTreeNode<E>[] nodes;
+        private final int[] indexes;
+        private int top = -1;
+
+        Cursor(E from, E to) {
+            this.to = to;
+            int height = 0;
+            for (BTreeNode<E> node = root; node != null; node = node.isLeaf ? null : node.child[0]) {
+                height++;
+            }
+            this.nodes = newNodes(height);
+            this.indexes = new int[height];
+            BTreeNode<E> node = root;
+            // 定位到第一个不小于from的关键字，路径上每个结点记录对应的位置
+            while (node != null) {
+                int index = 0;
+                while (from != null && index < node.keyNum && from.compareTo(node.key[index]) > 0) {
+                    index++;
+                }
+                push(node, index);
+                if (from != null && index < node.keyNum && from.compareTo(node.key[index]) == 0) {
+                    break;
+                }
+                node = node.isLeaf ? null : node.child[index];
+            }
+            skipVisited();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return top >= 0;
+        }
+
+        @Override
+        public BSubTreeResult<E> next() {
+            if (top < 0) {
+                throw new NoSuchElementException();
+            }
+            BTreeNode<E> node = nodes[top];
+            int index = indexes[top]++;
+            // 访问完第index个关键字之后进入其右子树的最左路径
+            for (BTreeNode<E> child = node.isLeaf ? null : node.child[index + 1]; child != null;
+                 child = child.isLeaf ? null : child.child[0]) {
+                push(child, 0);
+            }
+            skipVisited();
+            BSubTreeResult<E> result = new BSubTreeResult<>();
+            result.resultNode = node;
+            result.i = index;
+            result.found = true;
+            return result;
+        }
+
+        private void push(BTreeNode<E> node, int index) {
+            nodes[++top] = node;
+            indexes[top] = index;
+        }
+
+        /**
+         * 弹出已经访问完所有关键字的结点，下一个关键字超过to时结束遍历
+         */
+        private void skipVisited() {
+            while (top >= 0 && indexes[top] >= nodes[top].keyNum) {
+                nodes[top--] = null;
+            }
+            if (top >= 0 && to != null && to.compareTo(nodes[top].key[indexes[top]]) < 0) {
+                top = -1;
+            }
+        }
+    }
 
-        int parentKeyPosition = StaticTableSearch.orderSearch(parentKey, middleKey); // 查找新添加的关键字在父结点关键字数组中的位置
-        BTreeNode<E> small = new BTreeNode<>(this.degree);
+    /**
+     * 分裂结点。后一半关键字和子树移到新的右兄弟结点，中间的关键字上移到父结点。
+     *
+     * @param curr 关键字超过最大值的结点
+     * @return 父结点，父结点的关键字也可能超过最大值
+     */
+    private BTreeNode<E> splitNode(BTreeNode<E> curr) {
+        BTreeNode<E> parent = curr.parent;
+        if (parent == null) {
+            parent = new BTreeNode<>(this.degree);
+            parent.isLeaf = false;
+            parent.child[0] = curr;
+            curr.parent = parent;
+            this.root = parent;
+        }
+        int middle = curr.keyNum / 2;
+        E middleKey = curr.key[middle];
         BTreeNode<E> big = new BTreeNode<>(this.degree);
-        divCurrentNodeKey(copyCurrKey, small, big);
-        // 移动同级别的结点对应父结点的位置
-        if (!isEmpty(child)) {
-            System.arraycopy(child, parentKeyPosition, child, parentKeyPosition + 1, this.maxKeyNum - parentKeyPosition);
+        big.isLeaf = curr.isLeaf;
+        big.parent = parent;
+        big.keyNum = curr.keyNum - middle - 1;
+        System.arraycopy(curr.key, middle + 1, big.key, 0, big.keyNum);
+        if (!curr.isLeaf) {
+            System.arraycopy(curr.child, middle + 1, big.child, 0, big.keyNum + 1);
+            for (int i = 0; i <= big.keyNum; i++) {
+                big.child[i].parent = big;
+            }
         }
-        small.parent = big.parent = parent;
-        child[parentKeyPosition] = small;
-        child[parentKeyPosition + 1] = big;
+        clear(curr, middle);
 
+        int position = childPosition(curr);
+        System.arraycopy(parent.key, position, parent.key, position + 1, parent.keyNum - position);
+        System.arraycopy(parent.child, position + 1, parent.child, position + 2, parent.keyNum - position);
+        parent.key[position] = middleKey;
+        parent.child[position + 1] = big;
+        parent.keyNum++;
         return parent;
     }
 
     /**
-     * 将当前的关键字拆分给两个分裂后的结点中
+     * 结点的关键字少于最小值：相邻的兄弟结点有多余的关键字时通过父结点借一个，否则与兄弟结点合并
      *
-     * @param copy  当前结点中关键字数组
-     * @param small 子结点1
-     * @param big   子结点2
+     * @param curr 关键字少于最小值的结点
+     * @return 父结点，合并后父结点的关键字也可能少于最小值
      */
-    private void divCurrentNodeKey(E[] copy, BTreeNode<E> small, BTreeNode<E> big) {
-        for (int i = 0; i < (this.maxKeyNum + 1) / 2; i++) {
-            small.key[i] = copy[i];
-            small.keyNum++;
+    private BTreeNode<E> rebalance(BTreeNode<E> curr) {
+        BTreeNode<E> parent = curr.parent;
+        int position = childPosition(curr);
+        BTreeNode<E> left = position > 0 ? parent.child[position - 1] : null;
+        BTreeNode<E> right = position < parent.keyNum ? parent.child[position + 1] : null;
+        if (left != null && left.keyNum > this.minKeyNum) {
+            // 父结点的关键字下移到当前结点的最前面，左兄弟的最大关键字上移到父结点
+            System.arraycopy(curr.key, 0, curr.key, 1, curr.keyNum);
+            curr.key[0] = parent.key[position - 1];
+            parent.key[position - 1] = left.key[left.keyNum - 1];
+            if (!curr.isLeaf) {
+                System.arraycopy(curr.child, 0, curr.child, 1, curr.keyNum + 1);
+                curr.child[0] = left.child[left.keyNum];
+                curr.child[0].parent = curr;
+            }
+            curr.keyNum++;
+            clear(left, left.keyNum - 1);
+        } else if (right != null && right.keyNum > this.minKeyNum) {
+            // 父结点的关键字下移到当前结点的最后面，右兄弟的最小关键字上移到父结点
+            curr.key[curr.keyNum] = parent.key[position];
+            parent.key[position] = right.key[0];
+            if (!curr.isLeaf) {
+                curr.child[curr.keyNum + 1] = right.child[0];
+                curr.child[curr.keyNum + 1].parent = curr;
+                System.arraycopy(right.child, 1, right.child, 0, right.keyNum);
+            }
+            curr.keyNum++;
+            System.arraycopy(right.key, 1, right.key, 0, right.keyNum - 1);
+            clear(right, right.keyNum - 1);
+        } else if (left != null) {
+            merge(parent, position - 1);
+        } else {
+            merge(parent, position);
         }
-        for (int j = 0; j < (this.maxKeyNum + 1) / 2; j++) {
-            big.key[j] = copy[(this.maxKeyNum + 1) / 2 + 1 + j];
-            big.keyNum++;
+        return parent;
+    }
+
+    /**
+     * 将父结点的第position+1棵子树和第position个关键字合并到第position棵子树中
+     */
+    private void merge(BTreeNode<E> parent, int position) {
+        BTreeNode<E> small = parent.child[position];
+        BTreeNode<E> big = parent.child[position + 1];
+        small.key[small.keyNum] = parent.key[position];
+        System.arraycopy(big.key, 0, small.key, small.keyNum + 1, big.keyNum);
+        if (!small.isLeaf) {
+            System.arraycopy(big.child, 0, small.child, small.keyNum + 1, big.keyNum + 1);
+            for (int i = small.keyNum + 1; i <= small.keyNum + 1 + big.keyNum; i++) {
+                small.child[i].parent = small;
+            }
         }
+        small.keyNum += big.keyNum + 1;
+        System.arraycopy(parent.key, position + 1, parent.key, position, parent.keyNum - position - 1);
+        System.arraycopy(parent.child, position + 2, parent.child, position + 1, parent.keyNum - position - 1);
+        parent.child[parent.keyNum] = null;
+        parent.key[--parent.keyNum] = null;
     }
 
+    /**
+     * 只保留结点的前keyNum个关键字和keyNum+1棵子树，其余位置置为null
+     */
+    private void clear(BTreeNode<E> node, int keyNum) {
+        for (int i = keyNum; i < node.keyNum; i++) {
+            node.key[i] = null;
+            node.child[i + 1] = null;
+        }
+        node.keyNum = keyNum;
+    }
 
     /**
      * 找到此结点在父结点中的位置
@@ -206,63 +454,20 @@ public class BSubTree<E extends Comparable<E>> {
         BTreeNode<E> parrent = curr.parent;
         BTreeNode<E>[] child = parrent.child;
 
-        for (int i = 0; i < child.length; i++) {
-            if (Arrays.equals(curr.key, child[i].key)) {
+        for (int i = 0; i <= parrent.keyNum; i++) {
+            if (child[i] == curr) {
                 return i;
             }
         }
         return -1;
     }
 
-    private E[] copyKey(E data, E[] key) {
-        E[] copy = (E[]) new Comparable[key.length + 1];
-        System.arraycopy(key, 0, copy, 0, key.length);
-        addKey(copy, data);
-        return copy;
-    }
-
-
     /**
-     * 在关键字数组中添加新的关键字，按升序添加
-     *
-     * @param keys 关键字数组
-     * @param key  新的关键字
+     * 不能直接创建泛型数组，创建BTreeNode<?>数组之后转换
      */
-    private void addKey(E[] keys, E key) {
-        int i = 0;
-        for (; i < keys.length; i++) {
-            if (keys[i] == null) {
-                keys[i] = key;
-                break;
-            }
-            if (key.compareTo(keys[i]) < 0) {
-                int j = keys.length - 1;
-                while (j > i) {
-                    keys[j] = keys[j - 1];
-                    j--;
-                }
-                keys[j] = key;
-                break;
-            }
-        }
-    }
-
-    /**
-     * 判断数组是否为空
-     *
-     * @param arr 数组
-     * @return true：空，包括数组对象为空，数组长度为0，数组中所有的元素都是null
-     */
-    private boolean isEmpty(Object[] arr) {
-        if (arr == null || arr.length == 0) {
-            return true;
-        }
-        for (int i = 0; i < arr.length; i++) {
-            if (arr[i] != null) {
-                return false;
-            }
-        }
-        return true;
+    @SuppressWarnings("unchecked")
+    private static <E extends Comparable<E>> BTreeNode<E>[] newNodes(int length) {
+        return (BTreeNode<E>[]) new BTreeNode<?>[length];
     }
 
 }
@@ -2,15 +2,20 @@ package com.jason.dsaa.search;
 
 
 import com.jason.dsaa.linearity.queue.LinkedQueue;
-import com.jason.dsaa.linearity.stacks.LinkedStack;
 import com.jason.dsaa.nodes.AVLTreeNode;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
 /**
  * 平衡二叉树。
  * <pre>
  *     平衡二叉树更适用于二叉排序树一经建立就很少进行插入和删除操作。
  *     优点：使二叉树的结构更好，提高查找的速度。
  *     在平衡二叉树上查找的时间复杂度：O(log2n)
+ *     每个结点保存子树的高度和结点个数，插入和删除时只更新从修改位置到根结点路径上的结点，
+ *     求平衡因子不需要递归计算深度，插入、删除、按名次查找的时间复杂度都是：O(log2n)
  * </pre>
  *
  * @author WangChenHol
@@ -18,12 +23,12 @@ import com.jason.dsaa.nodes.AVLTreeNode;
  **/
 public class BalancedBinaryTree<E extends Comparable<E>> {
 
-    private int depth; // 树的深度
-    private int nodeNumber; // 结点个数
     private AVLTreeNode<E> root;
 
-    public static final String INSERT_LOCATION_LEFT = "LEFT";
-    public static final String INSERT_LOCATION_RIGHT = "RIGHT";
+    @Deprecated
+    public static final String INSERT_LOCATION_LEFT = "LEFT"; // 旧的递归插入使用，已不再引用
+    @Deprecated
+    public static final String INSERT_LOCATION_RIGHT = "RIGHT"; // 旧的递归插入使用，已不再引用
 
     public BalancedBinaryTree() {
         this.root = null;
@@ -62,86 +67,57 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
         if (data == null) {
             return null;
         }
-        return searchBalanceBinaryTree(this.root, data);
-    }
-
-    private AVLTreeNode<E> searchBalanceBinaryTree(AVLTreeNode<E> root, E data) {
-        if (root == null) {
-            return null;
-        }
-        if (root.data.compareTo(data) == 0) {
-            return root;
-        }
-        if (root.data.compareTo(data) > 0) {
-            return searchBalanceBinaryTree(root.left, data);
-        }
-        if (root.data.compareTo(data) < 0) {
-            return searchBalanceBinaryTree(root.right, data);
+        AVLTreeNode<E> node = this.root;
+        while (node != null) {
+            int compare = data.compareTo(node.data);
+            if (compare == 0) {
+                return node;
+            }
+            node = compare < 0 ? node.left : node.right;
         }
         return null;
     }
 
+    /**
+     * 删除结点。被删除的结点有两棵子树时，用其右子树中最小的结点代替它的位置。
+     *
+     * @param data 待删除的数据
+     * @return 被删除的结点，不存在时返回null
+     */
     public AVLTreeNode<E> delete(E data) {
         AVLTreeNode<E> delete = searchBalanceBinaryTree(data);
         if (delete == null) {
             return null;
         }
-
-        LinkedQueue<AVLTreeNode<E>> queue = new LinkedQueue<>();
-        AVLTreeNode<E> rootNode = delete;
-        while (rootNode != null) {
-            queue.offer(rootNode);
-            rootNode = rootNode.parent;
-        }
-        // 删除的是父级的右子树
-        if (delete.data.equals(delete.parent.right.data)) {
-            if (delete.right != null && delete.left != null) {
-                AVLTreeNode<E> left = delete.left;
-                AVLTreeNode<E> right = delete.right;
-                delete.parent.right = delete.right;
-                right.parent = delete.parent;
-
-                AVLTreeNode<E> node = right;
-                while (node.left != null) {
-                    node = node.left;
-                }
-                node.left = left;
-                left.parent = node;
-            } else if (delete.right != null) {
-                delete.parent.right = delete.right;
-                delete.right.parent = delete.parent;
-            } else if (delete.left != null) {
-                delete.parent.right = delete.left;
-                delete.left.parent = delete.parent;
-            } else {
-                delete.parent.right = null;
+        AVLTreeNode<E> unbalanced; // 最低的可能失去平衡的结点
+        if (delete.left != null && delete.right != null) {
+            AVLTreeNode<E> successor = delete.right;
+            while (successor.left != null) {
+                successor = successor.left;
             }
-        }
-
-        // 删除的是父级的左子树
-        if (delete.data.equals(delete.parent.left.data)) {
-            if (delete.right != null && delete.left != null) {
-                AVLTreeNode<E> left = delete.left;
-                AVLTreeNode<E> right = delete.right;
-                delete.parent.left = delete.right;
-                right.parent = delete.parent;
-
-                AVLTreeNode<E> node = right;
-                while (node.left != null) {
-                    node = node.left;
-                }
-                node.left = left;
-                left.parent = node;
-            } else if (delete.right != null) {
-                delete.parent.left = delete.right;
-                delete.right.parent = delete.parent;
-            } else if (delete.left != null) {
-                delete.parent.left = delete.left;
-                delete.left.parent = delete.parent;
+            if (successor.parent == delete) {
+                unbalanced = successor;
             } else {
-                delete.parent.right = null;
+                unbalanced = successor.parent;
+                // 后继结点的右子树顶替后继结点，再让后继结点接管被删除结点的右子树
+                unbalanced.left = successor.right;
+                if (successor.right != null) {
+                    successor.right.parent = unbalanced;
+                }
+                successor.right = delete.right;
+                successor.right.parent = successor;
             }
+            successor.left = delete.left;
+            successor.left.parent = successor;
+            replace(delete, successor);
+        } else {
+            unbalanced = delete.parent;
+            replace(delete, delete.left != null ? delete.left : delete.right);
         }
+        rebalance(unbalanced);
+
+        delete.left = delete.right = delete.parent = null;
+        delete.height = delete.size = 1;
         return delete;
     }
 
@@ -149,86 +125,102 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
      * 插入结点
      *
      * @param data 新插入结点的数据
+     * @return true：插入成功，false：数据为null或者已经存在
      */
-    public void insert(E data) {
+    public boolean insert(E data) {
         if (data == null) {
-            return;
+            return false;
         }
         if (this.root == null) {
             this.root = new AVLTreeNode<>(data);
-            return;
+            return true;
         }
-        LinkedStack stack = new LinkedStack();
-        insert(root, data, stack);
-        rotate(stack);
+        AVLTreeNode<E> parent = this.root;
+        while (true) {
+            int compare = data.compareTo(parent.data);
+            if (compare == 0) {
+                return false;
+            }
+            AVLTreeNode<E> child = compare < 0 ? parent.left : parent.right;
+            if (child == null) {
+                break;
+            }
+            parent = child;
+        }
+        // 插入的结点小于父结点，则将新结点作为父结点的左子树插入，否则作为右子树插入
+        if (data.compareTo(parent.data) < 0) {
+            parent.left = new AVLTreeNode<>(data, parent);
+        } else {
+            parent.right = new AVLTreeNode<>(data, parent);
+        }
+        rebalance(parent);
+        return true;
     }
 
     /**
-     * 插入新结点。每次插入结点时，将新结点的所经历的父结点入栈
+     * 求数据的名次
      *
-     * @param root  根结点
-     * @param data  新插入结点的数据
-     * @param stack 插入结点的父结点入栈
-     * @return 新插入的结点
+     * @param data 数据，不要求在树中
+     * @return 树中小于data的结点个数，data在树中时就是它按从小到大排列的序号（从0开始）
      */
-    private AVLTreeNode<E> insert(AVLTreeNode<E> root, E data, LinkedStack stack) {
-
-        // 插入的结点小于根结点，则将新结点作为根结点的左子树插入
-        if (root.data.compareTo(data) > 0) {
-            stack.push(root);
-            if (root.left == null) {
-                root.left = new AVLTreeNode<>(data, root);
-                return root.left;
+    public int rank(E data) {
+        int rank = 0;
+        AVLTreeNode<E> node = this.root;
+        while (node != null) {
+            if (data.compareTo(node.data) <= 0) {
+                node = node.left;
             } else {
-                return insert(root.left, data, stack);
+                rank += size(node.left) + 1;
+                node = node.right;
             }
         }
-        // 插入的结点大于根结点，则将新结点作为根结点的右子树插入
-        if (root.data.compareTo(data) < 0) {
-            stack.push(root);
-            if (root.right == null) {
-                root.right = new AVLTreeNode<>(data, root);
-                return root.right;
+        return rank;
+    }
+
+    /**
+     * 按名次查找
+     *
+     * @param index 从小到大排列的序号（从0开始）
+     * @return 第index小的数据
+     */
+    public E select(int index) {
+        if (index < 0 || index >= size(this.root)) {
+            throw new IndexOutOfBoundsException("序号" + index + "超出了范围");
+        }
+        AVLTreeNode<E> node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.data;
             } else {
-                return insert(root.right, data, stack);
+                index -= leftSize + 1;
+                node = node.right;
             }
         }
-        return null;
     }
 
     /**
-     * 如果新插入结点后失去平衡，则需要进行旋转。
+     * 从结点开始向上更新路径上每个结点的高度和结点个数，失去平衡时进行旋转。
      *
-     * @param stack 父结点的栈
+     * @param node 最低的可能失去平衡的结点
      */
-    private void rotate(LinkedStack stack) {
-        // 出栈，从树的顶部往上，依次判断结点根据平衡因子是否需要旋转
-        AVLTreeNode<E> node;
-        while (!stack.isEmpty()) {
-            // 根据父结点的平衡因子判断是否需要旋转
-            node = (AVLTreeNode<E>) stack.pop();
-            if (node == null) {
-                continue;
-            }
+    private void rebalance(AVLTreeNode<E> node) {
+        while (node != null) {
+            update(node);
             int factor = balanceFactor(node);
             // 如果平衡因子大于等于2时，则需要进行LL、LR旋转
             if (factor >= 2) {
-                // 如果父结点的左结点的平衡因子等于1，则是LL旋转，如果是-1则是LR旋转
-                if (balanceFactor(node.left) == 1) {
-                    rotate_LL(node);
-                } else {
-                    rotate_LR(node);
-                }
+                // 如果左子树的平衡因子大于等于0，则是LL旋转（删除时可能等于0），如果是-1则是LR旋转
+                node = balanceFactor(node.left) >= 0 ? rotate_LL(node) : rotate_LR(node);
             }
             // 如果平衡因子小于等于-2时，则需要进行RR、RL旋转
             if (factor <= -2) {
-                // 如果父结点的右结点的平衡因子等于-1，则是RR旋转，如果是1则是RL旋转
-                if (balanceFactor(node.right) == -1) {
-                    rotate_RR(node);
-                } else {
-                    rotate_RL(node);
-                }
+                // 如果右子树的平衡因子小于等于0，则是RR旋转，如果是1则是RL旋转
+                node = balanceFactor(node.right) <= 0 ? rotate_RR(node) : rotate_RL(node);
             }
+            node = node.parent;
         }
     }
 
@@ -237,29 +229,22 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
      * 在跟结点的左孩子的左子树上插入新结点。
      *
      * @param root 结点
+     * @return 旋转后子树的根结点
      */
-    private void rotate_LL(AVLTreeNode<E> root) {
-        AVLTreeNode<E> parent = root.parent; // 根结点的父结点
+    private AVLTreeNode<E> rotate_LL(AVLTreeNode<E> root) {
         AVLTreeNode<E> middle = root.left; // 根节点的左子树，也就是需要旋转的结点
 
+        replace(root, middle);
         root.left = middle.right;
         if (root.left != null) {
             root.left.parent = root;
         }
         middle.right = root;
-        middle.right.parent = middle;
+        root.parent = middle;
 
-        if (parent == null) {
-            this.root = middle;
-            middle.parent = null;
-        } else {
-            if (parent.left.data.equals(root.data)) {
-                parent.left = middle;
-            } else {
-                parent.right = middle;
-            }
-            middle.parent = parent;
-        }
+        update(root);
+        update(middle);
+        return middle;
     }
 
     /**
@@ -267,29 +252,22 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
      * 在跟结点的右孩子的右子树上插入新结点。
      *
      * @param root 结点
+     * @return 旋转后子树的根结点
      */
-    private void rotate_RR(AVLTreeNode<E> root) {
-        AVLTreeNode<E> parent = root.parent; // 根结点的父结点
+    private AVLTreeNode<E> rotate_RR(AVLTreeNode<E> root) {
         AVLTreeNode<E> middle = root.right; // 根结点的右子树
 
+        replace(root, middle);
         root.right = middle.left;
         if (root.right != null) {
             root.right.parent = root;
         }
         middle.left = root;
-        middle.left.parent = middle;
+        root.parent = middle;
 
-        if (parent == null) {
-            this.root = middle;
-            middle.parent = null;
-        } else {
-            if (parent.left.data.equals(root.data)) {
-                parent.left = middle;
-            } else {
-                parent.right = middle;
-            }
-            middle.parent = parent;
-        }
+        update(root);
+        update(middle);
+        return middle;
     }
 
     /**
@@ -297,76 +275,55 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
      * 在跟结点的左孩子的右子树上插入新结点。
      *
      * @param root 结点
+     * @return 旋转后子树的根结点
      */
-    private void rotate_LR(AVLTreeNode<E> root) {
-        AVLTreeNode<E> parent = root.parent; // 根结点的父结点
-        AVLTreeNode<E> middle = root.left; // 中间的结点
-        AVLTreeNode<E> leaf = root.left.right; // 叶子结点
-
-        // 将叶子结点的左子树调整为中间结点的右子树、叶子结点的右子树调整为根结点的左子树，并更改叶子结点左右子树的父结点。
-        middle.right = leaf.left;
-        if (middle.right != null) {
-            middle.right.parent = middle;
-        }
-        root.left = leaf.right;
-        if (root.left != null) {
-            root.left.parent = root;
-        }
-        // 将中间结点调整为叶子结点的左子树，根结点调整为叶子结点的右子树，并更改根结点和中间结点的父结点
-        leaf.left = middle;
-        leaf.right = root;
-        middle.parent = leaf;
-        root.parent = leaf;
-        // 调整叶子结点为新的根结点，并调整其父结点
-        if (parent == null) {
-            this.root = leaf;
-            leaf.parent = null;
-        } else {
-            if (parent.left.data.equals(root.data)) {
-                parent.left = leaf;
-            } else {
-                parent.right = leaf;
-            }
-            leaf.parent = parent;
-        }
+    private AVLTreeNode<E> rotate_LR(AVLTreeNode<E> root) {
+        rotate_RR(root.left);
+        return rotate_LL(root);
     }
 
     /**
-     * RL型平衡旋转（先左旋后右旋）
-     * 在跟结点的右孩子的右子树上插入新结点。
+     * RL型平衡旋转（先右旋后左旋）
+     * 在跟结点的右孩子的左子树上插入新结点。
      *
      * @param root 结点
+     * @return 旋转后子树的根结点
      */
-    private void rotate_RL(AVLTreeNode<E> root) {
-        AVLTreeNode<E> parent = root.parent;
-        AVLTreeNode<E> middle = root.right;
-        AVLTreeNode<E> leaf = root.right.left;
+    private AVLTreeNode<E> rotate_RL(AVLTreeNode<E> root) {
+        rotate_LL(root.right);
+        return rotate_RR(root);
+    }
 
-        root.right = leaf.left;
-        if (root.right != null) {
-            root.right.parent = root;
+    /**
+     * 用新的结点代替原结点在父结点中的位置
+     *
+     * @param node        原结点
+     * @param replacement 新的结点，可以为null
+     */
+    private void replace(AVLTreeNode<E> node, AVLTreeNode<E> replacement) {
+        AVLTreeNode<E> parent = node.parent;
+        if (parent == null) {
+            this.root = replacement;
+        } else if (parent.left == node) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
         }
-        middle.left = leaf.right;
-        if (middle.left != null) {
-            middle.left.parent = middle;
+        if (replacement != null) {
+            replacement.parent = parent;
         }
+    }
 
-        leaf.left = root;
-        leaf.right = middle;
-        leaf.left.parent = leaf;
-        leaf.right.parent = leaf;
+    /**
+     * 根据左右子树重新计算结点的高度和结点个数
+     */
+    private void update(AVLTreeNode<E> node) {
+        node.height = Math.max(depth(node.left), depth(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
 
-        if (parent == null) {
-            this.root = leaf;
-            leaf.parent = null;
-        } else {
-            if (parent.left.data.equals(root.data)) {
-                parent.left = leaf;
-            } else {
-                parent.right = leaf;
-            }
-            leaf.parent = parent;
-        }
+    private int size(AVLTreeNode<E> node) {
+        return node == null ? 0 : node.size;
     }
 
 
@@ -387,19 +344,13 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
     }
 
     /**
-     * 求根结点的深度
+     * 求根结点的深度，直接读取结点中保存的高度
      *
      * @param node 孩子结点
      * @return 深度
      */
     public int depth(AVLTreeNode<E> node) {
-        if (node != null) {
-            int leftDepth = depth(node.left);
-            int rightDepth = depth(node.right);
-            return Math.max(leftDepth, rightDepth) + 1;
-        }
-        return 0;
-
+        return node == null ? 0 : node.height;
     }
 
     /**
@@ -419,10 +370,47 @@ public class BalancedBinaryTree<E extends Comparable<E>> {
     }
 
     public int getDepth() {
-        return depth;
+        return depth(this.root);
     }
 
     public int getNodeNumber() {
-        return nodeNumber;
+        return size(this.root);
+    }
+
+    /**
+     * 建立只读的快照：中序遍历得到有序数据，按van Emde Boas布局存放。之后对树的修改不影响快照。
+     *
+     * @param keyFunction 数据的int关键字，必须与数据的顺序一致并且严格递增
+     * @return 只读索引
+     */
+    public VebLayoutIndex<E> snapshot(ToIntFunction<? super E> keyFunction) {
+        List<E> datas = new ArrayList<>(getNodeNumber());
+        AVLTreeNode<E> node = this.root;
+        // 利用父结点指针中序遍历，不需要栈
+        while (node != null && node.left != null) {
+            node = node.left;
+        }
+        while (node != null) {
+            datas.add(node.data);
+            if (node.right != null) {
+                node = node.right;
+                while (node.left != null) {
+                    node = node.left;
+                }
+            } else {
+                while (node.parent != null && node == node.parent.right) {
+                    node = node.parent;
+                }
+                node = node.parent;
+            }
+        }
+        return new VebLayoutIndex<>(datas, keyFunction);
+    }
+
+    /**
+     * @return 根结点，供同一个包中的批量查找使用
+     */
+    AVLTreeNode<E> getRoot() {
+        return this.root;
     }
 }
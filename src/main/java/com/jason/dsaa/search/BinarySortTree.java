@@ -3,6 +3,11 @@ package com.jason.dsaa.search;
 
 import com.jason.dsaa.nodes.BinaryTreeNode;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
 /**
  * 二叉排序树。
  * <pre>
@@ -10,6 +15,9 @@ import com.jason.dsaa.nodes.BinaryTreeNode;
  *     1.若左子树不为空，则左子树上所有结点的值均小于根结点的值。
  *     2.若右子树不为空，则右子树上所有结点的值均大于根结点的值。
  *     3.它的左右子树也都是二叉排序树。
+ *     按顺序插入有序数据时二叉排序树退化为单链表，所以查找、插入、删除和遍历都不使用递归，避免栈溢出。
+ *     可以用buildBalanced从有序数组直接建立平衡的二叉排序树，或者在空闲时调用rebalance重新平衡。
+ *     查找远多于修改时，可以用snapshot建立只读的VebLayoutIndex，数据修改之后重新建立。
  * </pre>
  *
  * @author WangChenHol
@@ -29,10 +37,15 @@ public class BinarySortTree<E extends Comparable<E>> {
      * @param node 根结点
      */
     public void inOrderTraverse(BinaryTreeNode<E> node) {
-        if (node != null) {
-            inOrderTraverse(node.leftChild);
+        ArrayDeque<BinaryTreeNode<E>> stack = new ArrayDeque<>();
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.leftChild;
+            }
+            node = stack.pop();
             System.out.print(node.data.toString() + " ");
-            inOrderTraverse(node.rightChild);
+            node = node.rightChild;
         }
     }
 
@@ -51,29 +64,25 @@ public class BinarySortTree<E extends Comparable<E>> {
     }
 
     /**
-     * 递归算法查找二叉树
+     * 非递归查找二叉树
      *
      * @param node 查找的二叉树
      * @param key  待查找的数据
      * @return 查找到的结点
      */
     public BinaryTreeNode<E> searchBinarySortTree(BinaryTreeNode<E> node, E key) {
-        if (node == null) {
-            return null;
-        }
-        if (node.compareTo(key) == 0) {
-            return node;
-        }
-
-        if (node.compareTo(key) > 0) {
-            return searchBinarySortTree(node.leftChild, key);
-        } else {
-            return searchBinarySortTree(node.rightChild, key);
+        while (node != null) {
+            int compare = node.compareTo(key);
+            if (compare == 0) {
+                return node;
+            }
+            node = compare > 0 ? node.leftChild : node.rightChild;
         }
+        return null;
     }
 
     /**
-     * 在二叉排序树中插入元素
+     * 在二叉排序树中插入元素，与已有元素相等时插入到右子树中
      *
      * @param data 新元素
      */
@@ -84,79 +93,168 @@ public class BinarySortTree<E extends Comparable<E>> {
             root = node;
             return;
         }
-        insertBinarySortTree(root, data);
+        BinaryTreeNode<E> parent = root;
+        while (true) {
+            if (data.compareTo(parent.data) < 0) {
+                if (parent.leftChild == null) {
+                    parent.leftChild = node;
+                    return;
+                }
+                parent = parent.leftChild;
+            } else {
+                if (parent.rightChild == null) {
+                    parent.rightChild = node;
+                    return;
+                }
+                parent = parent.rightChild;
+            }
+        }
     }
 
+
     /**
-     * 在根结点下插入新元素
+     * 删除二叉排序树中的某个结点。时间复杂度是：O(log2n)
      *
-     * @param root 跟结点
-     * @param data 新元素
+     * @param data 被删除的结点值
+     * @return 被删除的结点，如果是空则删除失败，或者不存在此结点
      */
-    private void insertBinarySortTree(BinaryTreeNode<E> root, E data) {
-        if (data.compareTo(root.data) < 0) {
-            if (root.leftChild == null) {
-                root.leftChild = new BinaryTreeNode<>(data);
-            } else {
-                insertBinarySortTree(root.leftChild, data);
+    public E removeBinarySortTree(E data) {
+        BinaryTreeNode<E> parent = null;
+        BinaryTreeNode<E> node = root;
+        while (node != null && data.compareTo(node.data) != 0) {
+            parent = node;
+            node = data.compareTo(node.data) < 0 ? node.leftChild : node.rightChild;
+        }
+        if (node == null) {
+            return null;
+        }
+        E removed = node.data;
+        if (node.leftChild != null && node.rightChild != null) {
+            // 用右子树中最小的结点的值代替被删除的值，转为删除右子树中最小的结点，它没有左子树
+            parent = node;
+            BinaryTreeNode<E> nextNode = node.rightChild;
+            while (nextNode.leftChild != null) {
+                parent = nextNode;
+                nextNode = nextNode.leftChild;
             }
+            node.data = nextNode.data;
+            node = nextNode;
+        }
+        BinaryTreeNode<E> child = node.leftChild != null ? node.leftChild : node.rightChild;
+        if (parent == null) {
+            this.root = child;
+        } else if (node == parent.leftChild) {
+            parent.leftChild = child;
         } else {
-            if (root.rightChild == null) {
-                root.rightChild = new BinaryTreeNode<>(data);
-            } else {
-                insertBinarySortTree(root.rightChild, data);
+            parent.rightChild = child;
+        }
+        return removed;
+    }
+
+    /**
+     * 从有序数组建立平衡的二叉排序树，原来的数据会被清空。
+     * 每棵子树都以中间的元素为根结点，左右子树的结点个数最多相差1，时间复杂度：O(n)，递归深度：O(log2n)。
+     *
+     * @param datas 数据，必须严格递增
+     */
+    public void buildBalanced(E[] datas) {
+        for (int i = 1; i < datas.length; i++) {
+            if (datas[i - 1].compareTo(datas[i]) >= 0) {
+                throw new IllegalArgumentException("数据必须严格递增");
             }
         }
+        this.root = buildBalanced(datas, 0, datas.length - 1);
     }
 
+    private BinaryTreeNode<E> buildBalanced(E[] datas, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int middle = (low + high) >>> 1;
+        return new BinaryTreeNode<>(datas[middle], buildBalanced(datas, low, middle - 1),
+                buildBalanced(datas, middle + 1, high));
+    }
 
     /**
-     * 删除二叉排序树中的某个结点。时间复杂度是：O(log2n)
-     *
-     * @param data 被删除的结点值
-     * @return 被删除的结点，如果是空则删除失败，或者不存在此结点
+     * Day-Stout-Warren算法原地重新平衡，不需要额外的数组，时间复杂度：O(n)，空间复杂度：O(1)。
+     * <pre>
+     *     1.通过右旋把树变为只有右子树的"藤"（按从小到大顺序排列的单链表）。
+     *     2.对藤反复做左旋压缩：先让最底层多出来的结点成为叶子，再每次把藤的长度减半，最后得到除最底层外全满的树。
+     * </pre>
      */
-    public E removeBinarySortTree(E data) {
-        return removeBinarySortTree(root, data, null);
+    public void rebalance() {
+        BinaryTreeNode<E> pseudoRoot = new BinaryTreeNode<>(null, null, root);
+        int size = treeToVine(pseudoRoot);
+        // 完全二叉树最底层之上的结点个数：2^k - 1，不大于size
+        int full = Integer.highestOneBit(size + 1) - 1;
+        compress(pseudoRoot, size - full);
+        while (full > 1) {
+            full /= 2;
+            compress(pseudoRoot, full);
+        }
+        this.root = pseudoRoot.rightChild;
     }
 
-    private E removeBinarySortTree(BinaryTreeNode<E> root, E data, BinaryTreeNode<E> parent) {
-        if (root != null) {
-            if (data.compareTo(root.data) < 0) {
-                return removeBinarySortTree(root.leftChild, data, root);
-            } else if (data.compareTo(root.data) > 0) {
-                return removeBinarySortTree(root.rightChild, data, root);
-            } else if (root.leftChild != null && root.rightChild != null) {
-                BinaryTreeNode<E> nextNode = root.rightChild;
-                while (nextNode.leftChild != null) {
-                    nextNode = nextNode.leftChild;
-                }
-                root.data = nextNode.data;
-                return removeBinarySortTree(root.rightChild, root.data, root);
+    /**
+     * 右旋每个有左子树的结点，把树变为藤
+     *
+     * @param pseudoRoot 伪根结点，右子树是原来的树
+     * @return 结点个数
+     */
+    private int treeToVine(BinaryTreeNode<E> pseudoRoot) {
+        int size = 0;
+        BinaryTreeNode<E> tail = pseudoRoot;
+        BinaryTreeNode<E> rest = tail.rightChild;
+        while (rest != null) {
+            if (rest.leftChild == null) {
+                tail = rest;
+                rest = rest.rightChild;
+                size++;
             } else {
-                if (parent == null) {
-                    if (root.leftChild != null) {
-                        this.root = root.leftChild;
-                    } else {
-                        this.root = root.rightChild;
-                    }
-                    return root.data;
-                }
-                if (root == parent.leftChild) {
-                    if (root.leftChild != null) {
-                        parent.leftChild = root.leftChild;
-                    } else {
-                        parent.leftChild = root.rightChild;
-                    }
-                } else if (root.leftChild != null) {
-                    parent.rightChild = root.leftChild;
-                } else {
-                    parent.rightChild = root.rightChild;
-                }
-                return root.data;
+                BinaryTreeNode<E> left = rest.leftChild;
+                rest.leftChild = left.rightChild;
+                left.rightChild = rest;
+                rest = left;
+                tail.rightChild = left;
             }
         }
-        return null;
+        return size;
+    }
+
+    /**
+     * 沿着右子树链每隔一个结点左旋一次，共count次
+     */
+    private void compress(BinaryTreeNode<E> pseudoRoot, int count) {
+        BinaryTreeNode<E> scanner = pseudoRoot;
+        for (int i = 0; i < count; i++) {
+            BinaryTreeNode<E> child = scanner.rightChild;
+            scanner.rightChild = child.rightChild;
+            scanner = scanner.rightChild;
+            child.rightChild = scanner.leftChild;
+            scanner.leftChild = child;
+        }
+    }
+
+    /**
+     * 建立只读的快照：中序遍历得到有序数据，按van Emde Boas布局存放。之后对树的修改不影响快照。
+     *
+     * @param keyFunction 数据的int关键字，必须与数据的顺序一致并且严格递增
+     * @return 只读索引
+     */
+    public VebLayoutIndex<E> snapshot(ToIntFunction<? super E> keyFunction) {
+        List<E> datas = new ArrayList<>();
+        ArrayDeque<BinaryTreeNode<E>> stack = new ArrayDeque<>();
+        BinaryTreeNode<E> node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.leftChild;
+            }
+            node = stack.pop();
+            datas.add(node.data);
+            node = node.rightChild;
+        }
+        return new VebLayoutIndex<>(datas, keyFunction);
     }
 
 }
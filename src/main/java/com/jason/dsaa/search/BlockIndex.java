@@ -0,0 +1,131 @@
+package com.jason.dsaa.search;
+
+/**
+ * 分块查找的索引表。
+ * <pre>
+ *     1.建立时只计算一次每一块的最大值和起始位置，之后的查找都使用同一个索引表。
+ *     2.块中的数据不一定有序，但前一块的最大值不能大于后一块的最小值，建立时会检查。
+ *     3.查找时先用二分法在索引表中找到第一个最大值不小于关键字的块，再在原表中顺序查找这一块，不复制数据，不分配内存。
+ *     4.块的长度可以相同，也可以分别指定。块长为√n时查找的时间复杂度：O(√n)。
+ *     5.索引表引用原表，建立之后不能再修改原表。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:57
+ **/
+public class BlockIndex {
+
+    private final int[] datas; // 原表
+    private final int[] maxKeys; // 每一块的最大值
+    private final int[] starts; // 每一块在原表中的起始位置，starts[块数]是表长
+
+    /**
+     * 建立块长相同的索引表，最后一块可以比blockLength短
+     *
+     * @param datas       查找的表
+     * @param blockLength 每一块的长度
+     */
+    public BlockIndex(int[] datas, int blockLength) {
+        this(datas, equalLengths(datas.length, blockLength));
+    }
+
+    /**
+     * 建立块长不同的索引表
+     *
+     * @param datas        查找的表
+     * @param blockLengths 每一块的长度，总和必须等于表长
+     */
+    public BlockIndex(int[] datas, int[] blockLengths) {
+        int blocks = blockLengths.length;
+        this.datas = datas;
+        this.maxKeys = new int[blocks];
+        this.starts = new int[blocks + 1];
+        for (int i = 0; i < blocks; i++) {
+            if (blockLengths[i] <= 0) {
+                throw new IllegalArgumentException("第" + i + "块的长度必须大于0");
+            }
+            starts[i + 1] = starts[i] + blockLengths[i];
+            if (starts[i + 1] > datas.length) {
+                throw new IllegalArgumentException("块的长度之和不能超过表长");
+            }
+        }
+        if (starts[blocks] != datas.length) {
+            throw new IllegalArgumentException("块的长度之和必须等于表长");
+        }
+        for (int i = 0; i < blocks; i++) {
+            int max = datas[starts[i]];
+            int min = max;
+            for (int j = starts[i] + 1; j < starts[i + 1]; j++) {
+                max = Math.max(max, datas[j]);
+                min = Math.min(min, datas[j]);
+            }
+            if (i > 0 && min < maxKeys[i - 1]) {
+                throw new IllegalArgumentException("第" + (i - 1) + "块的最大值不能大于第" + i + "块的最小值");
+            }
+            maxKeys[i] = max;
+        }
+    }
+
+    private static int[] equalLengths(int length, int blockLength) {
+        if (blockLength <= 0) {
+            throw new IllegalArgumentException("块的长度必须大于0");
+        }
+        int blocks = (length + blockLength - 1) / blockLength;
+        int[] lengths = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            lengths[i] = Math.min(blockLength, length - i * blockLength);
+        }
+        return lengths;
+    }
+
+    /**
+     * @return 表长
+     */
+    public int size() {
+        return datas.length;
+    }
+
+    /**
+     * @return 块数
+     */
+    public int blockCount() {
+        return maxKeys.length;
+    }
+
+    /**
+     * 查找关键字
+     *
+     * @param key 关键字
+     * @return 表中关键字的位置，如果不存在则为-1
+     */
+    public int search(int key) {
+        int block = blockOf(key);
+        if (block == maxKeys.length) {
+            return -1;
+        }
+        for (int i = starts[block], end = starts[block + 1]; i < end; i++) {
+            if (datas[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 二分法查找第一个最大值不小于key的块
+     *
+     * @return 块的序号，所有块的最大值都小于key时返回块数
+     */
+    private int blockOf(int key) {
+        int start = 0, end = maxKeys.length;
+        while (start < end) {
+            int mid = (start + end) >>> 1; // 中间位置
+            if (maxKeys[mid] < key) {
+                start = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+        return start;
+    }
+}
@@ -0,0 +1,528 @@
+package com.jason.dsaa.search;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 并发B+树。使用乐观锁耦合（Optimistic Lock Coupling），多个线程可以同时查找、插入和删除。
+ * <pre>
+ *     1.每个结点有一个StampedLock。查找时不加锁：先取得结点的乐观读版本，读完之后校验版本，版本变化说明结点被修改过，从根结点重新开始。
+ *     2.向下查找时先取得子结点的版本，再校验父结点的版本，保证子结点确实是父结点在该版本时指向的子树。
+ *     3.插入时只把要修改的叶子结点的乐观读版本升级为写锁；结点已满时先升级父结点和该结点的写锁，分裂之后重新开始。
+ *     向下查找时遇到已满的非叶子结点就提前分裂，所以父结点一定有空间容纳分裂产生的新索引项，分裂不会向上传递。
+ *     4.与BPlusTree不同，非叶子结点中的关键字是分隔关键字：keys[i]是子树children[i+1]中的最小关键字，插入最大关键字时不需要修改祖先结点。
+ *     5.删除时只从叶子结点中删除关键字，不合并结点，避免同时锁住兄弟结点和回收被其他线程读取的结点。
+ *     结点的关键字区间只会因为分裂而向右缩小，所以顺着叶子结点的next指针一定能找到所有的关键字。
+ *     6.关键字和值都不能为null。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:36
+ **/
+public class ConcurrentBPlusTree<K extends Comparable<K>, V> {
+
+    public final int degree; // 阶层，每个结点最多degree个关键字
+    private volatile Node<K, V> root; // 根结点
+    private final LongAdder size = new LongAdder(); // 关键字的个数
+
+    /**
+     * 结点。字段在写锁的保护下修改，其他线程在乐观读时可能读到不一致的数据，必须校验版本之后才能使用。
+     */
+    private static class Node<K, V> {
+        final StampedLock lock = new StampedLock();
+        final boolean isLeaf; // 是否是叶子结点
+        final K[] keys; // 关键字
+        int count; // 关键字的数量
+
+        Node(int degree, boolean isLeaf) {
+            this.isLeaf = isLeaf;
+            this.keys = newKeys(degree);
+        }
+    }
+
+    /**
+     * 非叶子结点，count个分隔关键字和count+1棵子树
+     */
+    private static final class InnerNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] children;
+
+        InnerNode(int degree) {
+            super(degree, false);
+            this.children = newNodes(degree + 1);
+        }
+    }
+
+    /**
+     * 叶子结点，count个关键字和对应的值
+     */
+    private static final class LeafNode<K, V> extends Node<K, V> {
+        final Object[] values;
+        LeafNode<K, V> next; // 下一个叶子结点
+
+        LeafNode(int degree) {
+            super(degree, true);
+            this.values = new Object[degree];
+        }
+    }
+
+    public ConcurrentBPlusTree(int degree) {
+        if (degree < 3) {
+            throw new IllegalArgumentException("B+树最小为3阶");
+        }
+        this.degree = degree;
+        this.root = new LeafNode<>(degree);
+    }
+
+    /**
+     * @return 关键字的个数，有其他线程同时修改时是一个近似值
+     */
+    public long size() {
+        return size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 查找关键字对应的值，不加锁
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(K key) {
+        checkNotNull(key);
+        retry:
+        while (true) {
+            Node<K, V> node = root;
+            long stamp = node.lock.tryOptimisticRead();
+            if (stamp == 0 || node != root) {
+                continue;
+            }
+            while (!node.isLeaf) {
+                Node<K, V> child = child((InnerNode<K, V>) node, key);
+                if (child == null) {
+                    continue retry;
+                }
+                long childStamp = child.lock.tryOptimisticRead();
+                if (childStamp == 0 || !node.lock.validate(stamp)) {
+                    continue retry;
+                }
+                node = child;
+                stamp = childStamp;
+            }
+            LeafNode<K, V> leaf = (LeafNode<K, V>) node;
+            int count = leaf.count;
+            int pos = indexOf(leaf, count, key);
+            if (pos < 0) {
+                continue;
+            }
+            K found = pos < count ? leaf.keys[pos] : null;
+            Object value = pos < count ? leaf.values[pos] : null;
+            if (!leaf.lock.validate(stamp)) {
+                continue;
+            }
+            return found != null && found.compareTo(key) == 0 ? castValue(value) : null;
+        }
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值。只锁住被修改的叶子结点，分裂时再锁住父结点。
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(K key, V value) {
+        checkNotNull(key);
+        if (value == null) {
+            throw new NullPointerException("值不能为空");
+        }
+        retry:
+        while (true) {
+            Node<K, V> node = root;
+            long stamp = node.lock.tryOptimisticRead();
+            if (stamp == 0 || node != root) {
+                continue;
+            }
+            InnerNode<K, V> parent = null;
+            long parentStamp = 0;
+            while (!node.isLeaf) {
+                InnerNode<K, V> inner = (InnerNode<K, V>) node;
+                if (inner.count >= degree) {
+                    // 提前分裂已满的非叶子结点，保证子结点分裂时父结点有空间
+                    splitNode(parent, parentStamp, inner, stamp);
+                    continue retry;
+                }
+                Node<K, V> child = child(inner, key);
+                if (child == null) {
+                    continue retry;
+                }
+                long childStamp = child.lock.tryOptimisticRead();
+                if (childStamp == 0 || !inner.lock.validate(stamp)) {
+                    continue retry;
+                }
+                parent = inner;
+                parentStamp = stamp;
+                node = child;
+                stamp = childStamp;
+            }
+            LeafNode<K, V> leaf = (LeafNode<K, V>) node;
+            if (leaf.count >= degree) {
+                splitNode(parent, parentStamp, leaf, stamp);
+                continue;
+            }
+            // 叶子结点的关键字区间只会因为自身分裂而改变，升级成功说明它仍然是关键字所在的叶子结点
+            long writeStamp = leaf.lock.tryConvertToWriteLock(stamp);
+            if (writeStamp == 0) {
+                continue;
+            }
+            try {
+                int pos = indexOf(leaf, leaf.count, key);
+                if (pos < leaf.count && leaf.keys[pos].compareTo(key) == 0) {
+                    V old = castValue(leaf.values[pos]);
+                    leaf.values[pos] = value;
+                    return old;
+                }
+                System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.count - pos);
+                System.arraycopy(leaf.values, pos, leaf.values, pos + 1, leaf.count - pos);
+                leaf.keys[pos] = key;
+                leaf.values[pos] = value;
+                leaf.count++;
+            } finally {
+                leaf.lock.unlockWrite(writeStamp);
+            }
+            size.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 删除数据。关键字不存在时不加锁，存在时只锁住所在的叶子结点
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V delete(K key) {
+        checkNotNull(key);
+        retry:
+        while (true) {
+            Node<K, V> node = root;
+            long stamp = node.lock.tryOptimisticRead();
+            if (stamp == 0 || node != root) {
+                continue;
+            }
+            while (!node.isLeaf) {
+                Node<K, V> child = child((InnerNode<K, V>) node, key);
+                if (child == null) {
+                    continue retry;
+                }
+                long childStamp = child.lock.tryOptimisticRead();
+                if (childStamp == 0 || !node.lock.validate(stamp)) {
+                    continue retry;
+                }
+                node = child;
+                stamp = childStamp;
+            }
+            LeafNode<K, V> leaf = (LeafNode<K, V>) node;
+            int count = leaf.count;
+            int pos = indexOf(leaf, count, key);
+            if (pos < 0) {
+                continue;
+            }
+            K found = pos < count ? leaf.keys[pos] : null;
+            if (!leaf.lock.validate(stamp)) {
+                continue;
+            }
+            if (found == null || found.compareTo(key) != 0) {
+                return null;
+            }
+            long writeStamp = leaf.lock.tryConvertToWriteLock(stamp);
+            if (writeStamp == 0) {
+                continue;
+            }
+            V old = castValue(leaf.values[pos]);
+            System.arraycopy(leaf.keys, pos + 1, leaf.keys, pos, leaf.count - pos - 1);
+            System.arraycopy(leaf.values, pos + 1, leaf.values, pos, leaf.count - pos - 1);
+            leaf.count--;
+            leaf.keys[leaf.count] = null;
+            leaf.values[leaf.count] = null;
+            leaf.lock.unlockWrite(writeStamp);
+            size.decrement();
+            return old;
+        }
+    }
+
+    /**
+     * 范围查找。按关键字从小到大处理[from, to]之间的所有数据。
+     * 每个叶子结点先在乐观读下复制到缓冲区，校验通过之后再处理，处理数据时不持有任何锁；
+     * 校验失败时从最后处理的关键字之后重新定位，不会重复处理。
+     *
+     * @param from   最小关键字（包含），为null时从第一个关键字开始
+     * @param to     最大关键字（包含），为null时直到最后一个关键字
+     * @param action 处理每个关键字和值
+     * @return 处理的数据个数
+     */
+    public int range(K from, K to, BiConsumer<? super K, ? super V> action) {
+        K[] keyBuffer = newKeys(degree);
+        Object[] valueBuffer = new Object[degree];
+        int count = 0;
+        K resume = from; // 从该关键字开始继续查找
+        boolean inclusive = true; // 是否包含resume
+        retry:
+        while (true) {
+            LeafNode<K, V> leaf = findLeaf(resume);
+            long stamp = leaf.lock.tryOptimisticRead();
+            while (true) {
+                int num = leaf.count;
+                if (stamp == 0 || num < 0 || num > degree) {
+                    continue retry;
+                }
+                System.arraycopy(leaf.keys, 0, keyBuffer, 0, num);
+                System.arraycopy(leaf.values, 0, valueBuffer, 0, num);
+                LeafNode<K, V> next = leaf.next;
+                if (!leaf.lock.validate(stamp)) {
+                    continue retry;
+                }
+                for (int i = 0; i < num; i++) {
+                    K key = keyBuffer[i];
+                    if (resume != null) {
+                        int cmp = key.compareTo(resume);
+                        if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                            continue;
+                        }
+                    }
+                    if (to != null && key.compareTo(to) > 0) {
+                        return count;
+                    }
+                    action.accept(key, castValue(valueBuffer[i]));
+                    count++;
+                    resume = key;
+                    inclusive = false;
+                }
+                if (next == null) {
+                    return count;
+                }
+                leaf = next;
+                stamp = leaf.lock.tryOptimisticRead();
+            }
+        }
+    }
+
+    /**
+     * 分裂已满的结点。先把父结点和该结点的乐观读版本升级为写锁，任何一个升级失败都放弃分裂，由调用者重新开始。
+     *
+     * @param parent      父结点，node是根结点时为null
+     * @param parentStamp 父结点的乐观读版本
+     * @param node        已满的结点
+     * @param stamp       该结点的乐观读版本
+     */
+    private void splitNode(InnerNode<K, V> parent, long parentStamp, Node<K, V> node, long stamp) {
+        long parentWriteStamp = 0;
+        if (parent != null) {
+            parentWriteStamp = parent.lock.tryConvertToWriteLock(parentStamp);
+            if (parentWriteStamp == 0) {
+                return;
+            }
+        }
+        long writeStamp = node.lock.tryConvertToWriteLock(stamp);
+        if (writeStamp == 0) {
+            if (parent != null) {
+                parent.lock.unlockWrite(parentWriteStamp);
+            }
+            return;
+        }
+        try {
+            if (node.count < degree || (parent == null && node != root)) {
+                return;
+            }
+            int mid = node.count / 2;
+            K separator;
+            Node<K, V> right;
+            if (node.isLeaf) {
+                // 右边的结点得到后一半关键字，分隔关键字是右边结点的第一个关键字
+                LeafNode<K, V> leaf = (LeafNode<K, V>) node;
+                LeafNode<K, V> rightLeaf = new LeafNode<>(degree);
+                int rightNum = leaf.count - mid;
+                System.arraycopy(leaf.keys, mid, rightLeaf.keys, 0, rightNum);
+                System.arraycopy(leaf.values, mid, rightLeaf.values, 0, rightNum);
+                rightLeaf.count = rightNum;
+                rightLeaf.next = leaf.next;
+                leaf.next = rightLeaf;
+                separator = rightLeaf.keys[0];
+                right = rightLeaf;
+            } else {
+                // 中间的关键字上移到父结点，左右两边各得到一半的关键字和子树
+                InnerNode<K, V> inner = (InnerNode<K, V>) node;
+                InnerNode<K, V> rightInner = new InnerNode<>(degree);
+                int rightNum = inner.count - mid - 1;
+                System.arraycopy(inner.keys, mid + 1, rightInner.keys, 0, rightNum);
+                System.arraycopy(inner.children, mid + 1, rightInner.children, 0, rightNum + 1);
+                rightInner.count = rightNum;
+                separator = inner.keys[mid];
+                for (int i = mid + 1; i <= inner.count; i++) {
+                    inner.children[i] = null;
+                }
+                right = rightInner;
+            }
+            for (int i = mid; i < node.count; i++) {
+                node.keys[i] = null;
+            }
+            if (node.isLeaf) {
+                for (int i = mid; i < node.count; i++) {
+                    ((LeafNode<K, V>) node).values[i] = null;
+                }
+            }
+            node.count = mid;
+            if (parent == null) {
+                InnerNode<K, V> newRoot = new InnerNode<>(degree);
+                newRoot.keys[0] = separator;
+                newRoot.children[0] = node;
+                newRoot.children[1] = right;
+                newRoot.count = 1;
+                root = newRoot;
+            } else {
+                int pos = upperBound(parent.keys, parent.count, separator);
+                System.arraycopy(parent.keys, pos, parent.keys, pos + 1, parent.count - pos);
+                System.arraycopy(parent.children, pos + 1, parent.children, pos + 2, parent.count - pos);
+                parent.keys[pos] = separator;
+                parent.children[pos + 1] = right;
+                parent.count++;
+            }
+        } finally {
+            node.lock.unlockWrite(writeStamp);
+            if (parent != null) {
+                parent.lock.unlockWrite(parentWriteStamp);
+            }
+        }
+    }
+
+    /**
+     * 找到关键字所在的叶子结点，key为null时返回第一个叶子结点。
+     * 返回之后叶子结点可能被分裂，但关键字只会移到它右边的结点中。
+     */
+    private LeafNode<K, V> findLeaf(K key) {
+        retry:
+        while (true) {
+            Node<K, V> node = root;
+            long stamp = node.lock.tryOptimisticRead();
+            if (stamp == 0 || node != root) {
+                continue;
+            }
+            while (!node.isLeaf) {
+                InnerNode<K, V> inner = (InnerNode<K, V>) node;
+                Node<K, V> child = key == null ? inner.children[0] : child(inner, key);
+                if (child == null) {
+                    continue retry;
+                }
+                long childStamp = child.lock.tryOptimisticRead();
+                if (childStamp == 0 || !inner.lock.validate(stamp)) {
+                    continue retry;
+                }
+                node = child;
+                stamp = childStamp;
+            }
+            return (LeafNode<K, V>) node;
+        }
+    }
+
+    /**
+     * 乐观读时查找关键字所在的子树
+     *
+     * @return 子树，读到不一致的数据时返回null
+     */
+    private Node<K, V> child(InnerNode<K, V> inner, K key) {
+        int count = inner.count;
+        if (count < 0 || count > degree) {
+            return null;
+        }
+        int pos = upperBound(inner.keys, count, key);
+        return pos < 0 ? null : inner.children[pos];
+    }
+
+    /**
+     * 乐观读时查找叶子结点中第一个不小于key的关键字的位置
+     *
+     * @param count 读取版本之后读到的关键字数量
+     * @return 关键字的位置，读到不一致的数据时返回-1
+     */
+    private int indexOf(LeafNode<K, V> leaf, int count, K key) {
+        if (count < 0 || count > degree) {
+            return -1;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            K midKey = leaf.keys[mid];
+            if (midKey == null) {
+                return -1;
+            }
+            int cmp = midKey.compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 第一个大于key的关键字的位置，等于分隔关键字的关键字在右边的子树中
+     *
+     * @return 关键字的位置，读到不一致的数据时返回-1
+     */
+    private static <K extends Comparable<K>> int upperBound(K[] keys, int count, K key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            K midKey = keys[mid];
+            if (midKey == null) {
+                return -1;
+            }
+            if (midKey.compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K[] newKeys(int length) {
+        return (K[]) new Comparable<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newNodes(int length) {
+        return (Node<K, V>[]) new Node<?, ?>[length];
+    }
+
+    /**
+     * 叶子结点的值数组是Object[]，只存放V，取出时在这里统一转换
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V castValue(Object value) {
+        return (V) value;
+    }
+
+    private void checkNotNull(K key) {
+        if (key == null) {
+            throw new NullPointerException("关键字不能为空");
+        }
+    }
+}
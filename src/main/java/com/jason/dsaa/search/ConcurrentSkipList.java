@@ -0,0 +1,384 @@
+package com.jason.dsaa.search;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁并发跳表。结构与SkipList相同，所有的修改都通过CAS完成，不使用锁。
+ * <pre>
+ *     1.每一层的后继指针是一个带删除标记的引用（AtomicMarkableReference），标记和引用可以用一次CAS同时修改。
+ *     2.删除时先用CAS把结点的值从非null改为null（逻辑删除），CAS成功的线程删除了该结点，返回的就是被它换下的值；
+ *     之后再从最高层到最底层依次标记结点的后继指针。被标记的结点不能再插入后继结点，
+ *     由之后经过它的查找操作用CAS从链表中摘除（物理删除）。
+ *     3.插入时先用CAS把新结点链入最底层，此时新结点已经可见；再逐层链入上层链表，CAS失败时重新查找前驱结点。
+ *     关键字已经存在时只用CAS替换非null的旧值；值为null的结点正在被删除，先帮助标记和摘除它，再重新插入。
+ *     这样替换和删除对同一个值只有一个能成功，每个值最多被删除或者替换一次。
+ *     4.查找不修改链表，直接跳过被标记的结点和值为null的结点，不会因为其他线程的修改而重试。
+ *     5.记录已经使用的最高层数，插入结点之前先提高它，查找时不需要从MAX_LEVEL层开始。
+ *     6.floorKey、ceilingKey和范围查找是弱一致的：返回的结果反映遍历到每个结点时的状态，不是整个跳表在某一时刻的快照。
+ *     7.关键字和值都不能为null。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:50
+ **/
+public class ConcurrentSkipList<K extends Comparable<K>, V> {
+
+    private static final int MAX_LEVEL = SkipList.MAX_LEVEL;
+
+    private static final AtomicReferenceFieldUpdater<Node<?, ?>, Object> VALUE = valueUpdater();
+
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL); // 头结点
+    private final Node<K, V> tail = new Node<>(null, null, MAX_LEVEL); // 尾结点，关键字视为无穷大
+    private final LongAdder size = new LongAdder(); // 结点个数
+    private final AtomicInteger level = new AtomicInteger(1); // 已经使用的最高层数，只增不减，查找从这一层开始
+
+    /**
+     * 跳表结点
+     */
+    private static final class Node<K, V> {
+        final K key;
+        volatile Object value;
+        final AtomicMarkableReference<Node<K, V>>[] next; // 每一层的后继结点和删除标记
+
+        @SuppressWarnings("unchecked")
+        Node(K key, V value, int level) {
+            this.key = key;
+            this.value = value;
+            this.next = (AtomicMarkableReference<Node<K, V>>[]) new AtomicMarkableReference<?>[level];
+        }
+    }
+
+    /**
+     * Node.class只能是原始类型，newUpdater返回的更新器要转换成带类型参数的更新器
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static AtomicReferenceFieldUpdater<Node<?, ?>, Object> valueUpdater() {
+        return (AtomicReferenceFieldUpdater) AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+    }
+
+    /**
+     * 不能直接创建泛型数组，创建Node<?, ?>数组之后转换
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newNodes(int length) {
+        return (Node<K, V>[]) new Node<?, ?>[length];
+    }
+
+    public ConcurrentSkipList() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = new AtomicMarkableReference<>(tail, false);
+            tail.next[i] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    /**
+     * @return 结点个数，有并发修改时是近似值
+     */
+    public long size() {
+        return size.sum();
+    }
+
+    public boolean isEmpty() {
+        Node<K, V> node = nextUnmarked(head, 0);
+        while (node != tail && node.value == null) {
+            node = nextUnmarked(node, 0);
+        }
+        return node == tail;
+    }
+
+    /**
+     * 查找关键字对应的值，不加锁也不重试
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(K key) {
+        Node<K, V> node = ceilingNode(key);
+        // 值为null表示结点正在被删除，视为不存在
+        return node != tail && key.compareTo(node.key) == 0 ? value(node) : null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(K key, V value) {
+        checkKeyIsNotNull(key);
+        if (value == null) {
+            throw new NullPointerException("值不能为空");
+        }
+        Node<K, V>[] preds = newNodes(MAX_LEVEL);
+        Node<K, V>[] succs = newNodes(MAX_LEVEL);
+        int topLevel = SkipList.randomLevel();
+        // 必须只增不减：高于level的层被查找视为空链表，插入时会直接链在头结点之后
+        int currentLevel = level.get();
+        while (topLevel > currentLevel && !level.compareAndSet(currentLevel, topLevel)) {
+            currentLevel = level.get();
+        }
+        while (true) {
+            if (find(key, preds, succs)) {
+                // 关键字已经存在：只替换非null的旧值，值为null的结点正在被删除，帮助删除之后重新插入
+                Node<K, V> node = succs[0];
+                V old = value(node);
+                if (old == null) {
+                    mark(node);
+                    find(key, preds, succs); // 物理删除
+                } else if (VALUE.compareAndSet(node, old, value)) {
+                    return old;
+                }
+                continue;
+            }
+            Node<K, V> newNode = new Node<>(key, value, topLevel);
+            for (int i = 0; i < topLevel; i++) {
+                newNode.next[i] = new AtomicMarkableReference<>(succs[i], false);
+            }
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) {
+                continue;
+            }
+            size.increment();
+            for (int i = 1; i < topLevel; i++) {
+                while (true) {
+                    Node<K, V> succ = succs[i];
+                    Node<K, V> expected = newNode.next[i].getReference();
+                    // 新结点已经被其他线程标记删除时不再链入上层
+                    if (expected != succ && !newNode.next[i].compareAndSet(expected, succ, false, false)) {
+                        return null;
+                    }
+                    if (newNode.next[i].isMarked()) {
+                        return null;
+                    }
+                    if (preds[i].next[i].compareAndSet(succ, newNode, false, false)) {
+                        break;
+                    }
+                    find(key, preds, succs);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V delete(K key) {
+        checkKeyIsNotNull(key);
+        Node<K, V>[] preds = newNodes(MAX_LEVEL);
+        Node<K, V>[] succs = newNodes(MAX_LEVEL);
+        while (find(key, preds, succs)) {
+            Node<K, V> victim = succs[0];
+            V old = value(victim);
+            if (old != null && VALUE.compareAndSet(victim, old, null)) {
+                size.decrement();
+                mark(victim);
+                find(key, preds, succs); // 物理删除
+                return old;
+            }
+            if (old == null) {
+                // 被其他线程删除：帮助标记和摘除之后重新查找
+                mark(victim);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return 不大于key的最大关键字，不存在时返回null
+     */
+    public K floorKey(K key) {
+        checkKeyIsNotNull(key);
+        boolean[] marked = new boolean[1];
+        Node<K, V> pred = head;
+        for (int i = level.get() - 1; i >= 0; i--) {
+            Node<K, V> curr = pred.next[i].getReference();
+            while (curr != tail) {
+                Node<K, V> succ = curr.next[i].get(marked);
+                if (!marked[0] && curr.value != null) {
+                    if (curr.key.compareTo(key) > 0) {
+                        break;
+                    }
+                    pred = curr;
+                }
+                curr = succ;
+            }
+        }
+        return pred == head ? null : pred.key;
+    }
+
+    /**
+     * @param key 关键字
+     * @return 不小于key的最小关键字，不存在时返回null
+     */
+    public K ceilingKey(K key) {
+        Node<K, V> node = ceilingNode(key);
+        return node == tail ? null : node.key;
+    }
+
+    /**
+     * 范围查找。按关键字从小到大返回[from, to]之间的所有数据，遍历过程中其他线程可以修改跳表。
+     *
+     * @param from 最小关键字（包含），为null时从第一个关键字开始
+     * @param to   最大关键字（包含），为null时直到最后一个关键字
+     * @return 弱一致的迭代器
+     */
+    public Iterator<Map.Entry<K, V>> range(K from, K to) {
+        Node<K, V> start = from == null ? head : ceilingNode(from);
+        return new Iterator<Map.Entry<K, V>>() {
+            private Node<K, V> node = start;
+            private V value = start == head || start == tail ? null : value(start); // 结点的值，读取时已经为null的结点被跳过
+
+            {
+                skipDeleted();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return node != tail && (to == null || node.key.compareTo(to) <= 0);
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(node.key, value);
+                value = null;
+                skipDeleted();
+                return entry;
+            }
+
+            private void skipDeleted() {
+                while (value == null && node != tail) {
+                    node = nextUnmarked(node, 0);
+                    value = node == tail ? null : value(node);
+                }
+            }
+        };
+    }
+
+    /**
+     * 查找每一层中关键字小于key的最后一个结点和它的后继结点，同时摘除经过的被标记的结点
+     *
+     * @param key   关键字
+     * @param preds 每一层的前驱结点
+     * @param succs 每一层的后继结点，即关键字不小于key的第一个结点
+     * @return true：最底层的后继结点就是key
+     */
+    private boolean find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+        boolean[] marked = new boolean[1];
+        retry:
+        while (true) {
+            Node<K, V> pred = head;
+            int top = level.get();
+            for (int i = MAX_LEVEL - 1; i >= top; i--) {
+                preds[i] = head;
+                succs[i] = head.next[i].getReference();
+            }
+            for (int i = top - 1; i >= 0; i--) {
+                Node<K, V> curr = pred.next[i].getReference();
+                while (true) {
+                    Node<K, V> succ = curr.next[i].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[i].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[i].get(marked);
+                    }
+                    if (curr != tail && curr.key.compareTo(key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[i] = pred;
+                succs[i] = curr;
+            }
+            return succs[0] != tail && key.compareTo(succs[0].key) == 0;
+        }
+    }
+
+    /**
+     * 查找第一个关键字不小于key并且没有被删除的结点，不修改链表
+     */
+    private Node<K, V> ceilingNode(K key) {
+        checkKeyIsNotNull(key);
+        boolean[] marked = new boolean[1];
+        Node<K, V> pred = head;
+        Node<K, V> curr = tail;
+        for (int i = level.get() - 1; i >= 0; i--) {
+            curr = pred.next[i].getReference();
+            while (curr != tail) {
+                // 一次读取同时得到后继结点和删除标记，跳过被标记的结点
+                Node<K, V> succ = curr.next[i].get(marked);
+                if (!marked[0] && curr.value != null) {
+                    if (curr.key.compareTo(key) >= 0) {
+                        break;
+                    }
+                    pred = curr;
+                }
+                curr = succ;
+            }
+        }
+        return curr;
+    }
+
+    /**
+     * 从最高层到最底层依次标记结点的后继指针，已经被标记的层跳过。
+     * 只在结点的值已经改为null之后调用，多个线程可以同时标记同一个结点。
+     */
+    private void mark(Node<K, V> node) {
+        boolean[] marked = new boolean[1];
+        for (int i = node.next.length - 1; i >= 0; i--) {
+            Node<K, V> succ = node.next[i].get(marked);
+            while (!marked[0]) {
+                node.next[i].attemptMark(succ, true);
+                succ = node.next[i].get(marked);
+            }
+        }
+    }
+
+    /**
+     * 第i层中结点之后第一个没有被删除的结点
+     */
+    private Node<K, V> nextUnmarked(Node<K, V> node, int i) {
+        Node<K, V> next = node.next[i].getReference();
+        while (next != tail && next.next[i].isMarked()) {
+            next = next.next[i].getReference();
+        }
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(Node<K, V> node) {
+        return (V) node.value;
+    }
+
+    private void checkKeyIsNotNull(K key) {
+        if (key == null) {
+            throw new NullPointerException("关键字不能为空");
+        }
+    }
+}
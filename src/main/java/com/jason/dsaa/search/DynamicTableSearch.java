@@ -1,16 +1,33 @@
 package com.jason.dsaa.search;
 
 
+import com.jason.dsaa.nodes.AVLTreeNode;
 import com.jason.dsaa.nodes.BSubTreeResult;
+import com.jason.dsaa.nodes.BTreeNode;
+import com.jason.dsaa.nodes.BinaryTreeNode;
+import com.jason.dsaa.nodes.RedBlackTreeNode;
+import com.jason.dsaa.nodes.TreapNode;
 
 /**
  * 动态表查找
+ * <pre>
+ *     批量查找：一次查找一个关键字时，每下降一层都要等上一层的结点从内存读入，大树的查找时间主要是内存延迟。
+ *     批量查找同时进行BATCH_WIDTH个关键字的查找，轮流让每个查找下降一层，一个查找等待内存时其他查找的访存已经发出，
+ *     CPU可以同时处理多个缓存未命中。某个查找结束后立即从数组中取下一个关键字开始查找，不等待同一批的其他查找。
+ *     Java不能发出预取指令，这里依靠交错执行的多个独立访存代替软件预取。
+ *     关键字有序时，相邻的查找经过相同的上层结点，这些结点一直在缓存中。
+ *     三种树的批量查找循环除了结点类型和下降方式之外相同，有意按树的类型各写一份：每份循环只见到一种结点，
+ *     比较和下降直接写在循环中；改成一个泛型方法加上每种树的下降接口后，即使只查找一种树，
+ *     BatchSearchBenchmark中二叉排序树和平衡二叉树的批量查找也慢10%到20%，见其中的*GenericBatch。
+ * </pre>
  *
  * @author WangChenHol
  * @date 2021-8-16 16:27
  **/
 public class DynamicTableSearch {
 
+    public static final int BATCH_WIDTH = 8; // 批量查找时同时进行的查找个数
+
 
     /**
      * 二叉排序树查找
@@ -24,6 +41,52 @@ public class DynamicTableSearch {
         return tree.searchBinarySortTree(tree.root, data).data;
     }
 
+    /**
+     * 二叉排序树批量查找
+     *
+     * @param tree    二叉排序树
+     * @param datas   待查找的数据，有序或者无序
+     * @param results 查找到的数据，results[i]对应datas[i]，不存在时为null
+     * @param <E>     数据类型
+     */
+    public static <E extends Comparable<E>> void searchBinarySortTree(BinarySortTree<E> tree, E[] datas, E[] results) {
+        checkBatch(datas, results);
+        int width = Math.min(BATCH_WIDTH, datas.length);
+        int[] lanes = new int[width]; // 每一路正在查找的数据序号
+        @SuppressWarnings("unchecked")
+        BinaryTreeNode<E>[] nodes = (BinaryTreeNode<E>[]) new BinaryTreeNode<?>[width]; // 每一路当前所在的结点
+        int next = 0; // 下一个开始查找的数据序号
+        int active = width; // 正在进行的查找个数
+        for (int j = 0; j < width; j++) {
+            lanes[j] = next++;
+            nodes[j] = tree.root;
+        }
+        while (active > 0) {
+            for (int j = 0; j < active; ) {
+                BinaryTreeNode<E> node = nodes[j];
+                if (node != null) {
+                    int compare = datas[lanes[j]].compareTo(node.data);
+                    if (compare != 0) {
+                        nodes[j] = compare < 0 ? node.leftChild : node.rightChild;
+                        j++;
+                        continue;
+                    }
+                }
+                results[lanes[j]] = node == null ? null : node.data;
+                if (next < datas.length) {
+                    lanes[j] = next++;
+                    nodes[j] = tree.root;
+                    j++;
+                } else {
+                    // 没有新的数据，最后一路移到这里，本轮继续处理
+                    active--;
+                    lanes[j] = lanes[active];
+                    nodes[j] = nodes[active];
+                }
+            }
+        }
+    }
+
     /**
      * 平衡二叉树查找
      *
@@ -36,6 +99,78 @@ public class DynamicTableSearch {
         return tree.searchBalanceBinaryTree(data).data;
     }
 
+    /**
+     * 平衡二叉树批量查找
+     *
+     * @param tree    平衡二叉树
+     * @param datas   待查找的数据，有序或者无序
+     * @param results 查找到的数据，results[i]对应datas[i]，不存在时为null
+     * @param <E>     数据类型
+     */
+    public static <E extends Comparable<E>> void searchBalanceBinaryTree(BalancedBinaryTree<E> tree, E[] datas, E[] results) {
+        checkBatch(datas, results);
+        AVLTreeNode<E> root = tree.getRoot();
+        int width = Math.min(BATCH_WIDTH, datas.length);
+        int[] lanes = new int[width]; // 每一路正在查找的数据序号
+        @SuppressWarnings("unchecked")
+        AVLTreeNode<E>[] nodes = (AVLTreeNode<E>[]) new AVLTreeNode<?>[width]; // 每一路当前所在的结点
+        int next = 0; // 下一个开始查找的数据序号
+        int active = width; // 正在进行的查找个数
+        for (int j = 0; j < width; j++) {
+            lanes[j] = next++;
+            nodes[j] = root;
+        }
+        while (active > 0) {
+            for (int j = 0; j < active; ) {
+                AVLTreeNode<E> node = nodes[j];
+                if (node != null) {
+                    int compare = datas[lanes[j]].compareTo(node.data);
+                    if (compare != 0) {
+                        nodes[j] = compare < 0 ? node.left : node.right;
+                        j++;
+                        continue;
+                    }
+                }
+                results[lanes[j]] = node == null ? null : node.data;
+                if (next < datas.length) {
+                    lanes[j] = next++;
+                    nodes[j] = root;
+                    j++;
+                } else {
+                    active--;
+                    lanes[j] = lanes[active];
+                    nodes[j] = nodes[active];
+                }
+            }
+        }
+    }
+
+    /**
+     * 红黑树查找
+     *
+     * @param tree 左倾红黑树
+     * @param data 待查找的数据
+     * @param <E>  数据类型
+     * @return 查找到的数据，不存在时返回null
+     */
+    public static <E extends Comparable<E>> E searchRedBlackTree(RedBlackTree<E> tree, E data) {
+        RedBlackTreeNode<E> node = tree.search(data);
+        return node == null ? null : node.data;
+    }
+
+    /**
+     * 树堆查找
+     *
+     * @param tree 树堆
+     * @param data 待查找的数据
+     * @param <E>  数据类型
+     * @return 查找到的数据，不存在时返回null
+     */
+    public static <E extends Comparable<E>> E searchTreap(Treap<E> tree, E data) {
+        TreapNode<E> node = tree.search(data);
+        return node == null ? null : node.data;
+    }
+
     /**
      * B-树中查找
      *
@@ -48,4 +183,62 @@ public class DynamicTableSearch {
         return tree.search(tree.root, data);
     }
 
+    /**
+     * B-树批量查找。每一路每轮在一个结点中查找，再下降到子树
+     *
+     * @param tree    B-树
+     * @param datas   待查找的数据，有序或者无序
+     * @param results 查找到的关键字，results[i]对应datas[i]，不存在时为null
+     * @param <E>     数据类型
+     */
+    public static <E extends Comparable<E>> void searchBSubTree(BSubTree<E> tree, E[] datas, E[] results) {
+        checkBatch(datas, results);
+        int width = Math.min(BATCH_WIDTH, datas.length);
+        int[] lanes = new int[width]; // 每一路正在查找的数据序号
+        @SuppressWarnings("unchecked")
+        BTreeNode<E>[] nodes = (BTreeNode<E>[]) new BTreeNode<?>[width]; // 每一路当前所在的结点
+        int next = 0; // 下一个开始查找的数据序号
+        int active = width; // 正在进行的查找个数
+        for (int j = 0; j < width; j++) {
+            lanes[j] = next++;
+            nodes[j] = tree.root;
+        }
+        while (active > 0) {
+            for (int j = 0; j < active; ) {
+                BTreeNode<E> node = nodes[j];
+                E found = null;
+                if (node != null) {
+                    E data = datas[lanes[j]];
+                    int index = 0;
+                    while (index < node.keyNum && data.compareTo(node.key[index]) > 0) {
+                        index++;
+                    }
+                    if (index < node.keyNum && data.compareTo(node.key[index]) == 0) {
+                        found = node.key[index];
+                    } else if (!node.isLeaf) {
+                        nodes[j] = node.child[index];
+                        j++;
+                        continue;
+                    }
+                }
+                results[lanes[j]] = found;
+                if (next < datas.length) {
+                    lanes[j] = next++;
+                    nodes[j] = tree.root;
+                    j++;
+                } else {
+                    active--;
+                    lanes[j] = lanes[active];
+                    nodes[j] = nodes[active];
+                }
+            }
+        }
+    }
+
+    private static void checkBatch(Object[] datas, Object[] results) {
+        if (results.length < datas.length) {
+            throw new IllegalArgumentException("结果数组的长度不能小于待查找数据的个数");
+        }
+    }
+
 }
@@ -0,0 +1,95 @@
+package com.jason.dsaa.search;
+
+/**
+ * Eytzinger布局的静态索引。
+ * <pre>
+ *     将有序表中的关键字按完全二叉树的层次顺序存放：位置k的左孩子是2k，右孩子是2k+1，根结点在位置1。
+ *     1.二分法查找前几次访问的位置相距很远，每次都可能缓存未命中；按层次存放之后，前几层集中在数组的开头，经常被访问，一直留在缓存中。
+ *     2.一个缓存行可以存放16个int，位置k往下第4层的16个后代（16k到16k+15）是连续的，访问它们时只需要读取1到2个缓存行。
+ *     3.查找时每一层只根据比较结果计算下一个位置：k = 2k + (keys[k] < key ? 1 : 0)，循环次数只与表长有关，
+ *     比较结果不决定是否跳出循环，不会因为分支预测失败而清空流水线。
+ *     4.只适用于建立之后不再修改的表，建立索引的时间复杂度：O(n)。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:55
+ **/
+public class EytzingerIndex {
+
+    private final int[] keys; // 按层次顺序存放的关键字，位置0不使用
+    private final int[] positions; // keys[k]在原有序表中的位置
+
+    /**
+     * @param datas 从小到大排列的有序表
+     */
+    public EytzingerIndex(int[] datas) {
+        for (int i = 1; i < datas.length; i++) {
+            if (datas[i - 1] > datas[i]) {
+                throw new IllegalArgumentException("数据必须从小到大排列");
+            }
+        }
+        this.keys = new int[datas.length + 1];
+        this.positions = new int[datas.length + 1];
+        build(datas, 1, 0);
+    }
+
+    /**
+     * 中序遍历完全二叉树的位置，依次放入有序表中的关键字
+     *
+     * @param k    完全二叉树的位置
+     * @param next 下一个要放入的有序表位置
+     * @return 放完以k为根的子树之后，下一个要放入的有序表位置
+     */
+    private int build(int[] datas, int k, int next) {
+        if (k <= datas.length) {
+            next = build(datas, 2 * k, next);
+            keys[k] = datas[next];
+            positions[k] = next++;
+            next = build(datas, 2 * k + 1, next);
+        }
+        return next;
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return keys.length - 1;
+    }
+
+    /**
+     * 查找关键字
+     *
+     * @param key 关键字
+     * @return 关键字在原有序表中的位置，有多个相同的关键字时返回第一个，如果不存在则为-1
+     */
+    public int search(int key) {
+        int k = lowerBound(key);
+        return k != 0 && keys[k] == key ? positions[k] : -1;
+    }
+
+    /**
+     * @param key 关键字
+     * @return 第一个不小于key的关键字在原有序表中的位置，所有关键字都小于key时返回表长
+     */
+    public int ceiling(int key) {
+        int k = lowerBound(key);
+        return k != 0 ? positions[k] : size();
+    }
+
+    /**
+     * 查找第一个不小于key的关键字在keys中的位置
+     *
+     * @return 位置，所有关键字都小于key时返回0
+     */
+    private int lowerBound(int key) {
+        int[] keys = this.keys;
+        int n = keys.length - 1;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (keys[k] < key ? 1 : 0);
+        }
+        // k的二进制表示中，最后一次向左走之后的每一次都向右走（末尾的1），去掉这些1和最后一次向左走就是答案
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jason.dsaa.search;
+
+/**
+ * 开放定址哈希表共用的哈希函数和常量，fmix64也供MinimalPerfectHash和StaticDictionary使用。
+ * <pre>
+ *     1.表长都是2的幂，用hash & (表长-1)计算位置，只使用哈希值的低位。
+ *     2.Integer.hashCode()就是它本身，连续的关键字会落在连续的位置，形成很长的探测序列，
+ *     所以先用MurmurHash3的混合函数打散：int关键字用fmix32，long关键字用fmix64之后取低32位。
+ *     两轮"右移异或、乘以奇数常量"之后关键字的每一位都影响结果的每一位，连续的关键字和随机关键字的探测序列一样短。
+ *     3.IntHashMap和LongHashMap只有关键字的类型不同，共用PrimitiveKeyHashMap中的扩容搬迁。LinearProbingHashMap、
+ *     RobinHoodHashMap和SwissHashMap的搬迁过程相似，但每个位置保存的内容（只有关键字、关键字和哈希值、控制字节）
+ *     和插入方式不同，搬迁时调用的是各自的插入，所以各自实现，有意没有合并。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:23
+ **/
+final class Hashing {
+
+    static final int MIN_CAPACITY = 16; // 最小表长
+    static final int MIGRATE_STEP = 8; // 渐进式扩容时每次插入或删除搬迁的槽数
+
+    private Hashing() {
+    }
+
+    /**
+     * MurmurHash3的32位混合函数
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * long关键字的哈希值：fmix64的结果每一位都已经充分混合，直接取低32位
+     */
+    static int mix(long key) {
+        return (int) fmix64(key);
+    }
+
+    /**
+     * MurmurHash3的64位混合函数
+     */
+    static long fmix64(long x) {
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    /**
+     * 表中的关键字和值存放在Object数组中，取出时转换为K或者V，所有未检查的转换都在这里
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T cast(Object o) {
+        return (T) o;
+    }
+
+    /**
+     * @param expectedSize 预计的关键字个数
+     * @param maxLoad      最大装填因子的分子，分母为8
+     * @return 装入expectedSize个关键字不需要扩容的最小表长，2的幂
+     */
+    static int capacityFor(int expectedSize, int maxLoad) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("预计的关键字个数不能小于0");
+        }
+        long slots = (long) expectedSize * 8 / maxLoad + 1;
+        if (slots > 1 << 30) {
+            throw new IllegalArgumentException("预计的关键字个数太多：" + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < slots) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,291 @@
+package com.jason.dsaa.search;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 关键字为int类型的B-树。与BSubTree的结构相同，但关键字存放在int数组中，不需要装箱，比较时也不需要调用compareTo。
+ * <pre>
+ *     1.每个结点的关键字数组占用几个缓存行：默认64阶，关键字数组为64个int，共256字节，即4个64字节的缓存行。
+ *     关键字数组多留一个位置，插入时结点可以暂时超过最大关键字个数，再由父结点分裂它。
+ *     2.结点内查找不使用折半查找，而是统计小于key的关键字个数：循环中没有提前退出的分支，比较结果直接累加，
+ *     JIT编译后是条件传送指令，不会因为分支预测失败而清空流水线，几十个关键字时比折半查找更快。
+ *     3.叶子结点不分配子树数组，绝大部分关键字在叶子结点中，每个关键字只占4个字节加上数组中空闲的位置，没有对象头和引用的开销。
+ *     4.除根结点之外，每个结点的关键字个数：最少为m/2-1个（向上取整），最多为m-1个。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:39
+ **/
+public class IntBTree {
+
+    public static final int DEFAULT_DEGREE = 64; // 默认阶数，关键字数组占4个缓存行
+
+    public final int degree; // 阶数
+    private final int maxKeyNum; // 每个结点关键字的最大数量
+    private final int minKeyNum; // 每个结点（除根结点）关键字的最小数量
+    private Node root; // 根结点
+    private int size; // 关键字的个数
+
+    /**
+     * B-树结点
+     */
+    private static final class Node {
+        final int[] keys; // 关键字，多留一个位置用于分裂前暂存
+        final Node[] children; // 子树，叶子结点为null
+        int keyNum; // 关键字的数量
+
+        Node(int degree, boolean isLeaf) {
+            this.keys = new int[degree];
+            this.children = isLeaf ? null : new Node[degree + 1];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    public IntBTree() {
+        this(DEFAULT_DEGREE);
+    }
+
+    /**
+     * @param degree 阶数，不能小于3
+     */
+    public IntBTree(int degree) {
+        if (degree < 3) {
+            throw new IllegalArgumentException("B-树的最小阶层不能小于3");
+        }
+        this.degree = degree;
+        this.maxKeyNum = degree - 1;
+        this.minKeyNum = (degree + 1) / 2 - 1;
+        this.root = new Node(degree, true);
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找关键字
+     *
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean contains(int key) {
+        Node node = root;
+        while (true) {
+            int pos = rank(node.keys, node.keyNum, key);
+            if (pos < node.keyNum && node.keys[pos] == key) {
+                return true;
+            }
+            if (node.isLeaf()) {
+                return false;
+            }
+            node = node.children[pos];
+        }
+    }
+
+    /**
+     * 插入关键字，所有的插入操作都是在叶子结点上完成的
+     *
+     * @param key 关键字
+     * @return true：插入成功，false：关键字已经存在
+     */
+    public boolean insert(int key) {
+        if (!insert(root, key)) {
+            return false;
+        }
+        size++;
+        if (root.keyNum > maxKeyNum) {
+            Node newRoot = new Node(degree, false);
+            newRoot.children[0] = root;
+            root = newRoot;
+            splitChild(newRoot, 0);
+        }
+        return true;
+    }
+
+    /**
+     * 在子树中插入关键字，子结点的关键字超过最大值时分裂子结点，当前结点可能暂时超过最大值，由调用者分裂
+     */
+    private boolean insert(Node node, int key) {
+        int pos = rank(node.keys, node.keyNum, key);
+        if (pos < node.keyNum && node.keys[pos] == key) {
+            return false;
+        }
+        if (node.isLeaf()) {
+            System.arraycopy(node.keys, pos, node.keys, pos + 1, node.keyNum - pos);
+            node.keys[pos] = key;
+            node.keyNum++;
+            return true;
+        }
+        if (!insert(node.children[pos], key)) {
+            return false;
+        }
+        if (node.children[pos].keyNum > maxKeyNum) {
+            splitChild(node, pos);
+        }
+        return true;
+    }
+
+    /**
+     * 分裂结点的第i棵子树：中间的关键字上移到当前结点，后一半关键字和子树移到新的右兄弟结点
+     */
+    private void splitChild(Node parent, int i) {
+        Node left = parent.children[i];
+        int mid = left.keyNum / 2;
+        Node right = new Node(degree, left.isLeaf());
+        int rightNum = left.keyNum - mid - 1;
+        System.arraycopy(left.keys, mid + 1, right.keys, 0, rightNum);
+        if (!left.isLeaf()) {
+            System.arraycopy(left.children, mid + 1, right.children, 0, rightNum + 1);
+            for (int j = mid + 1; j <= left.keyNum; j++) {
+                left.children[j] = null;
+            }
+        }
+        right.keyNum = rightNum;
+        left.keyNum = mid;
+        System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.keyNum - i);
+        System.arraycopy(parent.children, i + 1, parent.children, i + 2, parent.keyNum - i);
+        parent.keys[i] = left.keys[mid];
+        parent.children[i + 1] = right;
+        parent.keyNum++;
+    }
+
+    /**
+     * 删除关键字。非叶子结点中的关键字用左子树中的最大关键字代替，再从左子树中删除该关键字；
+     * 删除之后子结点的关键字少于最小值时，向兄弟结点借一个关键字或者与兄弟结点合并。
+     *
+     * @param key 关键字
+     * @return true：删除成功，false：关键字不存在
+     */
+    public boolean delete(int key) {
+        if (!delete(root, key)) {
+            return false;
+        }
+        size--;
+        if (root.keyNum == 0 && !root.isLeaf()) {
+            root = root.children[0];
+        }
+        return true;
+    }
+
+    private boolean delete(Node node, int key) {
+        int pos = rank(node.keys, node.keyNum, key);
+        boolean found = pos < node.keyNum && node.keys[pos] == key;
+        if (node.isLeaf()) {
+            if (found) {
+                System.arraycopy(node.keys, pos + 1, node.keys, pos, node.keyNum - pos - 1);
+                node.keyNum--;
+            }
+            return found;
+        }
+        if (found) {
+            Node predecessor = node.children[pos];
+            while (!predecessor.isLeaf()) {
+                predecessor = predecessor.children[predecessor.keyNum];
+            }
+            key = predecessor.keys[predecessor.keyNum - 1];
+            node.keys[pos] = key;
+        }
+        if (!delete(node.children[pos], key)) {
+            return false;
+        }
+        if (node.children[pos].keyNum < minKeyNum) {
+            fixChild(node, pos);
+        }
+        return true;
+    }
+
+    /**
+     * 第i棵子树的关键字少于最小值：左兄弟或右兄弟有多余的关键字时通过父结点借一个，否则与兄弟结点合并
+     */
+    private void fixChild(Node parent, int i) {
+        Node child = parent.children[i];
+        if (i > 0 && parent.children[i - 1].keyNum > minKeyNum) {
+            Node left = parent.children[i - 1];
+            System.arraycopy(child.keys, 0, child.keys, 1, child.keyNum);
+            child.keys[0] = parent.keys[i - 1];
+            parent.keys[i - 1] = left.keys[left.keyNum - 1];
+            if (!child.isLeaf()) {
+                System.arraycopy(child.children, 0, child.children, 1, child.keyNum + 1);
+                child.children[0] = left.children[left.keyNum];
+                left.children[left.keyNum] = null;
+            }
+            child.keyNum++;
+            left.keyNum--;
+        } else if (i < parent.keyNum && parent.children[i + 1].keyNum > minKeyNum) {
+            Node right = parent.children[i + 1];
+            child.keys[child.keyNum] = parent.keys[i];
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.keyNum - 1);
+            if (!child.isLeaf()) {
+                child.children[child.keyNum + 1] = right.children[0];
+                System.arraycopy(right.children, 1, right.children, 0, right.keyNum);
+                right.children[right.keyNum] = null;
+            }
+            child.keyNum++;
+            right.keyNum--;
+        } else {
+            merge(parent, i > 0 ? i - 1 : i);
+        }
+    }
+
+    /**
+     * 将第i+1棵子树和父结点中的第i个关键字合并到第i棵子树中
+     */
+    private void merge(Node parent, int i) {
+        Node left = parent.children[i];
+        Node right = parent.children[i + 1];
+        left.keys[left.keyNum] = parent.keys[i];
+        System.arraycopy(right.keys, 0, left.keys, left.keyNum + 1, right.keyNum);
+        if (!left.isLeaf()) {
+            System.arraycopy(right.children, 0, left.children, left.keyNum + 1, right.keyNum + 1);
+        }
+        left.keyNum += right.keyNum + 1;
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.keyNum - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.keyNum - i - 1);
+        parent.children[parent.keyNum] = null;
+        parent.keyNum--;
+    }
+
+    /**
+     * 按关键字从小到大处理所有的关键字
+     *
+     * @param action 处理每个关键字
+     */
+    public void forEach(IntConsumer action) {
+        forEach(root, action);
+    }
+
+    private void forEach(Node node, IntConsumer action) {
+        for (int i = 0; i < node.keyNum; i++) {
+            if (!node.isLeaf()) {
+                forEach(node.children[i], action);
+            }
+            action.accept(node.keys[i]);
+        }
+        if (!node.isLeaf()) {
+            forEach(node.children[node.keyNum], action);
+        }
+    }
+
+    /**
+     * 结点内查找：统计小于key的关键字个数，即第一个不小于key的关键字的位置。
+     * 循环中没有依赖比较结果的分支，每次比较都执行，适合关键字只占几个缓存行的小数组。
+     */
+    private static int rank(int[] keys, int keyNum, int key) {
+        int pos = 0;
+        for (int i = 0; i < keyNum; i++) {
+            pos += keys[i] < key ? 1 : 0;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,269 @@
+package com.jason.dsaa.search;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 线性探测的开放定址哈希表。
+ * <pre>
+ *     1.关键字和值直接存放在两个数组中，没有链表结点；冲突时依次探测下一个位置，探测序列在内存中是连续的，缓存命中率高。
+ *     2.删除时不留删除标记，而是把后面同一探测序列中的关键字向前移动填补空位（后移删除），查找遇到空位就可以结束。
+ *     3.装填因子不超过3/4，超过时表长加倍。
+ *     4.渐进式扩容：扩容时只分配新表，不一次搬迁所有的关键字；之后每次插入和删除顺便搬迁旧表中的MIGRATE_STEP个位置，
+ *     查找时先查新表再查旧表。单次插入的时间不会因为搬迁整个表而突然变长。
+ *     旧表只搬出不插入，搬走或删除的关键字只把值置为null，不移动其他关键字，探测序列保持完整。
+ *     5.关键字和值都不能为null，不是线程安全的。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:23
+ **/
+public class LinearProbingHashMap<K, V> {
+
+    private static final int MAX_LOAD = 6; // 最大装填因子6/8
+
+    private Object[] keys; // 关键字，null表示空位
+    private Object[] values; // 值
+    private int tableSize; // 新表中的关键字个数
+    private int threshold; // 新表中的关键字个数超过它时扩容
+    private Object[] oldKeys; // 正在搬迁的旧表，没有扩容时为null
+    private Object[] oldValues; // 旧表的值，null表示已经搬走或者删除
+    private int migrateIndex; // 旧表中下一个要搬迁的位置
+    private int size; // 关键字的个数
+
+    public LinearProbingHashMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize 预计的关键字个数
+     */
+    public LinearProbingHashMap(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize, MAX_LOAD);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.threshold = capacity / 8 * MAX_LOAD;
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(Object key) {
+        checkKeyIsNotNull(key);
+        int hash = hash(key);
+        int i = indexOf(keys, key, hash);
+        if (i >= 0) {
+            return Hashing.cast(values[i]);
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, key, hash);
+            if (i >= 0) {
+                return Hashing.cast(oldValues[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(K key, V value) {
+        checkKeyIsNotNull(key);
+        if (value == null) {
+            throw new NullPointerException("值不能为空");
+        }
+        migrate();
+        int hash = hash(key);
+        int i = indexOf(keys, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            values[i] = value;
+            return old;
+        }
+        if (oldKeys != null) {
+            // 旧表中的关键字直接替换值，搬迁时再移到新表
+            i = indexOf(oldKeys, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = value;
+                return old;
+            }
+        }
+        if (tableSize >= threshold) {
+            grow();
+        }
+        insert(key, value, hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V remove(Object key) {
+        checkKeyIsNotNull(key);
+        migrate();
+        int hash = hash(key);
+        int i = indexOf(keys, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            removeAt(i);
+            tableSize--;
+            size--;
+            return old;
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = null;
+                size--;
+                return old;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 遍历所有的关键字和值，顺序不确定，遍历过程中不能修改哈希表
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(Hashing.cast(keys[i]), Hashing.cast(values[i]));
+            }
+        }
+        if (oldKeys != null) {
+            for (int i = migrateIndex; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    action.accept(Hashing.cast(oldKeys[i]), Hashing.cast(oldValues[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * 从关键字的哈希地址开始线性探测
+     *
+     * @return 关键字在表中的位置，遇到空位时返回-1
+     */
+    private static int indexOf(Object[] keys, Object key, int hash) {
+        int mask = keys.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                return -1;
+            }
+            if (k == key || k.equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * 在新表中插入一个不存在的关键字
+     */
+    private void insert(Object key, Object value, int hash) {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        tableSize++;
+    }
+
+    /**
+     * 后移删除：空位之后的关键字，如果它的哈希地址不在(空位, 当前位置]之间，说明它的探测序列经过空位，移到空位上
+     */
+    private void removeAt(int hole) {
+        int mask = keys.length - 1;
+        for (int i = (hole + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = null;
+    }
+
+    /**
+     * 开始扩容：当前的表变为旧表，分配两倍长的新表。上一次扩容还没有搬迁完时先搬迁完
+     */
+    private void grow() {
+        while (oldKeys != null) {
+            migrate();
+        }
+        oldKeys = keys;
+        oldValues = values;
+        migrateIndex = 0;
+        keys = new Object[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        tableSize = 0;
+        threshold = keys.length / 8 * MAX_LOAD;
+    }
+
+    /**
+     * 搬迁旧表中的MIGRATE_STEP个位置。搬走的关键字在旧表中只把值置为null，旧表的探测序列不变
+     */
+    private void migrate() {
+        if (oldKeys == null) {
+            return;
+        }
+        int end = Math.min(migrateIndex + Hashing.MIGRATE_STEP, oldKeys.length);
+        for (int i = migrateIndex; i < end; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                insert(oldKeys[i], value, hash(oldKeys[i]));
+                oldValues[i] = null;
+            }
+        }
+        migrateIndex = end;
+        if (end == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
+        }
+    }
+
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    private static void checkKeyIsNotNull(Object key) {
+        if (key == null) {
+            throw new NullPointerException("关键字不能为空");
+        }
+    }
+}
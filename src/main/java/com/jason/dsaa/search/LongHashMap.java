@@ -0,0 +1,188 @@
+package com.jason.dsaa.search;
+
+/**
+ * 关键字为long类型的哈希表。结构与LinearProbingHashMap相同，但关键字存放在long数组中，不需要装箱，比较时也不需要调用equals。
+ * <pre>
+ *     1.关键字0表示空位，关键字为0的数据单独保存在zeroValue中。
+ *     2.线性探测，后移删除，装填因子不超过3/4。
+ *     3.渐进式扩容：旧表中搬走或删除的关键字只把值置为null，关键字保留，旧表的探测序列保持完整。
+ *     值数组和扩容搬迁的过程与IntHashMap相同，放在PrimitiveKeyHashMap中，这里只处理long关键字数组。
+ *     4.值不能为null，不是线程安全的。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:23
+ **/
+public class LongHashMap<V> extends PrimitiveKeyHashMap<V> {
+
+    private long[] keys; // 关键字，0表示空位
+    private long[] oldKeys; // 正在搬迁的旧表，没有扩容时为null
+
+    public LongHashMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize 预计的关键字个数
+     */
+    public LongHashMap(int expectedSize) {
+        super(Hashing.capacityFor(expectedSize, MAX_LOAD));
+        this.keys = new long[values.length];
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(long key) {
+        if (key == 0) {
+            return getZero();
+        }
+        int hash = Hashing.mix(key);
+        int i = indexOf(keys, key, hash);
+        if (i >= 0) {
+            return Hashing.cast(values[i]);
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, key, hash);
+            if (i >= 0) {
+                return Hashing.cast(oldValues[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("值不能为空");
+        }
+        if (key == 0) {
+            return putZero(value);
+        }
+        migrate();
+        int hash = Hashing.mix(key);
+        int i = indexOf(keys, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            values[i] = value;
+            return old;
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = value;
+                return old;
+            }
+        }
+        if (tableSize >= threshold) {
+            grow();
+        }
+        insert(key, value, hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V remove(long key) {
+        if (key == 0) {
+            return removeZero();
+        }
+        migrate();
+        int hash = Hashing.mix(key);
+        int i = indexOf(keys, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            removeAt(i);
+            tableSize--;
+            size--;
+            return old;
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = null;
+                size--;
+                return old;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(long[] keys, long key, int hash) {
+        int mask = keys.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void insert(long key, Object value, int hash) {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        while (keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        tableSize++;
+    }
+
+    private void removeAt(int hole) {
+        int mask = keys.length - 1;
+        for (int i = (hole + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = Hashing.mix(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+    @Override
+    void newKeys(int capacity) {
+        oldKeys = keys;
+        keys = new long[capacity];
+    }
+
+    @Override
+    void reinsert(int index, Object value) {
+        insert(oldKeys[index], value, Hashing.mix(oldKeys[index]));
+    }
+
+    @Override
+    void releaseOldKeys() {
+        oldKeys = null;
+    }
+}
@@ -0,0 +1,328 @@
+package com.jason.dsaa.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * 最小完美哈希函数（BBHash算法），把n个互不相同的long关键字一一映射到0到n-1。
+ * <pre>
+ *     1.第0层是gamma*n位的位数组，每个关键字用第0层的哈希函数映射到一位；只有一个关键字映射到的位置为1，
+ *     发生冲突的关键字进入下一层，下一层的位数组长度是gamma*冲突的关键字个数，使用另一个哈希函数，直到所有关键字都没有冲突。
+ *     2.查找时依次检查每一层，在某一层的位为1时，关键字的编号就是所有层连起来之后这一位之前1的个数（rank）。
+ *     每512位记录一次前面1的个数，rank最多统计8个long中1的个数。
+ *     3.gamma为2时平均每个关键字约3.5位（包括rank的采样），与关键字本身的长度无关；gamma越大，层数越少，查找越快，占用的空间越大。
+ *     4.超过MAX_LEVELS层仍有冲突的关键字（极少）排序之后保存，用二分法查找。重复的关键字在每一层都冲突，最后在这里被发现。
+ *     5.建立时每一层的关键字分块并行处理，用AtomicLongArray设置位数组，冲突的关键字写回本块的开头，再依次合并。
+ *     6.不在关键字集合中的关键字也会得到一个0到n-1之间的编号或者-1，需要判断是否存在时使用StaticDictionary。
+ *     7.建立之后不能修改，可以被多个线程同时查找，可以保存到文件中再读入。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:34
+ **/
+public class MinimalPerfectHash {
+
+    public static final double DEFAULT_GAMMA = 2.0; // 默认的位数组长度与关键字个数之比
+    private static final int MAX_LEVELS = 32; // 最多的层数
+    private static final int MAX_LEVEL_WORDS = 1 << 26; // gamma*n小于2^32位，每一层最多2^26个long
+    private static final int RANK_SAMPLE_WORDS = 8; // 每8个long记录一次前面1的个数
+    private static final int PARALLEL_THRESHOLD = 1 << 16; // 关键字个数少于它时不并行
+    private static final int MAGIC = 0x4D504846; // 文件头
+    private static final long LEVEL_SEED = 0x9E3779B97F4A7C15L; // 每一层哈希函数的种子增量
+
+    private final int size; // 关键字的个数
+    private final int[] levelOffsets; // 每一层在bits中的起始位置（long的序号），最后一个是bits的长度
+    private final long[] bits; // 所有层的位数组连在一起
+    private final int[] ranks; // ranks[j]：bits[0]到bits[j*RANK_SAMPLE_WORDS-1]中1的个数
+    private final int levelKeys; // 位数组中1的个数，即在各层中找到位置的关键字个数
+    private final long[] fallbackKeys; // 超过MAX_LEVELS层仍有冲突的关键字，从小到大排列
+
+    public MinimalPerfectHash(long[] keys) {
+        this(keys, DEFAULT_GAMMA);
+    }
+
+    /**
+     * 建立最小完美哈希函数，不修改keys
+     *
+     * @param keys  互不相同的关键字
+     * @param gamma 位数组长度与关键字个数之比，不能小于1
+     */
+    public MinimalPerfectHash(long[] keys, double gamma) {
+        if (!(gamma >= 1)) {
+            throw new IllegalArgumentException("gamma不能小于1");
+        }
+        if (gamma * keys.length >= 1L << 32) {
+            throw new IllegalArgumentException("关键字太多：" + keys.length);
+        }
+        this.size = keys.length;
+        List<long[]> levels = new ArrayList<>();
+        long[] current = keys;
+        int count = keys.length;
+        while (count > 0 && levels.size() < MAX_LEVELS) {
+            int level = levels.size();
+            long levelBits = Math.max(64, ((long) Math.ceil(gamma * count) + 63) & ~63L);
+            long[] levelWords = new long[(int) (levelBits >>> 6)];
+            // 第0层不能修改调用者的数组，冲突的关键字写到新数组中，之后各层在原地压缩
+            long[] next = current == keys ? new long[count] : current;
+            count = buildLevel(current, count, next, level, levelBits, levelWords);
+            levels.add(levelWords);
+            current = next;
+        }
+        this.fallbackKeys = Arrays.copyOf(current, count);
+        Arrays.sort(fallbackKeys);
+        for (int i = 1; i < fallbackKeys.length; i++) {
+            if (fallbackKeys[i - 1] == fallbackKeys[i]) {
+                throw new IllegalArgumentException("关键字不能重复：" + fallbackKeys[i]);
+            }
+        }
+        this.levelOffsets = new int[levels.size() + 1];
+        for (int i = 0; i < levels.size(); i++) {
+            levelOffsets[i + 1] = levelOffsets[i] + levels.get(i).length;
+        }
+        this.bits = new long[levelOffsets[levels.size()]];
+        for (int i = 0; i < levels.size(); i++) {
+            System.arraycopy(levels.get(i), 0, bits, levelOffsets[i], levels.get(i).length);
+        }
+        this.ranks = buildRanks(bits);
+        this.levelKeys = size - fallbackKeys.length;
+    }
+
+    private MinimalPerfectHash(int size, int[] levelOffsets, long[] bits, long[] fallbackKeys) {
+        this.size = size;
+        this.levelOffsets = levelOffsets;
+        this.bits = bits;
+        this.ranks = buildRanks(bits);
+        this.fallbackKeys = fallbackKeys;
+        this.levelKeys = size - fallbackKeys.length;
+    }
+
+    /**
+     * 建立一层：先并行标记每个关键字的位置，第二次出现的位置记为冲突；再把冲突的关键字写入next的开头
+     *
+     * @return 冲突的关键字个数
+     */
+    private static int buildLevel(long[] keys, int count, long[] next, int level, long levelBits, long[] levelWords) {
+        AtomicLongArray seen = new AtomicLongArray(levelWords.length);
+        AtomicLongArray collided = new AtomicLongArray(levelWords.length);
+        int chunkNum = count < PARALLEL_THRESHOLD ? 1 : Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        IntStream.range(0, chunkNum).parallel().forEach(c -> {
+            for (int i = chunkStart(count, chunkNum, c), end = chunkStart(count, chunkNum, c + 1); i < end; i++) {
+                long p = position(Hashing.fmix64(keys[i]), level, levelBits);
+                if (!setBit(seen, p)) {
+                    setBit(collided, p);
+                }
+            }
+        });
+        int[] remaining = new int[chunkNum];
+        IntStream.range(0, chunkNum).parallel().forEach(c -> {
+            int start = chunkStart(count, chunkNum, c);
+            int n = 0;
+            for (int i = start, end = chunkStart(count, chunkNum, c + 1); i < end; i++) {
+                long p = position(Hashing.fmix64(keys[i]), level, levelBits);
+                if ((collided.get((int) (p >>> 6)) & (1L << p)) != 0) {
+                    next[start + n++] = keys[i]; // 写入位置不超过读取位置，可以原地压缩
+                }
+            }
+            remaining[c] = n;
+        });
+        int total = 0;
+        for (int c = 0; c < chunkNum; c++) {
+            System.arraycopy(next, chunkStart(count, chunkNum, c), next, total, remaining[c]);
+            total += remaining[c];
+        }
+        for (int i = 0; i < levelWords.length; i++) {
+            levelWords[i] = seen.get(i) & ~collided.get(i);
+        }
+        return total;
+    }
+
+    private static int[] buildRanks(long[] bits) {
+        int[] ranks = new int[bits.length / RANK_SAMPLE_WORDS + 1];
+        int count = 0;
+        for (int i = 0; i < bits.length; i++) {
+            if (i % RANK_SAMPLE_WORDS == 0) {
+                ranks[i / RANK_SAMPLE_WORDS] = count;
+            }
+            count += Long.bitCount(bits[i]);
+        }
+        return ranks;
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 平均每个关键字占用的位数，包括rank的采样和冲突关键字
+     */
+    public double bitsPerKey() {
+        long total = (long) bits.length * 64 + (long) ranks.length * 32 + (long) fallbackKeys.length * 64;
+        return size == 0 ? 0 : (double) total / size;
+    }
+
+    /**
+     * 计算关键字的编号
+     *
+     * @param key 关键字
+     * @return 建立时的关键字返回0到n-1之间互不相同的编号；其他关键字返回0到n-1之间的任意编号或者-1
+     */
+    public int index(long key) {
+        long hash = Hashing.fmix64(key);
+        for (int level = 0; level < levelOffsets.length - 1; level++) {
+            long levelBits = (long) (levelOffsets[level + 1] - levelOffsets[level]) << 6;
+            long p = ((long) levelOffsets[level] << 6) + position(hash, level, levelBits);
+            if ((bits[(int) (p >>> 6)] & (1L << p)) != 0) {
+                return rank(p);
+            }
+        }
+        int i = Arrays.binarySearch(fallbackKeys, key);
+        return i >= 0 ? levelKeys + i : -1;
+    }
+
+    /**
+     * @return bits中第p位之前1的个数
+     */
+    private int rank(long p) {
+        int word = (int) (p >>> 6);
+        int sample = word / RANK_SAMPLE_WORDS;
+        int rank = ranks[sample];
+        for (int i = sample * RANK_SAMPLE_WORDS; i < word; i++) {
+            rank += Long.bitCount(bits[i]);
+        }
+        return rank + Long.bitCount(bits[word] & ((1L << p) - 1));
+    }
+
+    /**
+     * 保存到文件
+     *
+     * @param path 文件路径，已经存在时覆盖
+     * @throws IOException 写文件异常
+     */
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            writeTo(out);
+        }
+    }
+
+    /**
+     * 从文件读入
+     *
+     * @param path 由save保存的文件
+     * @return 最小完美哈希函数
+     * @throws IOException 读文件异常或者文件格式错误
+     */
+    public static MinimalPerfectHash load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readFrom(in);
+        }
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(size);
+        out.writeInt(levelOffsets.length);
+        for (int offset : levelOffsets) {
+            out.writeInt(offset);
+        }
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+        out.writeInt(fallbackKeys.length);
+        for (long key : fallbackKeys) {
+            out.writeLong(key);
+        }
+    }
+
+    /**
+     * 读入writeTo写出的数据。读入的个数先检查范围再分配数组，损坏的文件抛出IOException，不会分配过大的数组
+     */
+    static MinimalPerfectHash readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("不是最小完美哈希函数的文件");
+        }
+        int size = readCount(in, 0, Integer.MAX_VALUE);
+        int[] levelOffsets = new int[readCount(in, 1, MAX_LEVELS + 1)];
+        if (in.readInt() != 0) {
+            throw new IOException("损坏的文件");
+        }
+        // 每一层的关键字比上一层少，位数组不会比上一层长，总长度不能超过int的范围
+        int maxWords = MAX_LEVEL_WORDS;
+        for (int i = 1; i < levelOffsets.length; i++) {
+            levelOffsets[i] = readCount(in, levelOffsets[i - 1] + 1, (int) Math.min(Integer.MAX_VALUE, (long) levelOffsets[i - 1] + maxWords));
+            maxWords = levelOffsets[i] - levelOffsets[i - 1];
+        }
+        long[] bits = new long[levelOffsets[levelOffsets.length - 1]];
+        long ones = 0;
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+            ones += Long.bitCount(bits[i]);
+        }
+        long[] fallbackKeys = new long[readCount(in, 0, size)];
+        for (int i = 0; i < fallbackKeys.length; i++) {
+            fallbackKeys[i] = in.readLong();
+            if (i > 0 && fallbackKeys[i - 1] >= fallbackKeys[i]) {
+                throw new IOException("损坏的文件");
+            }
+        }
+        if (ones != size - fallbackKeys.length) {
+            throw new IOException("损坏的文件");
+        }
+        return new MinimalPerfectHash(size, levelOffsets, bits, fallbackKeys);
+    }
+
+    /**
+     * 读入一个个数，不在min到max之间时说明文件已损坏
+     */
+    static int readCount(DataInputStream in, int min, int max) throws IOException {
+        int count = in.readInt();
+        if (count < min || count > max) {
+            throw new IOException("损坏的文件");
+        }
+        return count;
+    }
+
+    /**
+     * 设置一位
+     *
+     * @return true：原来为0
+     */
+    private static boolean setBit(AtomicLongArray words, long p) {
+        int word = (int) (p >>> 6);
+        long bit = 1L << p;
+        while (true) {
+            long old = words.get(word);
+            if ((old & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, old, old | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 关键字在某一层的位置：每一层的哈希值不同，再把高32位乘以层的位数映射到[0, levelBits)，不需要除法
+     */
+    private static long position(long hash, int level, long levelBits) {
+        long h = Hashing.fmix64(hash + (level + 1) * LEVEL_SEED);
+        return ((h >>> 32) * levelBits) >>> 32;
+    }
+
+    private static int chunkStart(int length, int chunkNum, int c) {
+        return (int) ((long) length * c / chunkNum);
+    }
+}
@@ -0,0 +1,141 @@
+package com.jason.dsaa.search;
+
+import java.util.function.Consumer;
+
+/**
+ * IntHashMap和LongHashMap共用的部分：值数组、关键字0对应的值和渐进式扩容。
+ * <pre>
+ *     1.子类只负责关键字数组（int[]或者long[]）的查找、插入和后移删除，值数组和旧表的值数组由这里管理。
+ *     2.新表中的位置有关键字时值一定不为null，旧表中值为null表示已经搬走或者删除，所以遍历和搬迁只需要看值数组。
+ *     3.扩容时子类的newKeys换上新的关键字数组，搬迁时reinsert把旧表中的一个关键字插入新表，搬迁结束时releaseOldKeys释放旧表。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:56
+ **/
+abstract class PrimitiveKeyHashMap<V> {
+
+    static final int MAX_LOAD = 6; // 最大装填因子6/8
+
+    Object[] values; // 值
+    Object[] oldValues; // 旧表的值，null表示已经搬走或者删除；没有扩容时为null
+    int tableSize; // 新表中的关键字个数
+    int threshold; // 新表中的关键字个数超过它时扩容
+    int migrateIndex; // 旧表中下一个要搬迁的位置
+    int size; // 关键字的个数
+    private Object zeroValue; // 关键字0对应的值
+
+    /**
+     * @param capacity 表长，2的幂
+     */
+    PrimitiveKeyHashMap(int capacity) {
+        this.values = new Object[capacity];
+        this.threshold = capacity / 8 * MAX_LOAD;
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 遍历所有的值，顺序不确定，遍历过程中不能修改哈希表
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        if (zeroValue != null) {
+            action.accept(Hashing.cast(zeroValue));
+        }
+        for (Object value : values) {
+            if (value != null) {
+                action.accept(Hashing.cast(value));
+            }
+        }
+        if (oldValues != null) {
+            for (int i = migrateIndex; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    action.accept(Hashing.cast(oldValues[i]));
+                }
+            }
+        }
+    }
+
+    V getZero() {
+        return Hashing.cast(zeroValue);
+    }
+
+    V putZero(V value) {
+        V old = Hashing.cast(zeroValue);
+        zeroValue = value;
+        if (old == null) {
+            size++;
+        }
+        return old;
+    }
+
+    V removeZero() {
+        V old = Hashing.cast(zeroValue);
+        zeroValue = null;
+        if (old != null) {
+            size--;
+        }
+        return old;
+    }
+
+    /**
+     * 先搬完上一次扩容的旧表，再把当前的表作为旧表，换上两倍长的新表
+     */
+    final void grow() {
+        while (oldValues != null) {
+            migrate();
+        }
+        oldValues = values;
+        migrateIndex = 0;
+        values = new Object[oldValues.length * 2];
+        newKeys(values.length);
+        tableSize = 0;
+        threshold = values.length / 8 * MAX_LOAD;
+    }
+
+    /**
+     * 搬迁旧表中的MIGRATE_STEP个位置，每次插入和删除之前调用
+     */
+    final void migrate() {
+        if (oldValues == null) {
+            return;
+        }
+        int end = Math.min(migrateIndex + Hashing.MIGRATE_STEP, oldValues.length);
+        for (int i = migrateIndex; i < end; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                reinsert(i, value);
+                oldValues[i] = null;
+            }
+        }
+        migrateIndex = end;
+        if (end == oldValues.length) {
+            oldValues = null;
+            releaseOldKeys();
+        }
+    }
+
+    /**
+     * 当前的关键字数组作为旧表，换上长度为capacity的空关键字数组
+     */
+    abstract void newKeys(int capacity);
+
+    /**
+     * 把旧表第index个位置的关键字和value插入新表
+     */
+    abstract void reinsert(int index, Object value);
+
+    /**
+     * 搬迁结束，释放旧表的关键字数组
+     */
+    abstract void releaseOldKeys();
+}
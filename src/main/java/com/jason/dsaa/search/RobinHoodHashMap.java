@@ -0,0 +1,302 @@
+package com.jason.dsaa.search;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Robin Hood哈希表：线性探测的改进，插入时"劫富济贫"。
+ * <pre>
+ *     1.关键字到哈希地址的距离称为探测距离。插入时如果遇到的关键字的探测距离比正在插入的关键字小，
+ *     就把它换出来，继续为它寻找位置。所有关键字的探测距离接近平均值，最长的探测序列比线性探测短得多。
+ *     2.同一探测序列中关键字的探测距离是递增的，查找时遇到探测距离比当前距离小的关键字，说明关键字不存在，可以提前结束，
+ *     查找不存在的关键字也很快，所以装填因子可以提高到7/8。
+ *     3.每个位置保存关键字的哈希值，计算探测距离和后移删除时不需要重新调用hashCode，比较关键字时先比较哈希值。
+ *     4.删除时把后面探测距离大于0的关键字依次向前移动一个位置（后移删除），没有删除标记。
+ *     5.渐进式扩容与LinearProbingHashMap相同：旧表只搬出不插入，查找时先查新表再查旧表。
+ *     6.关键字和值都不能为null，不是线程安全的。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:23
+ **/
+public class RobinHoodHashMap<K, V> {
+
+    private static final int MAX_LOAD = 7; // 最大装填因子7/8
+
+    private Object[] keys; // 关键字，null表示空位
+    private Object[] values; // 值
+    private int[] hashes; // 关键字的哈希值
+    private int tableSize; // 新表中的关键字个数
+    private int threshold; // 新表中的关键字个数超过它时扩容
+    private Object[] oldKeys; // 正在搬迁的旧表，没有扩容时为null
+    private Object[] oldValues; // 旧表的值，null表示已经搬走或者删除
+    private int[] oldHashes; // 旧表的哈希值
+    private int migrateIndex; // 旧表中下一个要搬迁的位置
+    private int size; // 关键字的个数
+
+    public RobinHoodHashMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize 预计的关键字个数
+     */
+    public RobinHoodHashMap(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize, MAX_LOAD);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.threshold = capacity / 8 * MAX_LOAD;
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(Object key) {
+        checkKeyIsNotNull(key);
+        int hash = hash(key);
+        int i = indexOf(keys, hashes, key, hash);
+        if (i >= 0) {
+            return Hashing.cast(values[i]);
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, oldHashes, key, hash);
+            if (i >= 0) {
+                return Hashing.cast(oldValues[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(K key, V value) {
+        checkKeyIsNotNull(key);
+        if (value == null) {
+            throw new NullPointerException("值不能为空");
+        }
+        migrate();
+        int hash = hash(key);
+        int i = indexOf(keys, hashes, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            values[i] = value;
+            return old;
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, oldHashes, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = value;
+                return old;
+            }
+        }
+        if (tableSize >= threshold) {
+            grow();
+        }
+        insert(key, value, hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V remove(Object key) {
+        checkKeyIsNotNull(key);
+        migrate();
+        int hash = hash(key);
+        int i = indexOf(keys, hashes, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            removeAt(i);
+            tableSize--;
+            size--;
+            return old;
+        }
+        if (oldKeys != null) {
+            i = indexOf(oldKeys, oldHashes, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = null;
+                size--;
+                return old;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 遍历所有的关键字和值，顺序不确定，遍历过程中不能修改哈希表
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(Hashing.cast(keys[i]), Hashing.cast(values[i]));
+            }
+        }
+        if (oldKeys != null) {
+            for (int i = migrateIndex; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    action.accept(Hashing.cast(oldKeys[i]), Hashing.cast(oldValues[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 当前最长的探测距离，用于观察关键字的分布
+     */
+    public int maxProbeDistance() {
+        int mask = keys.length - 1;
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                max = Math.max(max, (i - hashes[i]) & mask);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 从关键字的哈希地址开始探测，遇到空位或者探测距离比当前距离小的关键字时结束
+     *
+     * @return 关键字在表中的位置，不存在时返回-1
+     */
+    private static int indexOf(Object[] keys, int[] hashes, Object key, int hash) {
+        int mask = keys.length - 1;
+        for (int i = hash & mask, distance = 0; ; i = (i + 1) & mask, distance++) {
+            Object k = keys[i];
+            if (k == null || ((i - hashes[i]) & mask) < distance) {
+                return -1;
+            }
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * 在新表中插入一个不存在的关键字，遇到探测距离更小的关键字时交换，继续插入被换出的关键字
+     */
+    private void insert(Object key, Object value, int hash) {
+        int mask = keys.length - 1;
+        for (int i = hash & mask, distance = 0; ; i = (i + 1) & mask, distance++) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                hashes[i] = hash;
+                tableSize++;
+                return;
+            }
+            int residentDistance = (i - hashes[i]) & mask;
+            if (residentDistance < distance) {
+                Object k = keys[i];
+                Object v = values[i];
+                int h = hashes[i];
+                keys[i] = key;
+                values[i] = value;
+                hashes[i] = hash;
+                key = k;
+                value = v;
+                hash = h;
+                distance = residentDistance;
+            }
+        }
+    }
+
+    /**
+     * 后移删除：后面的关键字探测距离大于0时向前移动一个位置，直到空位或者探测距离为0的关键字
+     */
+    private void removeAt(int hole) {
+        int mask = keys.length - 1;
+        for (int i = (hole + 1) & mask; keys[i] != null && ((i - hashes[i]) & mask) != 0; i = (i + 1) & mask) {
+            keys[hole] = keys[i];
+            values[hole] = values[i];
+            hashes[hole] = hashes[i];
+            hole = i;
+        }
+        keys[hole] = null;
+        values[hole] = null;
+    }
+
+    /**
+     * 开始扩容：当前的表变为旧表，分配两倍长的新表。上一次扩容还没有搬迁完时先搬迁完
+     */
+    private void grow() {
+        while (oldKeys != null) {
+            migrate();
+        }
+        oldKeys = keys;
+        oldValues = values;
+        oldHashes = hashes;
+        migrateIndex = 0;
+        keys = new Object[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        hashes = new int[oldKeys.length * 2];
+        tableSize = 0;
+        threshold = keys.length / 8 * MAX_LOAD;
+    }
+
+    /**
+     * 搬迁旧表中的MIGRATE_STEP个位置
+     */
+    private void migrate() {
+        if (oldKeys == null) {
+            return;
+        }
+        int end = Math.min(migrateIndex + Hashing.MIGRATE_STEP, oldKeys.length);
+        for (int i = migrateIndex; i < end; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                insert(oldKeys[i], value, oldHashes[i]);
+                oldValues[i] = null;
+            }
+        }
+        migrateIndex = end;
+        if (end == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
+            oldHashes = null;
+        }
+    }
+
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    private static void checkKeyIsNotNull(Object key) {
+        if (key == null) {
+            throw new NullPointerException("关键字不能为空");
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.jason.dsaa.search;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 跳表。
+ * <pre>
+ *     1.最底层是按关键字从小到大排列的有序链表，包含所有的结点；每个结点以1/4的概率出现在上一层，上层链表是下层链表的"快速通道"。
+ *     2.查找时从最高层开始，在每一层向右走到下一个结点的关键字不小于查找的关键字为止，再下降一层，期望时间复杂度：O(log n)。
+ *     3.插入时随机决定新结点的层数，删除时只需要修改各层的前驱结点，不需要旋转或者分裂。
+ *     4.关键字不能为null，不是线程安全的，多线程使用ConcurrentSkipList。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:50
+ **/
+public class SkipList<K extends Comparable<K>, V> {
+
+    static final int MAX_LEVEL = 16; // 最大层数，每层的概率为1/4，可以容纳约4的16次方个结点
+
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL); // 头结点，不保存数据
+    private final Node<K, V>[] update = newNodes(MAX_LEVEL); // 插入和删除时每一层的前驱结点
+    private int level = 1; // 当前的层数
+    private int size; // 结点个数
+
+    /**
+     * 跳表结点
+     */
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        final Node<K, V>[] next; // 每一层的后继结点
+
+        Node(K key, V value, int level) {
+            this.key = key;
+            this.value = value;
+            this.next = newNodes(level);
+        }
+    }
+
+    /**
+     * 不能直接创建泛型数组，创建Node<?, ?>数组之后转换
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newNodes(int length) {
+        return (Node<K, V>[]) new Node<?, ?>[length];
+    }
+
+    /**
+     * @return 结点个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(K key) {
+        Node<K, V> node = ceilingNode(key);
+        return node != null && key.compareTo(node.key) == 0 ? node.value : null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(K key) {
+        Node<K, V> node = ceilingNode(key);
+        return node != null && key.compareTo(node.key) == 0;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(K key, V value) {
+        checkKeyIsNotNull(key);
+        Node<K, V> node = findPredecessors(key);
+        if (node != null && key.compareTo(node.key) == 0) {
+            V old = node.value;
+            node.value = value;
+            return old;
+        }
+        int newLevel = randomLevel();
+        if (newLevel > this.level) {
+            for (int i = this.level; i < newLevel; i++) {
+                update[i] = head;
+            }
+            this.level = newLevel;
+        }
+        Node<K, V> newNode = new Node<>(key, value, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            newNode.next[i] = update[i].next[i];
+            update[i].next[i] = newNode;
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V delete(K key) {
+        checkKeyIsNotNull(key);
+        Node<K, V> node = findPredecessors(key);
+        if (node == null || key.compareTo(node.key) != 0) {
+            return null;
+        }
+        for (int i = 0; i < node.next.length; i++) {
+            update[i].next[i] = node.next[i];
+        }
+        while (this.level > 1 && head.next[this.level - 1] == null) {
+            this.level--;
+        }
+        size--;
+        return node.value;
+    }
+
+    /**
+     * @param key 关键字
+     * @return 不大于key的最大关键字，不存在时返回null
+     */
+    public K floorKey(K key) {
+        checkKeyIsNotNull(key);
+        Node<K, V> node = head;
+        for (int i = this.level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].key.compareTo(key) <= 0) {
+                node = node.next[i];
+            }
+        }
+        return node == head ? null : node.key;
+    }
+
+    /**
+     * @param key 关键字
+     * @return 不小于key的最小关键字，不存在时返回null
+     */
+    public K ceilingKey(K key) {
+        Node<K, V> node = ceilingNode(key);
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * 范围查找。按关键字从小到大返回[from, to]之间的所有数据，遍历过程中不能修改跳表。
+     *
+     * @param from 最小关键字（包含），为null时从第一个关键字开始
+     * @param to   最大关键字（包含），为null时直到最后一个关键字
+     * @return 迭代器
+     */
+    public Iterator<Map.Entry<K, V>> range(K from, K to) {
+        Node<K, V> start = from == null ? head.next[0] : ceilingNode(from);
+        return new Iterator<Map.Entry<K, V>>() {
+            private Node<K, V> node = start;
+
+            @Override
+            public boolean hasNext() {
+                return node != null && (to == null || node.key.compareTo(to) <= 0);
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+                node = node.next[0];
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * 查找第一个关键字不小于key的结点
+     */
+    private Node<K, V> ceilingNode(K key) {
+        checkKeyIsNotNull(key);
+        Node<K, V> node = head;
+        for (int i = this.level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].key.compareTo(key) < 0) {
+                node = node.next[i];
+            }
+        }
+        return node.next[0];
+    }
+
+    /**
+     * 查找每一层中关键字小于key的最后一个结点，保存在update中
+     *
+     * @return 第一个关键字不小于key的结点
+     */
+    private Node<K, V> findPredecessors(K key) {
+        Node<K, V> node = head;
+        for (int i = this.level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].key.compareTo(key) < 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        return node.next[0];
+    }
+
+    /**
+     * 随机层数：从第1层开始，每次以1/4的概率增加一层
+     */
+    static int randomLevel() {
+        int random = ThreadLocalRandom.current().nextInt();
+        int level = 1;
+        while (level < MAX_LEVEL && (random & 3) == 0) {
+            level++;
+            random >>>= 2;
+        }
+        return level;
+    }
+
+    private void checkKeyIsNotNull(K key) {
+        if (key == null) {
+            throw new NullPointerException("关键字不能为空");
+        }
+    }
+}
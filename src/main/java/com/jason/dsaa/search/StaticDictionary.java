@@ -0,0 +1,225 @@
+package com.jason.dsaa.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 只读的静态字典：long关键字到非负int值的映射，建立一次之后只查找。
+ * <pre>
+ *     1.用MinimalPerfectHash把关键字映射到0到n-1，值按编号存放，不需要保存关键字本身，也没有空位。
+ *     2.值按实际需要的位数紧凑存放：最大值为1000时每个值只占10位。
+ *     3.最小完美哈希不能判断关键字是否存在，每个编号再保存关键字的fingerprintBits位指纹：
+ *     为64时保存关键字本身，查找结果完全准确；为k（0到63）时，不存在的关键字有1/2^k的概率被误认为存在；
+ *     为0时不保存指纹，只能查找一定存在的关键字。
+ *     4.查找的时间复杂度：O(1)，空间：最小完美哈希约3.5位 + 指纹位数 + 值的位数（每个关键字）。
+ *     5.建立时最小完美哈希并行建立，各关键字的编号也并行计算。可以保存到文件中再读入。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:34
+ **/
+public class StaticDictionary {
+
+    private static final int MAGIC = 0x53444943; // 文件头
+    private static final long FINGERPRINT_SEED = 0xD6E8FEB86659FD93L; // 计算指纹的哈希种子，与完美哈希的哈希值无关
+
+    private final MinimalPerfectHash hash; // 关键字到编号的映射
+    private final int fingerprintBits; // 每个指纹的位数
+    private final long[] fingerprints; // 按编号紧凑存放的指纹
+    private final int valueBits; // 每个值的位数
+    private final long[] values; // 按编号紧凑存放的值
+
+    /**
+     * 建立字典，查找结果完全准确
+     *
+     * @param keys   互不相同的关键字
+     * @param values 与关键字对应的值，不能小于0
+     */
+    public StaticDictionary(long[] keys, int[] values) {
+        this(keys, values, 64, MinimalPerfectHash.DEFAULT_GAMMA);
+    }
+
+    /**
+     * @param keys            互不相同的关键字
+     * @param values          与关键字对应的值，不能小于0
+     * @param fingerprintBits 每个关键字的指纹位数，0到64
+     * @param gamma           最小完美哈希的位数组长度与关键字个数之比，不能小于1
+     */
+    public StaticDictionary(long[] keys, int[] values, int fingerprintBits, double gamma) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("关键字和值的个数必须相同");
+        }
+        if (fingerprintBits < 0 || fingerprintBits > 64) {
+            throw new IllegalArgumentException("指纹的位数必须在0到64之间");
+        }
+        int max = 0;
+        for (int value : values) {
+            if (value < 0) {
+                throw new IllegalArgumentException("值不能小于0：" + value);
+            }
+            max = Math.max(max, value);
+        }
+        this.hash = new MinimalPerfectHash(keys, gamma);
+        this.fingerprintBits = fingerprintBits;
+        this.valueBits = 32 - Integer.numberOfLeadingZeros(max);
+        this.fingerprints = new long[words(keys.length, fingerprintBits)];
+        this.values = new long[words(keys.length, valueBits)];
+        int[] indexes = new int[keys.length];
+        int chunkNum = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        IntStream.range(0, chunkNum).parallel().forEach(c -> {
+            for (int i = (int) ((long) keys.length * c / chunkNum), end = (int) ((long) keys.length * (c + 1) / chunkNum); i < end; i++) {
+                indexes[i] = hash.index(keys[i]);
+            }
+        });
+        // 相邻编号的值可能在同一个long中，顺序写入
+        for (int i = 0; i < keys.length; i++) {
+            set(fingerprints, indexes[i], fingerprintBits, fingerprint(keys[i]));
+            set(this.values, indexes[i], valueBits, values[i]);
+        }
+    }
+
+    private StaticDictionary(MinimalPerfectHash hash, int fingerprintBits, long[] fingerprints, int valueBits, long[] values) {
+        this.hash = hash;
+        this.fingerprintBits = fingerprintBits;
+        this.fingerprints = fingerprints;
+        this.valueBits = valueBits;
+        this.values = values;
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return hash.size();
+    }
+
+    /**
+     * @return 平均每个关键字占用的位数
+     */
+    public double bitsPerKey() {
+        return size() == 0 ? 0 : hash.bitsPerKey() + (double) (fingerprints.length + values.length) * 64 / size();
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 值，关键字不存在时返回-1（fingerprintBits小于64时可能误判为存在）
+     */
+    public int get(long key) {
+        int index = hash.index(key);
+        if (index < 0 || get(fingerprints, index, fingerprintBits) != fingerprint(key)) {
+            return -1;
+        }
+        return (int) get(values, index, valueBits);
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(long key) {
+        return get(key) >= 0;
+    }
+
+    /**
+     * 保存到文件
+     *
+     * @param path 文件路径，已经存在时覆盖
+     * @throws IOException 写文件异常
+     */
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            hash.writeTo(out);
+            out.writeInt(fingerprintBits);
+            out.writeInt(valueBits);
+            for (long word : fingerprints) {
+                out.writeLong(word);
+            }
+            for (long word : values) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    /**
+     * 从文件读入
+     *
+     * @param path 由save保存的文件
+     * @return 静态字典
+     * @throws IOException 读文件异常或者文件格式错误
+     */
+    public static StaticDictionary load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("不是静态字典的文件");
+            }
+            MinimalPerfectHash hash = MinimalPerfectHash.readFrom(in);
+            int fingerprintBits = MinimalPerfectHash.readCount(in, 0, 64);
+            int valueBits = MinimalPerfectHash.readCount(in, 0, 31);
+            long[] fingerprints = new long[words(hash.size(), fingerprintBits)];
+            for (int i = 0; i < fingerprints.length; i++) {
+                fingerprints[i] = in.readLong();
+            }
+            long[] values = new long[words(hash.size(), valueBits)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readLong();
+            }
+            return new StaticDictionary(hash, fingerprintBits, fingerprints, valueBits, values);
+        }
+    }
+
+    private long fingerprint(long key) {
+        if (fingerprintBits == 64) {
+            return key;
+        }
+        return Hashing.fmix64(key + FINGERPRINT_SEED) & ((1L << fingerprintBits) - 1);
+    }
+
+    /**
+     * @return 存放n个width位的数需要的long个数
+     */
+    private static int words(int n, int width) {
+        return (int) (((long) n * width + 63) >>> 6);
+    }
+
+    /**
+     * 读取紧凑数组中第index个width位的数，可能跨越两个long
+     */
+    private static long get(long[] words, int index, int width) {
+        if (width == 0) {
+            return 0;
+        }
+        long bit = (long) index * width;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = words[word] >>> shift;
+        if (shift + width > 64) {
+            value |= words[word + 1] << (64 - shift);
+        }
+        return width == 64 ? value : value & ((1L << width) - 1);
+    }
+
+    private static void set(long[] words, int index, int width, long value) {
+        if (width == 0) {
+            return;
+        }
+        long mask = width == 64 ? -1L : (1L << width) - 1;
+        value &= mask;
+        long bit = (long) index * width;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        words[word] = (words[word] & ~(mask << shift)) | (value << shift);
+        if (shift + width > 64) {
+            words[word + 1] = (words[word + 1] & ~(mask >>> (64 - shift))) | (value >>> (64 - shift));
+        }
+    }
+}
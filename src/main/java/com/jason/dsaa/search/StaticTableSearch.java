@@ -5,6 +5,8 @@ package com.jason.dsaa.search;
  * <pre>
  *     静态表查找分为：顺序表或线性表。
  *     顺序表有三种查找方式：顺序查找、二分查找、分块查找
+ *     有序表还可以使用插值查找（关键字均匀分布时）和指数查找（不知道表长或者关键字靠近表头时），
+ *     只读的大表可以建立EytzingerIndex，按层次顺序存放关键字，查找时访问的位置更集中。
  * </pre>
  *
  * @author WangChenHol
@@ -77,6 +79,101 @@ public class StaticTableSearch {
         return -1;
     }
 
+    /**
+     * 插值查找<p/>
+     * 与二分法查找相同，待查找的表必须是从小到大排列的有序表。
+     * 根据关键字在当前区间最小值和最大值之间的比例估计它的位置，而不是每次都取中间位置。
+     * 连续两次插值之后区间都没有缩小一半时，下一次改为取中间位置，避免关键字分布不均匀时退化为顺序查找。<p/>
+     * 时间复杂度：关键字均匀分布时平均为O(log2(log2n))，最坏为O(log2n)
+     *
+     * @param datas 带查找的表
+     * @param key   关键字
+     * @return 表中关键字的位置，如果不存在则为-1
+     */
+    public static int interpolationSearch(int[] datas, int key) {
+        int start = 0, end = datas.length - 1;
+        int slowSteps = 0; // 连续没有使区间缩小一半的插值次数
+        while (start <= end && key >= datas[start] && key <= datas[end]) {
+            if (datas[start] == datas[end]) {
+                return datas[start] == key ? start : -1;
+            }
+            int width = end - start;
+            int pos;
+            if (slowSteps >= 2) {
+                pos = (start + end) >>> 1;
+                slowSteps = 0;
+            } else {
+                // 使用long计算，避免关键字的差值相乘时溢出
+                pos = start + (int) ((long) width * ((long) key - datas[start]) / ((long) datas[end] - datas[start]));
+            }
+            if (key == datas[pos]) {
+                return pos;
+            } else if (key > datas[pos]) {
+                start = pos + 1;
+            } else {
+                end = pos - 1;
+            }
+            if (end - start > width / 2) {
+                slowSteps++;
+            } else {
+                slowSteps = 0;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 指数查找（倍增查找）<p/>
+     * 从表头开始按1、2、4、8......的步长向后跳，直到跳过关键字，再在最后一步的区间中二分法查找。<p/>
+     * 时间复杂度：O(log2i)，i是关键字在表中的位置，适用于关键字靠近表头或者不知道表长的情况
+     *
+     * @param datas 带查找的表
+     * @param key   关键字
+     * @return 表中关键字的位置，如果不存在则为-1
+     */
+    public static int exponentialSearch(int[] datas, int key) {
+        int pos = exponentialSearch(datas, 0, key);
+        return pos >= 0 ? pos : -1;
+    }
+
+    /**
+     * 从指定位置开始的指数查找。按从小到大的顺序连续查找多个关键字时，
+     * 每次从上一个关键字的位置（不存在时是插入位置）开始，总的时间复杂度与关键字之间的距离有关，而与表长无关。
+     *
+     * @param datas 带查找的表
+     * @param from  开始查找的位置，0到datas.length，datas[from]之前的关键字都小于key
+     * @param key   关键字
+     * @return 表中关键字的位置；如果不存在则为-(插入位置+1)，与Arrays.binarySearch相同，
+     * 插入位置是第一个大于key的关键字的位置，所有关键字都小于key时为datas.length
+     */
+    public static int exponentialSearch(int[] datas, int from, int key) {
+        if (from < 0 || from > datas.length) {
+            throw new IllegalArgumentException("开始查找的位置必须在0到" + datas.length + "之间：" + from);
+        }
+        if (from == datas.length || datas[datas.length - 1] < key) {
+            return -(datas.length + 1);
+        }
+        int step = 1;
+        int bound = from; // datas[bound]是第一个检查过的不小于key的位置
+        while (datas[bound] < key) {
+            from = bound + 1;
+            bound = (int) Math.min((long) from + step - 1, datas.length - 1);
+            step <<= 1;
+        }
+        int start = from, end = bound;
+        while (start <= end) {
+            int mid = (start + end) >>> 1; // 中间位置
+            if (key == datas[mid]) {
+                return mid;
+            } else if (key > datas[mid]) {
+                start = mid + 1;
+            } else {
+                end = mid - 1;
+            }
+        }
+        return -(start + 1);
+    }
+
     /**
      * 分块查找。
      * <pre>
@@ -84,6 +181,7 @@ public class StaticTableSearch {
      *     但第一块的最大值必须小于第二块中的最小值，第二块中的最大值必须小于第三块中的最小值，以此类推......
      *     将每一块中的最大值按块的顺序存放在索引表中。
      *     块的查找可以是顺序查找或者二分法查找，块中的数据只能是顺序查找。
+     *     这里用二分法查找索引表，直接在原表中顺序查找块中的数据；多次查找同一个表时使用BlockIndex，只需要建立一次索引表。
      * </pre>
      *
      * @param datas       查找的表
@@ -93,17 +191,24 @@ public class StaticTableSearch {
      * @return 表中关键字的位置，如果不存在则为-1
      */
     public static int blockSearch(int[] datas, int[] index, int key, int blockLength) {
-        int idx = 0;
-        for (int i = 0; i < index.length; i++) {
-            if (index[i] >= key) {
-                idx = i;
-                break;
+        int start = 0, end = index.length;
+        while (start < end) {
+            int mid = (start + end) >>> 1; // 中间位置
+            if (index[mid] < key) {
+                start = mid + 1;
+            } else {
+                end = mid;
             }
         }
-        int[] aim = new int[blockLength]; // 关键字所在的块
-        int srcPos = blockLength * idx;
-        System.arraycopy(datas, srcPos, aim, 0, Math.min(datas.length - srcPos, blockLength));
-        int blockIndex = orderSearch(aim, key); // 关键字在块中的位置
-        return srcPos + blockIndex;
+        if (start == index.length) {
+            return -1; // 关键字大于所有块的最大值
+        }
+        int srcPos = blockLength * start; // 关键字所在的块的起始位置
+        for (int i = srcPos, limit = Math.min(datas.length, srcPos + blockLength); i < limit; i++) {
+            if (datas[i] == key) {
+                return i;
+            }
+        }
+        return -1;
     }
 }
@@ -0,0 +1,321 @@
+package com.jason.dsaa.search;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Swiss Table风格的哈希表：用控制字节过滤位置，每次比较一组8个位置。
+ * <pre>
+ *     1.哈希值分为两部分：低7位H2保存在每个位置的控制字节中，其余的位H1决定从哪一组开始探测。
+ *     控制字节：0到127表示有关键字（值为H2），EMPTY表示空位，DELETED表示删除标记。
+ *     2.8个控制字节放在一个long中。查找时一次比较一组：把H2复制到8个字节，与控制字节异或，值为0的字节就是H2相同的位置，
+ *     用"(x - 0x01..01) & ~x & 0x80..80"一次找出所有为0的字节（SWAR，寄存器内的并行计算），
+ *     只有这些位置才需要调用equals比较关键字，H2不同的位置（约127/128）不需要读取关键字数组。
+ *     原始的Swiss Table用SSE2指令一次比较16个字节，Java 8没有向量指令，这里用64位整数运算代替。
+ *     3.组内没有匹配的关键字并且有空位时，关键字不存在；否则按1、2、3......组的步长二次探测下一组。
+ *     4.删除时如果所在的组中还有空位，说明没有查找经过这一组，可以直接标记为空位，否则标记为DELETED。
+ *     删除标记和关键字一起计入装填因子，超过7/8时，如果删除标记很多就重建同样长的表，否则表长加倍。
+ *     5.渐进式扩容与LinearProbingHashMap相同：旧表只搬出不插入，查找时先查新表再查旧表。
+ *     6.关键字和值都不能为null，不是线程安全的。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:23
+ **/
+public class SwissHashMap<K, V> {
+
+    private static final int MAX_LOAD = 7; // 最大装填因子7/8
+    private static final int GROUP_WIDTH = 8; // 每组的位置数，一个long中的控制字节数
+    private static final long EMPTY = 0x80; // 空位的控制字节
+    private static final long DELETED = 0xFE; // 删除标记的控制字节
+    private static final long LSBS = 0x0101010101010101L; // 每个字节的最低位
+    private static final long MSBS = 0x8080808080808080L; // 每个字节的最高位
+
+    private long[] controls; // 控制字节，每个long是一组
+    private Object[] keys; // 关键字
+    private Object[] values; // 值
+    private int tableSize; // 新表中的关键字个数
+    private int used; // 新表中关键字和删除标记占用的位置数
+    private int threshold; // 占用的位置数超过它时扩容
+    private long[] oldControls; // 正在搬迁的旧表，没有扩容时为null
+    private Object[] oldKeys; // 旧表的关键字
+    private Object[] oldValues; // 旧表的值，null表示已经搬走或者删除
+    private int migrateIndex; // 旧表中下一个要搬迁的位置
+    private int size; // 关键字的个数
+
+    public SwissHashMap() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize 预计的关键字个数
+     */
+    public SwissHashMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize, MAX_LOAD));
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key 关键字
+     * @return 关键字对应的值，不存在时返回null
+     */
+    public V get(Object key) {
+        checkKeyIsNotNull(key);
+        int hash = hash(key);
+        int i = indexOf(controls, keys, key, hash);
+        if (i >= 0) {
+            return Hashing.cast(values[i]);
+        }
+        if (oldControls != null) {
+            i = indexOf(oldControls, oldKeys, key, hash);
+            if (i >= 0) {
+                return Hashing.cast(oldValues[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return 原来的值，关键字不存在时返回null
+     */
+    public V put(K key, V value) {
+        checkKeyIsNotNull(key);
+        if (value == null) {
+            throw new NullPointerException("值不能为空");
+        }
+        migrate();
+        int hash = hash(key);
+        int i = indexOf(controls, keys, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            values[i] = value;
+            return old;
+        }
+        if (oldControls != null) {
+            i = indexOf(oldControls, oldKeys, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = value;
+                return old;
+            }
+        }
+        if (used >= threshold) {
+            grow();
+        }
+        insert(key, value, hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return 被删除的值，关键字不存在时返回null
+     */
+    public V remove(Object key) {
+        checkKeyIsNotNull(key);
+        migrate();
+        int hash = hash(key);
+        int i = indexOf(controls, keys, key, hash);
+        if (i >= 0) {
+            V old = Hashing.cast(values[i]);
+            int group = i / GROUP_WIDTH;
+            if (matchEmpty(controls[group]) != 0) {
+                setControl(controls, i, EMPTY);
+                used--;
+            } else {
+                setControl(controls, i, DELETED);
+            }
+            keys[i] = null;
+            values[i] = null;
+            tableSize--;
+            size--;
+            return old;
+        }
+        if (oldControls != null) {
+            i = indexOf(oldControls, oldKeys, key, hash);
+            if (i >= 0 && oldValues[i] != null) {
+                V old = Hashing.cast(oldValues[i]);
+                oldValues[i] = null;
+                size--;
+                return old;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 遍历所有的关键字和值，顺序不确定，遍历过程中不能修改哈希表
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(Hashing.cast(keys[i]), Hashing.cast(values[i]));
+            }
+        }
+        if (oldControls != null) {
+            for (int i = migrateIndex; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    action.accept(Hashing.cast(oldKeys[i]), Hashing.cast(oldValues[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * 按组探测关键字
+     *
+     * @return 关键字在表中的位置，不存在时返回-1
+     */
+    private static int indexOf(long[] controls, Object[] keys, Object key, int hash) {
+        int groupMask = controls.length - 1;
+        long pattern = LSBS * (hash & 0x7F);
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long control = controls[group];
+            long match = matchZero(control ^ pattern);
+            while (match != 0) {
+                int i = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(match) >>> 3);
+                Object k = keys[i];
+                if (k == key || (k != null && k.equals(key))) {
+                    return i;
+                }
+                match &= match - 1;
+            }
+            if (matchEmpty(control) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * 在新表中插入一个不存在的关键字，放在探测序列中第一个空位或者删除标记的位置
+     */
+    private void insert(Object key, Object value, int hash) {
+        int groupMask = controls.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = controls[group] & MSBS; // 空位和删除标记的最高位都是1
+            if (free != 0) {
+                int i = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(free) >>> 3);
+                if (control(controls, i) == EMPTY) {
+                    used++;
+                }
+                setControl(controls, i, hash & 0x7F);
+                keys[i] = key;
+                values[i] = value;
+                tableSize++;
+                return;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * 开始扩容：当前的表变为旧表。删除标记超过占用位置的一半时重建同样长的表，否则表长加倍。
+     * 上一次扩容还没有搬迁完时先搬迁完
+     */
+    private void grow() {
+        while (oldControls != null) {
+            migrate();
+        }
+        oldControls = controls;
+        oldKeys = keys;
+        oldValues = values;
+        migrateIndex = 0;
+        allocate(tableSize * 2 <= used ? keys.length : keys.length * 2);
+    }
+
+    private void allocate(int capacity) {
+        controls = new long[capacity / GROUP_WIDTH];
+        Arrays.fill(controls, LSBS * EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        tableSize = 0;
+        used = 0;
+        threshold = capacity / 8 * MAX_LOAD;
+    }
+
+    /**
+     * 搬迁旧表中的MIGRATE_STEP个位置
+     */
+    private void migrate() {
+        if (oldControls == null) {
+            return;
+        }
+        int end = Math.min(migrateIndex + Hashing.MIGRATE_STEP, oldKeys.length);
+        for (int i = migrateIndex; i < end; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                insert(oldKeys[i], value, hash(oldKeys[i]));
+                oldValues[i] = null;
+            }
+        }
+        migrateIndex = end;
+        if (end == oldKeys.length) {
+            oldControls = null;
+            oldKeys = null;
+            oldValues = null;
+        }
+    }
+
+    /**
+     * @return 值为0的字节的最高位为1，其余为0。只有为0的字节之后的字节可能误报，调用者需要再比较关键字
+     */
+    private static long matchZero(long x) {
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * @return 空位的字节的最高位为1：最高位为1并且第1位为0（删除标记的第1位是1）
+     */
+    private static long matchEmpty(long control) {
+        return control & (~control << 6) & MSBS;
+    }
+
+    private static long control(long[] controls, int i) {
+        return (controls[i / GROUP_WIDTH] >>> ((i % GROUP_WIDTH) * 8)) & 0xFF;
+    }
+
+    private static void setControl(long[] controls, int i, long control) {
+        int shift = (i % GROUP_WIDTH) * 8;
+        int group = i / GROUP_WIDTH;
+        controls[group] = (controls[group] & ~(0xFFL << shift)) | (control << shift);
+    }
+
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    private static void checkKeyIsNotNull(Object key) {
+        if (key == null) {
+            throw new NullPointerException("关键字不能为空");
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.jason.dsaa.search;
+
+
+import com.jason.dsaa.nodes.TreapNode;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 树堆（Treap）。
+ * <pre>
+ *     每个结点有一个随机的优先级，数据满足二叉排序树的性质，优先级满足大根堆的性质。
+ *     树的形状等同于按随机顺序插入数据得到的二叉排序树，期望高度为O(log2n)。
+ *     1.分裂（split）：按关键字将树分为小于关键字和不小于关键字的两棵树。
+ *     2.合并（merge）：将两棵树（前一棵树的数据都小于后一棵树）合并为一棵树。
+ *     插入和删除都通过分裂和合并完成，不需要旋转，每次插入平均只修改常数个结点的链接。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:45
+ **/
+public class Treap<E extends Comparable<E>> {
+
+    private TreapNode<E> root; // 根结点
+
+    public Treap() {
+        this.root = null;
+    }
+
+    /**
+     * @return 结点个数
+     */
+    public int size() {
+        return size(this.root);
+    }
+
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    /**
+     * 查找结点
+     *
+     * @param data 待查找的数据
+     * @return 查找到的结点，不存在时返回null
+     */
+    public TreapNode<E> search(E data) {
+        if (data == null) {
+            return null;
+        }
+        TreapNode<E> node = this.root;
+        while (node != null) {
+            int compare = data.compareTo(node.data);
+            if (compare == 0) {
+                return node;
+            }
+            node = compare < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * 插入结点。沿查找路径找到第一个优先级比新结点低的结点，将以它为根的子树按新数据分裂为新结点的左右子树。
+     *
+     * @param data 新插入结点的数据
+     * @return true：插入成功，false：数据为null或者已经存在
+     */
+    public boolean insert(E data) {
+        if (data == null || search(data) != null) {
+            return false;
+        }
+        this.root = insert(this.root, new TreapNode<>(data, ThreadLocalRandom.current().nextInt()));
+        return true;
+    }
+
+    private TreapNode<E> insert(TreapNode<E> node, TreapNode<E> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (newNode.priority > node.priority) {
+            split(node, newNode.data, newNode);
+            update(newNode);
+            return newNode;
+        }
+        if (newNode.data.compareTo(node.data) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        node.size++;
+        return node;
+    }
+
+    /**
+     * 删除结点，用其左右子树合并后的树代替它的位置
+     *
+     * @param data 待删除的数据
+     * @return true：删除成功，false：数据不存在
+     */
+    public boolean delete(E data) {
+        if (search(data) == null) {
+            return false;
+        }
+        this.root = delete(this.root, data);
+        return true;
+    }
+
+    private TreapNode<E> delete(TreapNode<E> node, E data) {
+        int compare = data.compareTo(node.data);
+        if (compare == 0) {
+            TreapNode<E> merged = merge(node.left, node.right);
+            node.left = node.right = null;
+            return merged;
+        }
+        if (compare < 0) {
+            node.left = delete(node.left, data);
+        } else {
+            node.right = delete(node.right, data);
+        }
+        node.size--;
+        return node;
+    }
+
+    /**
+     * 分裂。当前树只保留小于data的结点，不小于data的结点移到返回的新树中。
+     *
+     * @param data 分裂的关键字，不要求在树中
+     * @return 由不小于data的结点组成的树
+     */
+    public Treap<E> split(E data) {
+        TreapNode<E> holder = new TreapNode<>(data, 0);
+        split(this.root, data, holder);
+        this.root = holder.left;
+        Treap<E> greater = new Treap<>();
+        greater.root = holder.right;
+        return greater;
+    }
+
+    /**
+     * 合并。other中所有的结点都移到当前树中，other变为空树。
+     *
+     * @param other 另一棵树，其中的数据必须都大于当前树中的数据
+     */
+    public void merge(Treap<E> other) {
+        if (this.root != null && other.root != null) {
+            TreapNode<E> max = this.root;
+            while (max.right != null) {
+                max = max.right;
+            }
+            TreapNode<E> min = other.root;
+            while (min.left != null) {
+                min = min.left;
+            }
+            if (max.data.compareTo(min.data) >= 0) {
+                throw new IllegalArgumentException("合并的树中的数据必须都大于当前树中的数据");
+            }
+        }
+        this.root = merge(this.root, other.root);
+        other.root = null;
+    }
+
+    /**
+     * 树的高度，期望为O(log2n)
+     *
+     * @return 高度
+     */
+    public int getDepth() {
+        return depth(this.root);
+    }
+
+    private int depth(TreapNode<E> node) {
+        if (node == null) {
+            return 0;
+        }
+        return Math.max(depth(node.left), depth(node.right)) + 1;
+    }
+
+    /**
+     * 将子树按data分裂，小于data的结点组成的树放在holder.left，不小于data的放在holder.right
+     *
+     * @param node   子树的根结点
+     * @param data   分裂的关键字
+     * @param holder 保存分裂的结果
+     */
+    private void split(TreapNode<E> node, E data, TreapNode<E> holder) {
+        if (node == null) {
+            holder.left = holder.right = null;
+            return;
+        }
+        if (node.data.compareTo(data) < 0) {
+            split(node.right, data, holder);
+            node.right = holder.left;
+            holder.left = node;
+        } else {
+            split(node.left, data, holder);
+            node.left = holder.right;
+            holder.right = node;
+        }
+        update(node);
+    }
+
+    /**
+     * 合并两棵子树，优先级高的结点作为根结点
+     *
+     * @param small 数据较小的子树
+     * @param big   数据较大的子树
+     * @return 合并后的根结点
+     */
+    private TreapNode<E> merge(TreapNode<E> small, TreapNode<E> big) {
+        if (small == null) {
+            return big;
+        }
+        if (big == null) {
+            return small;
+        }
+        if (small.priority > big.priority) {
+            small.right = merge(small.right, big);
+            update(small);
+            return small;
+        }
+        big.left = merge(small, big.left);
+        update(big);
+        return big;
+    }
+
+    private void update(TreapNode<E> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private int size(TreapNode<E> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,176 @@
+package com.jason.dsaa.search;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * van Emde Boas布局的只读索引，由BinarySortTree或者BalancedBinaryTree的snapshot方法建立。
+ * <pre>
+ *     1.把有序数据放入高度为h的满二叉树（不足的位置重复最后一个数据），再按van Emde Boas布局存放在数组中：
+ *     把树从中间的高度切开，先存放高度为h/2的上半棵树，再依次存放它下面的各棵下半树，每一棵都递归地按同样的方式存放。
+ *     2.无论缓存行多大，查找路径都只经过O(log_B n)个缓存块（B是一个缓存块中的关键字个数），不需要知道缓存的参数（缓存无关）：
+ *     总有某一层递归的子树刚好放得下一个缓存块，路径在这样的子树中只访问一个块。
+ *     3.关键字是int，存放在连续的int数组中，比较时不需要读取结点对象，也不需要调用compareTo；
+ *     数据只在找到关键字之后读取一次。
+ *     4.不保存孩子的位置。所有下半树的形状和布局都相同，上半树和下半树中每个结点（按层次顺序编号）的相对位置
+ *     在建立时各算一张表，每张表只有O(√n)项：
+ *     在上半树中，位置 = topPositions[编号]；
+ *     进入第j棵下半树时，下半树根的位置 = 上半树的结点个数 + j * 下半树的结点个数，之后位置 = 下半树根的位置 + bottomPositions[相对编号]。
+ *     查找时每一层只查一次表，不需要保存路径上各个结点的位置，不申请任何空间。
+ *     5.建立之后不能修改，可以被多个线程同时查找。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 11:29
+ **/
+public class VebLayoutIndex<E> {
+
+    private static final int MAX_HEIGHT = 30; // 最大高度，满二叉树的结点个数不超过2^30-1
+
+    private final int size; // 数据的个数
+    private final int height; // 满二叉树的高度
+    private final int[] keys; // 按van Emde Boas布局存放的关键字
+    private final Object[] datas; // 与keys对应的数据
+    private final int topHeight; // 第一次切分时上半树的高度
+    private final int topSize; // 上半树的结点个数
+    private final int bottomSize; // 每棵下半树的结点个数
+    private final int[] topPositions; // 上半树中编号为i的结点在数组中的位置
+    private final int[] bottomPositions; // 下半树中相对编号为i的结点相对于下半树根的位置
+
+    /**
+     * @param sortedDatas 从小到大排列的数据
+     * @param keyFunction 数据的关键字，必须与数据的顺序一致并且严格递增
+     */
+    VebLayoutIndex(List<E> sortedDatas, ToIntFunction<? super E> keyFunction) {
+        this.size = sortedDatas.size();
+        int h = 32 - Integer.numberOfLeadingZeros(size); // 2^h - 1 >= size
+        if (h > MAX_HEIGHT) {
+            throw new IllegalArgumentException("数据太多：" + size);
+        }
+        this.height = h;
+        int[] sortedKeys = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedKeys[i] = keyFunction.applyAsInt(sortedDatas.get(i));
+            if (i > 0 && sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("关键字必须严格递增");
+            }
+        }
+        this.keys = new int[(1 << h) - 1];
+        this.datas = new Object[(1 << h) - 1];
+        this.topHeight = h / 2;
+        this.topSize = (1 << topHeight) - 1;
+        this.bottomSize = (1 << (h - topHeight)) - 1;
+        this.topPositions = layout(topHeight);
+        this.bottomPositions = layout(h - topHeight);
+        if (size > 0) {
+            build(sortedKeys, sortedDatas, 1, 0, 0);
+        }
+    }
+
+    /**
+     * 计算高度为h的满二叉树的van Emde Boas布局：从中间切开，上半树和下半树的布局递归计算
+     *
+     * @return 按层次顺序编号为i（根结点为1）的结点在布局中的位置，下标0不使用
+     */
+    private static int[] layout(int h) {
+        int[] positions = new int[1 << h];
+        if (h <= 1) {
+            return positions;
+        }
+        int top = h / 2; // 上半树的高度
+        int[] topLayout = layout(top);
+        int[] bottomLayout = layout(h - top);
+        int topNodes = (1 << top) - 1;
+        int bottomNodes = (1 << (h - top)) - 1;
+        System.arraycopy(topLayout, 0, positions, 0, topLayout.length);
+        for (int depth = top; depth < h; depth++) {
+            int relative = depth - top; // 在下半树中的层
+            for (int i = 1 << depth; i < 1 << (depth + 1); i++) {
+                int j = (i >>> relative) - (1 << top); // 第几棵下半树
+                int r = (1 << relative) | (i & ((1 << relative) - 1)); // 在下半树中的编号
+                positions[i] = topNodes + j * bottomNodes + bottomLayout[r];
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * 中序遍历满二叉树，依次放入有序数据，超出的位置重复最后一个数据
+     *
+     * @param i     当前结点按层次顺序的编号，根结点为1
+     * @param depth 当前结点所在的层，根结点为0
+     * @param next  下一个要放入的数据序号
+     * @return 放完以当前结点为根的子树之后，下一个要放入的数据序号
+     */
+    private int build(int[] sortedKeys, List<E> sortedDatas, int i, int depth, int next) {
+        if (depth == height) {
+            return next;
+        }
+        next = build(sortedKeys, sortedDatas, 2 * i, depth + 1, next);
+        int p = position(i, depth);
+        int index = Math.min(next++, size - 1);
+        keys[p] = sortedKeys[index];
+        datas[p] = sortedDatas.get(index);
+        return build(sortedKeys, sortedDatas, 2 * i + 1, depth + 1, next);
+    }
+
+    /**
+     * 第depth层编号为i的结点在数组中的位置
+     */
+    private int position(int i, int depth) {
+        if (depth < topHeight) {
+            return topPositions[i];
+        }
+        int relative = depth - topHeight;
+        int j = (i >>> relative) - (1 << topHeight);
+        return topSize + j * bottomSize + bottomPositions[(1 << relative) | (i & ((1 << relative) - 1))];
+    }
+
+    /**
+     * @return 数据的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 查找关键字对应的数据。先在上半树中向下查找，再进入对应的下半树继续查找。
+     *
+     * @param key 关键字
+     * @return 数据，不存在时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int key) {
+        if (size == 0) {
+            return null;
+        }
+        int i = 1;
+        for (int depth = 0; depth < topHeight; depth++) {
+            int p = topPositions[i];
+            int k = keys[p];
+            if (key == k) {
+                return (E) datas[p];
+            }
+            i = 2 * i + (key > k ? 1 : 0);
+        }
+        int base = topSize + (i - (1 << topHeight)) * bottomSize; // 下半树根的位置
+        int r = 1;
+        for (int depth = topHeight; depth < height; depth++) {
+            int p = base + bottomPositions[r];
+            int k = keys[p];
+            if (key == k) {
+                return (E) datas[p];
+            }
+            r = 2 * r + (key > k ? 1 : 0);
+        }
+        return null;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     */
+    public boolean contains(int key) {
+        return get(key) != null;
+    }
+}
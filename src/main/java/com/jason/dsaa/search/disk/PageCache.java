@@ -0,0 +1,209 @@
+package com.jason.dsaa.search.disk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 页缓存。文件被划分为大小固定的页，缓存中最多同时保存frameNum个页，其余的页只在磁盘上。
+ * <pre>
+ *     1.使用页之前调用pin将页读入缓存并固定，使用完之后调用unpin解除固定，被固定的页不会被淘汰。
+ *     2.淘汰采用CLOCK算法（二次机会算法）：每个页有一个访问位，时钟指针扫描到访问位为1的页时将其清0并跳过，
+ *     扫描到访问位为0并且没有被固定的页时淘汰它。效果接近LRU，但不需要在每次访问时调整链表。
+ *     3.被修改过的页（脏页）在淘汰时或者flush时才写回磁盘。
+ *     4.不是线程安全的。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:33
+ **/
+public class PageCache implements Closeable {
+
+    private final FileChannel channel;
+    private final int pageSize; // 页的大小（字节）
+    private final Page[] frames; // 缓存帧
+    private final Map<Integer, Page> table; // 页号到缓存帧的映射
+    private int hand; // 时钟指针
+    private long hitCount; // 命中次数
+    private long missCount; // 未命中次数
+
+    /**
+     * 缓存中的一页
+     */
+    public static class Page {
+        private final ByteBuffer buffer;
+        private int pageId = -1; // 页号，-1表示空闲的帧
+        private int pinCount; // 被固定的次数
+        private boolean dirty; // 是否被修改过
+        private boolean referenced; // 访问位
+
+        Page(int pageSize) {
+            this.buffer = ByteBuffer.allocateDirect(pageSize);
+        }
+
+        /**
+         * @return 页的内容，只能使用绝对位置的读写方法
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        public int pageId() {
+            return pageId;
+        }
+
+        /**
+         * 标记页已被修改，淘汰或者flush时写回磁盘
+         */
+        public void markDirty() {
+            dirty = true;
+        }
+    }
+
+    /**
+     * @param channel  页文件，需要以读写方式打开
+     * @param pageSize 页的大小（字节）
+     * @param frameNum 缓存的页数
+     */
+    public PageCache(FileChannel channel, int pageSize, int frameNum) {
+        if (frameNum < 1) {
+            throw new IllegalArgumentException("缓存的页数不能小于1");
+        }
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.frames = new Page[frameNum];
+        for (int i = 0; i < frameNum; i++) {
+            frames[i] = new Page(pageSize);
+        }
+        this.table = new HashMap<>(frameNum * 2);
+    }
+
+    /**
+     * 读入并固定一页。页不在文件中时（新分配的页）内容为全0。
+     *
+     * @param pageId 页号
+     * @return 缓存中的页
+     * @throws IOException 读写文件异常
+     */
+    public Page pin(int pageId) throws IOException {
+        Page page = table.get(pageId);
+        if (page != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            page = evict();
+            ByteBuffer buffer = page.buffer;
+            buffer.clear();
+            long position = (long) pageId * pageSize;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    break;
+                }
+            }
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) 0);
+            }
+            buffer.clear();
+            page.pageId = pageId;
+            table.put(pageId, page);
+        }
+        page.pinCount++;
+        page.referenced = true;
+        return page;
+    }
+
+    /**
+     * 解除固定
+     *
+     * @param page 缓存中的页
+     */
+    public void unpin(Page page) {
+        if (page.pinCount <= 0) {
+            throw new IllegalStateException("页" + page.pageId + "没有被固定");
+        }
+        page.pinCount--;
+    }
+
+    /**
+     * 将所有的脏页写回磁盘
+     *
+     * @throws IOException 读写文件异常
+     */
+    public void flush() throws IOException {
+        for (Page page : frames) {
+            if (page.pageId >= 0 && page.dirty) {
+                write(page);
+            }
+        }
+        channel.force(false);
+    }
+
+    /**
+     * 将所有的脏页写回磁盘并关闭文件
+     *
+     * @throws IOException 读写文件异常
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return 未命中次数，即从磁盘读取页的次数
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * CLOCK算法选择一个可以使用的帧，被淘汰的脏页先写回磁盘
+     */
+    private Page evict() throws IOException {
+        // 最多扫描两圈：第一圈清除访问位，第二圈一定能找到没有被固定的帧
+        for (int i = 0; i < 2 * frames.length; i++) {
+            Page page = frames[hand];
+            hand = (hand + 1) % frames.length;
+            if (page.pinCount > 0) {
+                continue;
+            }
+            if (page.referenced) {
+                page.referenced = false;
+                continue;
+            }
+            if (page.pageId >= 0) {
+                if (page.dirty) {
+                    write(page);
+                }
+                table.remove(page.pageId);
+                page.pageId = -1;
+            }
+            return page;
+        }
+        throw new IllegalStateException("缓存中所有的页都被固定，无法读入新的页");
+    }
+
+    private void write(Page page) throws IOException {
+        ByteBuffer buffer = page.buffer.duplicate();
+        buffer.clear();
+        long position = (long) page.pageId * pageSize;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        page.dirty = false;
+    }
+}
@@ -0,0 +1,771 @@
+package com.jason.dsaa.search.disk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于磁盘页的B+树。关键字和值都是long类型，所有结点保存在文件中，通过页缓存读写，重新打开时不需要重建索引。
+ * <pre>
+ *     1.文件被划分为大小固定的页，0号页是元数据页（根结点、树高、关键字个数、空闲页链表等），其余的页每页存放一个结点。
+ *     2.与BPlusTree相同，非叶子结点的每个索引项是子树的最大关键字和子树的页号，所有叶子结点通过next页号从小到大链接。
+ *     3.结点直接在缓存页中读写，不需要反序列化成对象。4KB的页中叶子结点最多存放255个关键字，非叶子结点最多存放340个索引项，
+ *     一亿个关键字的树高只有4层。
+ *     4.打开文件时只读取元数据页，其余的页在访问时才读入缓存，缓存满时按CLOCK算法淘汰，只有经常访问的页留在内存中。
+ *     5.删除时结点的关键字不足一半则向兄弟结点借或者与兄弟结点合并，合并后空出的页放入空闲页链表，分配新页时优先使用。
+ *     6.修改只在淘汰、flush和close时写回磁盘，没有日志，进程异常退出时文件可能不一致。不是线程安全的。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 10:33
+ **/
+public class PagedBPlusTree implements Closeable {
+
+    public static final int DEFAULT_PAGE_SIZE = 4096; // 默认页大小4KB
+    public static final int DEFAULT_CACHE_PAGES = 1024; // 默认缓存1024页
+    private static final int MIN_PAGE_SIZE = 128; // 最小页大小
+    private static final int MIN_CACHE_PAGES = 8; // 一次操作最多同时固定4页，留出余量
+    private static final int MAX_HEIGHT = 32; // 最大树高
+    private static final int MAGIC = 0x42505452; // 文件标识
+    private static final int VERSION = 1; // 文件格式版本
+
+    // 元数据页中各个字段的位置
+    private static final int META_MAGIC = 0;
+    private static final int META_VERSION = 4;
+    private static final int META_PAGE_SIZE = 8;
+    private static final int META_ROOT = 12;
+    private static final int META_FIRST_LEAF = 16;
+    private static final int META_HEIGHT = 20;
+    private static final int META_FREE_LIST = 24;
+    private static final int META_PAGE_COUNT = 28;
+    private static final int META_SIZE = 32;
+    private static final int META_BYTES = 40;
+
+    // 结点页中各个字段的位置：类型、关键字个数、下一个叶子结点的页号，之后是关键字数组和值（子树页号）数组
+    private static final int NODE_TYPE = 0;
+    private static final int NODE_KEY_NUM = 4;
+    private static final int NODE_NEXT = 8;
+    private static final int NODE_HEADER = 16;
+    private static final byte LEAF = 1;
+    private static final byte INNER = 2;
+    private static final int NONE = 0; // 空页号，0号页是元数据页，不会作为结点
+
+    private final PageCache cache;
+    private final int pageSize; // 页大小
+    private final int leafCapacity; // 叶子结点的最大关键字个数
+    private final int innerCapacity; // 非叶子结点的最大索引项个数
+    private int root; // 根结点的页号
+    private int firstLeaf; // 关键字最小的叶子结点的页号
+    private int height; // 树高，只有根结点时为1
+    private int freeList; // 空闲页链表的第一页
+    private int pageCount; // 文件中的页数
+    private long size; // 关键字的个数
+    private final int[] pathPages = new int[MAX_HEIGHT]; // 从根结点到叶子结点的路径上每个结点的页号
+    private final int[] pathIndexes = new int[MAX_HEIGHT]; // 路径上每个结点选择的子树
+
+    /**
+     * 值的处理
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    /**
+     * 打开或者创建B+树文件，使用默认的页大小和缓存页数
+     *
+     * @param file 文件
+     * @throws IOException 读写文件异常
+     */
+    public PagedBPlusTree(Path file) throws IOException {
+        this(file, DEFAULT_PAGE_SIZE, DEFAULT_CACHE_PAGES);
+    }
+
+    /**
+     * 打开或者创建B+树文件
+     *
+     * @param file       文件
+     * @param pageSize   页大小，必须是2的幂，只在创建新文件时使用，打开已有文件时使用文件中记录的页大小
+     * @param cachePages 缓存的页数
+     * @throws IOException 读写文件异常
+     */
+    public PagedBPlusTree(Path file, int pageSize, int cachePages) throws IOException {
+        if (pageSize < MIN_PAGE_SIZE || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("页大小必须是不小于" + MIN_PAGE_SIZE + "的2的幂");
+        }
+        if (cachePages < MIN_CACHE_PAGES) {
+            throw new IllegalArgumentException("缓存的页数不能小于" + MIN_CACHE_PAGES);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            ByteBuffer meta = ByteBuffer.allocate(META_BYTES);
+            if (!created) {
+                while (meta.hasRemaining()) {
+                    if (channel.read(meta, meta.position()) < 0) {
+                        break;
+                    }
+                }
+                if (meta.hasRemaining() || meta.getInt(META_MAGIC) != MAGIC) {
+                    throw new IllegalArgumentException("不是B+树文件：" + file);
+                }
+                if (meta.getInt(META_VERSION) != VERSION) {
+                    throw new IllegalArgumentException("不支持的文件版本：" + meta.getInt(META_VERSION));
+                }
+                pageSize = meta.getInt(META_PAGE_SIZE);
+            }
+            this.pageSize = pageSize;
+            this.leafCapacity = (pageSize - NODE_HEADER) / (Long.BYTES + Long.BYTES);
+            this.innerCapacity = (pageSize - NODE_HEADER) / (Long.BYTES + Integer.BYTES);
+            this.cache = new PageCache(channel, pageSize, cachePages);
+            if (created) {
+                this.pageCount = 1;
+                this.root = this.firstLeaf = allocatePage();
+                this.height = 1;
+                this.freeList = NONE;
+                this.size = 0;
+                PageCache.Page page = cache.pin(root);
+                initNode(page, LEAF);
+                cache.unpin(page);
+                writeMeta();
+            } else {
+                this.root = meta.getInt(META_ROOT);
+                this.firstLeaf = meta.getInt(META_FIRST_LEAF);
+                this.height = meta.getInt(META_HEIGHT);
+                this.freeList = meta.getInt(META_FREE_LIST);
+                this.pageCount = meta.getInt(META_PAGE_COUNT);
+                this.size = meta.getLong(META_SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return 关键字的个数
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return 树高
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * @return 页缓存，可以用来查看命中率
+     */
+    public PageCache getPageCache() {
+        return cache;
+    }
+
+    /**
+     * 查找关键字对应的值
+     *
+     * @param key          关键字
+     * @param defaultValue 关键字不存在时返回的值
+     * @return 关键字对应的值
+     * @throws IOException 读写文件异常
+     */
+    public long get(long key, long defaultValue) throws IOException {
+        PageCache.Page page = cache.pin(findLeaf(key));
+        ByteBuffer buffer = page.buffer();
+        int pos = indexOf(buffer, key);
+        long value = pos < keyNum(buffer) && key(buffer, pos) == key ? value(buffer, pos) : defaultValue;
+        cache.unpin(page);
+        return value;
+    }
+
+    /**
+     * @param key 关键字
+     * @return true：关键字存在
+     * @throws IOException 读写文件异常
+     */
+    public boolean containsKey(long key) throws IOException {
+        PageCache.Page page = cache.pin(findLeaf(key));
+        ByteBuffer buffer = page.buffer();
+        int pos = indexOf(buffer, key);
+        boolean found = pos < keyNum(buffer) && key(buffer, pos) == key;
+        cache.unpin(page);
+        return found;
+    }
+
+    /**
+     * 从根结点向下查找关键字所在的叶子结点，关键字大于所有关键字时进入最后一棵子树
+     *
+     * @return 叶子结点的页号
+     */
+    private int findLeaf(long key) throws IOException {
+        int pageId = root;
+        for (int level = 1; level < height; level++) {
+            PageCache.Page page = cache.pin(pageId);
+            ByteBuffer buffer = page.buffer();
+            pageId = child(buffer, Math.min(indexOf(buffer, key), keyNum(buffer) - 1));
+            cache.unpin(page);
+        }
+        return pageId;
+    }
+
+    /**
+     * 插入数据，关键字已经存在时替换原来的值
+     *
+     * @param key   关键字
+     * @param value 值
+     * @return true：插入了新的关键字，false：替换了原来的值
+     * @throws IOException 读写文件异常
+     */
+    public boolean put(long key, long value) throws IOException {
+        int pageId = root;
+        for (int level = 0; level < height - 1; level++) {
+            PageCache.Page page = cache.pin(pageId);
+            ByteBuffer buffer = page.buffer();
+            int index = indexOf(buffer, key);
+            if (index == keyNum(buffer)) {
+                // 新的关键字大于所有关键字，成为最后一棵子树的最大关键字
+                index--;
+                buffer.putLong(keyOffset(index), key);
+                page.markDirty();
+            }
+            pathPages[level] = pageId;
+            pathIndexes[level] = index;
+            pageId = child(buffer, index);
+            cache.unpin(page);
+        }
+        PageCache.Page page = cache.pin(pageId);
+        ByteBuffer buffer = page.buffer();
+        int pos = indexOf(buffer, key);
+        page.markDirty();
+        if (pos < keyNum(buffer) && key(buffer, pos) == key) {
+            buffer.putLong(valueOffset(pos), value);
+            cache.unpin(page);
+            return false;
+        }
+        size++;
+        if (keyNum(buffer) < leafCapacity) {
+            insertEntry(buffer, pos, key, value);
+            cache.unpin(page);
+            return true;
+        }
+        // 叶子结点已满，分裂之后在父结点中增加新结点的索引项，父结点也可能继续分裂
+        int level = height - 2;
+        int rightId = splitInsert(page, pos, key, value);
+        while (true) {
+            PageCache.Page right = cache.pin(rightId);
+            long leftMax = key(page.buffer(), keyNum(page.buffer()) - 1);
+            long rightMax = key(right.buffer(), keyNum(right.buffer()) - 1);
+            int leftId = page.pageId();
+            cache.unpin(right);
+            cache.unpin(page);
+            if (level < 0) {
+                newRoot(leftId, leftMax, rightId, rightMax);
+                return true;
+            }
+            page = cache.pin(pathPages[level]);
+            buffer = page.buffer();
+            int index = pathIndexes[level];
+            buffer.putLong(keyOffset(index), leftMax);
+            page.markDirty();
+            if (keyNum(buffer) < innerCapacity) {
+                insertEntry(buffer, index + 1, rightMax, rightId);
+                cache.unpin(page);
+                return true;
+            }
+            rightId = splitInsert(page, index + 1, rightMax, rightId);
+            level--;
+        }
+    }
+
+    /**
+     * 删除数据
+     *
+     * @param key 关键字
+     * @return true：删除成功，false：关键字不存在
+     * @throws IOException 读写文件异常
+     */
+    public boolean delete(long key) throws IOException {
+        int pageId = root;
+        for (int level = 0; level < height - 1; level++) {
+            PageCache.Page page = cache.pin(pageId);
+            ByteBuffer buffer = page.buffer();
+            int index = indexOf(buffer, key);
+            boolean found = index < keyNum(buffer);
+            pathPages[level] = pageId;
+            pathIndexes[level] = index;
+            pageId = found ? child(buffer, index) : NONE;
+            cache.unpin(page);
+            if (!found) {
+                return false;
+            }
+        }
+        PageCache.Page page = cache.pin(pageId);
+        ByteBuffer buffer = page.buffer();
+        int pos = indexOf(buffer, key);
+        if (pos == keyNum(buffer) || key(buffer, pos) != key) {
+            cache.unpin(page);
+            return false;
+        }
+        removeEntry(buffer, pos);
+        page.markDirty();
+        cache.unpin(page);
+        size--;
+        rebalance(pageId);
+        return true;
+    }
+
+    /**
+     * 范围查找。按关键字从小到大处理[from, to]之间的所有数据，只在定位起点时访问非叶子结点。
+     * 处理数据时不能修改这棵树。
+     *
+     * @param from   最小关键字（包含）
+     * @param to     最大关键字（包含）
+     * @param action 处理每个关键字和值
+     * @return 处理的数据个数
+     * @throws IOException 读写文件异常
+     */
+    public long range(long from, long to, EntryConsumer action) throws IOException {
+        int pageId = findLeaf(from);
+        long count = 0;
+        int pos = -1;
+        while (pageId != NONE) {
+            PageCache.Page page = cache.pin(pageId);
+            ByteBuffer buffer = page.buffer();
+            int keyNum = keyNum(buffer);
+            for (pos = pos < 0 ? indexOf(buffer, from) : 0; pos < keyNum; pos++) {
+                long key = key(buffer, pos);
+                if (key > to) {
+                    cache.unpin(page);
+                    return count;
+                }
+                action.accept(key, value(buffer, pos));
+                count++;
+            }
+            pageId = buffer.getInt(NODE_NEXT);
+            cache.unpin(page);
+        }
+        return count;
+    }
+
+    /**
+     * 从有序数据批量建树，只能对空树使用。
+     * 自底向上逐层写入结点，每一层的关键字平均分配到各个结点中，顺序写入的页在文件中也是连续的。
+     *
+     * @param keys   关键字，必须严格递增
+     * @param values 关键字对应的值
+     * @throws IOException 读写文件异常
+     */
+    public void bulkLoad(long[] keys, long[] values) throws IOException {
+        if (size != 0) {
+            throw new IllegalStateException("只能对空树批量建树");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("关键字和值的个数不相等");
+        }
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException("关键字必须严格递增");
+            }
+        }
+        int n = keys.length;
+        if (n == 0) {
+            return;
+        }
+        freePage(root);
+        int count = (n + leafCapacity - 1) / leafCapacity;
+        int[] pageIds = new int[count];
+        long[] maxKeys = new long[count];
+        PageCache.Page previous = null;
+        for (int i = 0, start = 0; i < count; i++) {
+            int num = n / count + (i < n % count ? 1 : 0);
+            pageIds[i] = allocatePage();
+            PageCache.Page page = cache.pin(pageIds[i]);
+            initNode(page, LEAF);
+            ByteBuffer buffer = page.buffer();
+            for (int j = 0; j < num; j++) {
+                buffer.putLong(keyOffset(j), keys[start + j]);
+                buffer.putLong(valueOffset(j), values[start + j]);
+            }
+            buffer.putInt(NODE_KEY_NUM, num);
+            if (previous != null) {
+                previous.buffer().putInt(NODE_NEXT, pageIds[i]);
+                cache.unpin(previous);
+            }
+            previous = page;
+            maxKeys[i] = keys[start + num - 1];
+            start += num;
+        }
+        cache.unpin(previous);
+        firstLeaf = pageIds[0];
+        height = 1;
+        while (count > 1) {
+            int parentCount = (count + innerCapacity - 1) / innerCapacity;
+            for (int i = 0, start = 0; i < parentCount; i++) {
+                int num = count / parentCount + (i < count % parentCount ? 1 : 0);
+                int parentId = allocatePage();
+                PageCache.Page page = cache.pin(parentId);
+                initNode(page, INNER);
+                ByteBuffer buffer = page.buffer();
+                for (int j = 0; j < num; j++) {
+                    buffer.putLong(keyOffset(j), maxKeys[start + j]);
+                    buffer.putInt(childOffset(j), pageIds[start + j]);
+                }
+                buffer.putInt(NODE_KEY_NUM, num);
+                cache.unpin(page);
+                pageIds[i] = parentId;
+                maxKeys[i] = maxKeys[start + num - 1];
+                start += num;
+            }
+            count = parentCount;
+            height++;
+        }
+        root = pageIds[0];
+        size = n;
+    }
+
+    /**
+     * 将元数据和所有修改过的页写回磁盘
+     *
+     * @throws IOException 读写文件异常
+     */
+    public void flush() throws IOException {
+        writeMeta();
+        cache.flush();
+    }
+
+    /**
+     * 将所有修改写回磁盘并关闭文件
+     *
+     * @throws IOException 读写文件异常
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeMeta();
+        } finally {
+            cache.close();
+        }
+    }
+
+    /**
+     * 删除之后自底向上调整：更新父结点中的最大关键字，关键字个数不足一半时向兄弟结点借或者与兄弟结点合并
+     *
+     * @param pageId 删除了关键字的叶子结点
+     */
+    private void rebalance(int pageId) throws IOException {
+        for (int level = height - 2; level >= 0; level--) {
+            PageCache.Page node = cache.pin(pageId);
+            PageCache.Page parent = cache.pin(pathPages[level]);
+            ByteBuffer nodeBuffer = node.buffer();
+            ByteBuffer parentBuffer = parent.buffer();
+            int index = pathIndexes[level];
+            int min = ((isLeaf(nodeBuffer) ? leafCapacity : innerCapacity) + 1) / 2;
+            int keyNum = keyNum(nodeBuffer);
+            if (keyNum >= min) {
+                long max = key(nodeBuffer, keyNum - 1);
+                boolean changed = key(parentBuffer, index) != max;
+                if (changed) {
+                    parentBuffer.putLong(keyOffset(index), max);
+                    parent.markDirty();
+                }
+                cache.unpin(parent);
+                cache.unpin(node);
+                if (!changed) {
+                    return; // 最大关键字没有变化，祖先结点也不需要修改
+                }
+            } else {
+                node.markDirty();
+                parent.markDirty();
+                int leftId = index > 0 ? child(parentBuffer, index - 1) : NONE;
+                int rightId = index + 1 < keyNum(parentBuffer) ? child(parentBuffer, index + 1) : NONE;
+                PageCache.Page sibling = cache.pin(leftId != NONE ? leftId : rightId);
+                ByteBuffer siblingBuffer = sibling.buffer();
+                sibling.markDirty();
+                if (leftId != NONE && keyNum(siblingBuffer) > min) {
+                    int last = keyNum(siblingBuffer) - 1;
+                    insertEntry(nodeBuffer, 0, key(siblingBuffer, last), entry(siblingBuffer, last));
+                    removeEntry(siblingBuffer, last);
+                    parentBuffer.putLong(keyOffset(index - 1), maxKey(siblingBuffer));
+                    parentBuffer.putLong(keyOffset(index), maxKey(nodeBuffer));
+                    cache.unpin(sibling);
+                } else if (leftId != NONE && rightId == NONE) {
+                    merge(siblingBuffer, nodeBuffer);
+                    parentBuffer.putLong(keyOffset(index - 1), maxKey(siblingBuffer));
+                    removeEntry(parentBuffer, index);
+                    cache.unpin(sibling);
+                    freePage(pageId);
+                } else {
+                    if (leftId != NONE) {
+                        // 左兄弟结点不能借出也不能合并时检查右兄弟结点
+                        cache.unpin(sibling);
+                        sibling = cache.pin(rightId);
+                        siblingBuffer = sibling.buffer();
+                        sibling.markDirty();
+                    }
+                    if (keyNum(siblingBuffer) > min) {
+                        insertEntry(nodeBuffer, keyNum(nodeBuffer), key(siblingBuffer, 0), entry(siblingBuffer, 0));
+                        removeEntry(siblingBuffer, 0);
+                        parentBuffer.putLong(keyOffset(index), maxKey(nodeBuffer));
+                        cache.unpin(sibling);
+                    } else {
+                        merge(nodeBuffer, siblingBuffer);
+                        parentBuffer.putLong(keyOffset(index), maxKey(nodeBuffer));
+                        removeEntry(parentBuffer, index + 1);
+                        cache.unpin(sibling);
+                        freePage(rightId);
+                    }
+                }
+                cache.unpin(parent);
+                cache.unpin(node);
+            }
+            pageId = pathPages[level];
+        }
+        PageCache.Page page = cache.pin(root);
+        ByteBuffer buffer = page.buffer();
+        if (!isLeaf(buffer) && keyNum(buffer) == 1) {
+            // 根结点只剩一棵子树时，子树成为新的根结点
+            int oldRoot = root;
+            root = child(buffer, 0);
+            height--;
+            cache.unpin(page);
+            freePage(oldRoot);
+        } else {
+            cache.unpin(page);
+        }
+    }
+
+    /**
+     * 分裂已满的结点并插入一个索引项，前一半留在原结点，后一半移到新的右兄弟结点
+     *
+     * @param page  已满的结点
+     * @param pos   插入的位置
+     * @param key   关键字
+     * @param entry 叶子结点中是值，非叶子结点中是子树的页号
+     * @return 右兄弟结点的页号
+     */
+    private int splitInsert(PageCache.Page page, int pos, long key, long entry) throws IOException {
+        ByteBuffer left = page.buffer();
+        boolean leaf = isLeaf(left);
+        int capacity = keyNum(left);
+        int leftNum = (capacity + 1) / 2;
+        int rightId = allocatePage();
+        PageCache.Page rightPage = cache.pin(rightId);
+        initNode(rightPage, leaf ? LEAF : INNER);
+        ByteBuffer right = rightPage.buffer();
+        // 新的索引项插入左边时左边先少留一个
+        int from = pos < leftNum ? leftNum - 1 : leftNum;
+        for (int i = from; i < capacity; i++) {
+            setEntry(right, i - from, key(left, i), entry(left, i));
+        }
+        right.putInt(NODE_KEY_NUM, capacity - from);
+        left.putInt(NODE_KEY_NUM, from);
+        if (pos < leftNum) {
+            insertEntry(left, pos, key, entry);
+        } else {
+            insertEntry(right, pos - leftNum, key, entry);
+        }
+        if (leaf) {
+            right.putInt(NODE_NEXT, left.getInt(NODE_NEXT));
+            left.putInt(NODE_NEXT, rightId);
+        }
+        page.markDirty();
+        cache.unpin(rightPage);
+        return rightId;
+    }
+
+    /**
+     * 根结点分裂后建立新的根结点
+     */
+    private void newRoot(int leftId, long leftMax, int rightId, long rightMax) throws IOException {
+        if (height == MAX_HEIGHT) {
+            throw new IllegalStateException("树高超过了" + MAX_HEIGHT);
+        }
+        int rootId = allocatePage();
+        PageCache.Page page = cache.pin(rootId);
+        initNode(page, INNER);
+        ByteBuffer buffer = page.buffer();
+        setEntry(buffer, 0, leftMax, leftId);
+        setEntry(buffer, 1, rightMax, rightId);
+        buffer.putInt(NODE_KEY_NUM, 2);
+        cache.unpin(page);
+        root = rootId;
+        height++;
+    }
+
+    /**
+     * 将右兄弟结点合并到左兄弟结点中
+     */
+    private void merge(ByteBuffer left, ByteBuffer right) {
+        int leftNum = keyNum(left);
+        int rightNum = keyNum(right);
+        for (int i = 0; i < rightNum; i++) {
+            setEntry(left, leftNum + i, key(right, i), entry(right, i));
+        }
+        left.putInt(NODE_KEY_NUM, leftNum + rightNum);
+        if (isLeaf(left)) {
+            left.putInt(NODE_NEXT, right.getInt(NODE_NEXT));
+        }
+    }
+
+    /**
+     * 分配一页，优先使用空闲页链表中的页
+     */
+    private int allocatePage() throws IOException {
+        if (freeList == NONE) {
+            if (pageCount == Integer.MAX_VALUE) {
+                throw new IllegalStateException("文件的页数超过了上限");
+            }
+            return pageCount++;
+        }
+        int pageId = freeList;
+        PageCache.Page page = cache.pin(pageId);
+        freeList = page.buffer().getInt(NODE_NEXT);
+        cache.unpin(page);
+        return pageId;
+    }
+
+    /**
+     * 释放一页，放入空闲页链表的头部
+     */
+    private void freePage(int pageId) throws IOException {
+        PageCache.Page page = cache.pin(pageId);
+        ByteBuffer buffer = page.buffer();
+        buffer.put(NODE_TYPE, (byte) 0);
+        buffer.putInt(NODE_KEY_NUM, 0);
+        buffer.putInt(NODE_NEXT, freeList);
+        page.markDirty();
+        cache.unpin(page);
+        freeList = pageId;
+    }
+
+    private void initNode(PageCache.Page page, byte type) {
+        ByteBuffer buffer = page.buffer();
+        buffer.put(NODE_TYPE, type);
+        buffer.putInt(NODE_KEY_NUM, 0);
+        buffer.putInt(NODE_NEXT, NONE);
+        page.markDirty();
+    }
+
+    private void writeMeta() throws IOException {
+        PageCache.Page page = cache.pin(0);
+        ByteBuffer buffer = page.buffer();
+        buffer.putInt(META_MAGIC, MAGIC);
+        buffer.putInt(META_VERSION, VERSION);
+        buffer.putInt(META_PAGE_SIZE, pageSize);
+        buffer.putInt(META_ROOT, root);
+        buffer.putInt(META_FIRST_LEAF, firstLeaf);
+        buffer.putInt(META_HEIGHT, height);
+        buffer.putInt(META_FREE_LIST, freeList);
+        buffer.putInt(META_PAGE_COUNT, pageCount);
+        buffer.putLong(META_SIZE, size);
+        page.markDirty();
+        cache.unpin(page);
+    }
+
+    /**
+     * 折半查找结点中第一个不小于key的关键字的位置
+     *
+     * @return 关键字的位置，所有关键字都小于key时返回keyNum
+     */
+    private static int indexOf(ByteBuffer buffer, long key) {
+        int low = 0;
+        int high = keyNum(buffer) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = key(buffer, mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 在pos位置插入一个索引项，后面的索引项依次后移
+     */
+    private void insertEntry(ByteBuffer buffer, int pos, long key, long entry) {
+        int keyNum = keyNum(buffer);
+        for (int i = keyNum; i > pos; i--) {
+            setEntry(buffer, i, key(buffer, i - 1), entry(buffer, i - 1));
+        }
+        setEntry(buffer, pos, key, entry);
+        buffer.putInt(NODE_KEY_NUM, keyNum + 1);
+    }
+
+    /**
+     * 删除pos位置的索引项，后面的索引项依次前移
+     */
+    private void removeEntry(ByteBuffer buffer, int pos) {
+        int keyNum = keyNum(buffer);
+        for (int i = pos + 1; i < keyNum; i++) {
+            setEntry(buffer, i - 1, key(buffer, i), entry(buffer, i));
+        }
+        buffer.putInt(NODE_KEY_NUM, keyNum - 1);
+    }
+
+    /**
+     * 索引项的值：叶子结点中是关键字对应的值，非叶子结点中是子树的页号
+     */
+    private long entry(ByteBuffer buffer, int i) {
+        return isLeaf(buffer) ? value(buffer, i) : child(buffer, i);
+    }
+
+    private void setEntry(ByteBuffer buffer, int i, long key, long entry) {
+        buffer.putLong(keyOffset(i), key);
+        if (isLeaf(buffer)) {
+            buffer.putLong(valueOffset(i), entry);
+        } else {
+            buffer.putInt(childOffset(i), (int) entry);
+        }
+    }
+
+    private static boolean isLeaf(ByteBuffer buffer) {
+        return buffer.get(NODE_TYPE) == LEAF;
+    }
+
+    private static int keyNum(ByteBuffer buffer) {
+        return buffer.getInt(NODE_KEY_NUM);
+    }
+
+    private static long key(ByteBuffer buffer, int i) {
+        return buffer.getLong(keyOffset(i));
+    }
+
+    private static long maxKey(ByteBuffer buffer) {
+        return key(buffer, keyNum(buffer) - 1);
+    }
+
+    private long value(ByteBuffer buffer, int i) {
+        return buffer.getLong(valueOffset(i));
+    }
+
+    private int child(ByteBuffer buffer, int i) {
+        return buffer.getInt(childOffset(i));
+    }
+
+    private static int keyOffset(int i) {
+        return NODE_HEADER + i * Long.BYTES;
+    }
+
+    private int valueOffset(int i) {
+        return NODE_HEADER + leafCapacity * Long.BYTES + i * Long.BYTES;
+    }
+
+    private int childOffset(int i) {
+        return NODE_HEADER + innerCapacity * Long.BYTES + i * Integer.BYTES;
+    }
+}
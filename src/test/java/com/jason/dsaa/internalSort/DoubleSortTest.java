@@ -0,0 +1,124 @@
+package com.jason.dsaa.internalSort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * double排序与Arrays.sort(double[])的结果比较。
+ * <pre>
+ *     数据中混有NaN、-0.0和0.0，结果必须逐位相同：-0.0在0.0之前，NaN在最后。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 12:28
+ **/
+class DoubleSortTest {
+
+    private static final double[] SPECIALS = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+
+    @Test
+    void insertSort() {
+        check(InsertionSort::insertSort, 200);
+    }
+
+    @Test
+    void insertSortRange() {
+        Random random = new Random(7L);
+        for (int round = 0; round < 200; round++) {
+            double[] datas = randomDatas(random, 1 + random.nextInt(100));
+            int low = random.nextInt(datas.length);
+            int high = low + random.nextInt(datas.length - low);
+            double[] expected = datas.clone();
+            Arrays.sort(expected, low, high + 1);
+            InsertionSort.insertSort(datas, low, high);
+            assertArrayEquals(expected, datas);
+        }
+    }
+
+    @Test
+    void shellSort() {
+        check(InsertionSort::shellSort, 2000);
+    }
+
+    @Test
+    void quickSort() {
+        check(ExchangeSort::quickSort, 2000);
+    }
+
+    @Test
+    void megerSort() {
+        check(MegeringSort::megerSort, 2000);
+    }
+
+    @Test
+    void heapSortAsc() {
+        check(SelectionSort::heapSortAsc, 2000);
+    }
+
+    @Test
+    void onlySpecialValues() {
+        double[] datas = {Double.NaN, 0.0, Double.NaN, -0.0, 0.0, -0.0, Double.NaN};
+        double[] expected = datas.clone();
+        Arrays.sort(expected);
+        ExchangeSort.quickSort(datas);
+        assertArrayEquals(expected, datas);
+    }
+
+    /**
+     * assertArrayEquals把所有NaN看作相同的值，这里比较原始的位模式，NaN的载荷也必须保留
+     */
+    @Test
+    void nanPayloads() {
+        Random random = new Random(11L);
+        for (Consumer<double[]> sort : Arrays.<Consumer<double[]>>asList(InsertionSort::insertSort,
+                InsertionSort::shellSort, ExchangeSort::quickSort, MegeringSort::megerSort, SelectionSort::heapSortAsc)) {
+            for (int round = 0; round < 50; round++) {
+                double[] datas = randomDatas(random, random.nextInt(500));
+                for (int i = 0; i < datas.length; i++) {
+                    if (Double.isNaN(datas[i])) {
+                        datas[i] = Double.longBitsToDouble(0x7FF8000000000000L | random.nextInt(1 << 20));
+                    }
+                }
+                double[] expected = datas.clone();
+                Arrays.sort(expected);
+                sort.accept(datas);
+                assertArrayEquals(rawBits(expected), rawBits(datas));
+            }
+        }
+    }
+
+    private static long[] rawBits(double[] datas) {
+        long[] bits = new long[datas.length];
+        for (int i = 0; i < datas.length; i++) {
+            bits[i] = Double.doubleToRawLongBits(datas[i]);
+        }
+        return bits;
+    }
+
+    private static void check(Consumer<double[]> sort, int maxLength) {
+        Random random = new Random(42L);
+        for (int round = 0; round < 200; round++) {
+            double[] datas = randomDatas(random, random.nextInt(maxLength + 1));
+            double[] expected = datas.clone();
+            Arrays.sort(expected);
+            sort.accept(datas);
+            assertArrayEquals(expected, datas);
+        }
+    }
+
+    /**
+     * 随机数据，大约四分之一是NaN、-0.0、0.0和无穷大
+     */
+    private static double[] randomDatas(Random random, int length) {
+        double[] datas = new double[length];
+        for (int i = 0; i < length; i++) {
+            datas[i] = random.nextInt(4) == 0 ? SPECIALS[random.nextInt(SPECIALS.length)] : random.nextInt(100) - 50.0;
+        }
+        return datas;
+    }
+}
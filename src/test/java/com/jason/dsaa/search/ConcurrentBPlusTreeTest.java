@@ -0,0 +1,130 @@
+package com.jason.dsaa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ConcurrentBPlusTree的并发测试。
+ * <pre>
+ *     1.每个写线程只修改除以WRITERS余数等于自己编号的关键字，相邻的关键字属于不同的线程，多个线程同时插入和删除同一个叶子结点，
+ *     阶数很小，分裂频繁。每个关键字只有一个线程修改，put、delete、get的返回值必须与该线程自己维护的HashMap相同。
+ *     2.值除以KEYS的余数就是关键字，读线程同时做全表范围查找，关键字必须严格递增，值必须属于对应的关键字。
+ *     3.所有线程结束之后，树的大小、每个关键字的值和范围查找的结果必须与所有写线程的HashMap合并后的结果相同。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 13:50
+ **/
+class ConcurrentBPlusTreeTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 2;
+    private static final int OPERATIONS = 200_000; // 每个写线程的操作次数
+    private static final int KEYS = 512; // 关键字的范围[0, KEYS)，范围小、阶数小，多个线程经常同时修改同一个叶子结点
+    private static final int DEGREE = 4;
+
+    @Test
+    void concurrentWritesKeepContentsAndOrder() throws InterruptedException {
+        ConcurrentBPlusTree<Integer, Integer> tree = new ConcurrentBPlusTree<>(DEGREE);
+        List<Map<Integer, Integer>> expected = new ArrayList<>();
+        AtomicInteger writerErrors = new AtomicInteger(); // 返回值与HashMap不同的次数
+        AtomicInteger readerErrors = new AtomicInteger(); // 范围查找中顺序错误或者值不属于关键字的次数
+        AtomicInteger running = new AtomicInteger(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < WRITERS; t++) {
+            int id = t;
+            Map<Integer, Integer> mine = new HashMap<>();
+            expected.add(mine);
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                await(start);
+                for (int i = 0; i < OPERATIONS; i++) {
+                    Integer key = random.nextInt(KEYS / WRITERS) * WRITERS + id;
+                    int operation = random.nextInt(10);
+                    Integer actual;
+                    Integer wanted;
+                    if (operation < 5) {
+                        Integer value = key + KEYS * (i % 100_000); // 不超过int的范围
+                        actual = tree.put(key, value);
+                        wanted = mine.put(key, value);
+                    } else if (operation < 8) {
+                        actual = tree.delete(key);
+                        wanted = mine.remove(key);
+                    } else {
+                        actual = tree.get(key);
+                        wanted = mine.get(key);
+                    }
+                    if (actual == null ? wanted != null : !actual.equals(wanted)) {
+                        writerErrors.incrementAndGet();
+                    }
+                }
+                running.decrementAndGet();
+            }));
+        }
+        for (int t = 0; t < READERS; t++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                while (running.get() > 0) {
+                    int[] previous = {-1};
+                    tree.range(null, null, (key, value) -> {
+                        if (key <= previous[0] || value % KEYS != key) {
+                            readerErrors.incrementAndGet();
+                        }
+                        previous[0] = key;
+                    });
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, writerErrors.get(), "返回值与HashMap不同的次数");
+        assertEquals(0, readerErrors.get(), "范围查找出错的次数");
+
+        TreeMap<Integer, Integer> all = new TreeMap<>();
+        for (Map<Integer, Integer> mine : expected) {
+            all.putAll(mine);
+        }
+        assertEquals(all.size(), tree.size());
+        for (int key = 0; key < KEYS; key++) {
+            assertEquals(all.get(key), tree.get(key), "关键字" + key);
+        }
+        List<Integer> keys = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        int count = tree.range(null, null, (key, value) -> {
+            keys.add(key);
+            values.add(value);
+        });
+        assertEquals(all.size(), count);
+        assertEquals(new ArrayList<>(all.keySet()), keys);
+        assertEquals(new ArrayList<>(all.values()), values);
+        int from = KEYS / 3;
+        int to = 2 * KEYS / 3;
+        List<Integer> subKeys = new ArrayList<>();
+        tree.range(from, to, (key, value) -> subKeys.add(key));
+        assertEquals(new ArrayList<>(all.subMap(from, true, to, true).keySet()), subKeys);
+    }
+
+    private static void await(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jason.dsaa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConcurrentSkipList的并发测试。
+ * <pre>
+ *     多个线程对少数几个关键字交替插入和删除，每次插入的值都不相同。
+ *     每个插入的值最终只能出现一次：被之后的put替换返回、被delete删除返回，或者留在跳表中。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 12:27
+ **/
+class ConcurrentSkipListTest {
+
+    private static final int THREADS = 4;
+    private static final int OPERATIONS = 200_000; // 每个线程的操作次数
+    private static final int KEYS = 2; // 关键字个数，越少竞争越激烈
+
+    @Test
+    void everyValueIsReturnedExactlyOnce() throws InterruptedException {
+        ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<>();
+        AtomicIntegerArray returned = new AtomicIntegerArray(THREADS * OPERATIONS); // 每个值被返回的次数
+        boolean[][] inserted = new boolean[THREADS][OPERATIONS];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPERATIONS; i++) {
+                    Integer key = random.nextInt(KEYS);
+                    Integer old;
+                    if (random.nextBoolean()) {
+                        inserted[id][i] = true;
+                        old = list.put(key, id * OPERATIONS + i);
+                    } else {
+                        old = list.delete(key);
+                    }
+                    if (old != null) {
+                        returned.incrementAndGet(old);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int key = 0; key < KEYS; key++) {
+            Integer last = list.delete(key);
+            if (last != null) {
+                returned.incrementAndGet(last);
+            }
+            assertNull(list.get(key));
+        }
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < OPERATIONS; i++) {
+                int value = t * OPERATIONS + i;
+                assertEquals(inserted[t][i] ? 1 : 0, returned.get(value), "值" + value + "被返回的次数");
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.jason.dsaa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 最小完美哈希函数的保存和读入。
+ * <pre>
+ *     文件格式：MAGIC、关键字个数、层数+1、每一层的起始位置、位数组、兜底关键字个数、兜底关键字。
+ *     改坏其中的个数之后读入只能抛出IOException，不能抛出NegativeArraySizeException或者OutOfMemoryError。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 12:45
+ **/
+class MinimalPerfectHashTest {
+
+    private static final int SIZE_OFFSET = 4; // 关键字个数的位置
+    private static final int LEVELS_OFFSET = 8; // 层数+1的位置
+    private static final int FIRST_LEVEL_OFFSET = 16; // 第1层起始位置（第0层的long个数）的位置
+
+    @Test
+    void roundTrip() throws IOException {
+        long[] keys = keys(10000);
+        MinimalPerfectHash hash = new MinimalPerfectHash(keys);
+        MinimalPerfectHash read = read(write(hash));
+        assertEquals(hash.size(), read.size());
+        for (long key : keys) {
+            assertEquals(hash.index(key), read.index(key));
+        }
+    }
+
+    @Test
+    void emptyRoundTrip() throws IOException {
+        assertEquals(0, read(write(new MinimalPerfectHash(new long[0]))).size());
+    }
+
+    @Test
+    void negativeSize() throws IOException {
+        assertCorrupt(SIZE_OFFSET, -1);
+    }
+
+    @Test
+    void badLevelCount() throws IOException {
+        assertCorrupt(LEVELS_OFFSET, -1);
+        assertCorrupt(LEVELS_OFFSET, 0);
+        assertCorrupt(LEVELS_OFFSET, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void badLevelLength() throws IOException {
+        assertCorrupt(FIRST_LEVEL_OFFSET, -1);
+        assertCorrupt(FIRST_LEVEL_OFFSET, 0);
+        assertCorrupt(FIRST_LEVEL_OFFSET, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void badFallbackCount() throws IOException {
+        byte[] bytes = write(new MinimalPerfectHash(keys(1000)));
+        assertCorrupt(bytes, bytes.length - 4, -1);
+        assertCorrupt(bytes, bytes.length - 4, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void flippedBit() throws IOException {
+        byte[] bytes = write(new MinimalPerfectHash(keys(1000)));
+        bytes[FIRST_LEVEL_OFFSET + 8] ^= 1;
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+
+    @Test
+    void truncated() throws IOException {
+        byte[] bytes = write(new MinimalPerfectHash(keys(1000)));
+        assertThrows(IOException.class, () -> read(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    private static void assertCorrupt(int offset, int value) throws IOException {
+        assertCorrupt(write(new MinimalPerfectHash(keys(1000))), offset, value);
+    }
+
+    private static void assertCorrupt(byte[] bytes, int offset, int value) {
+        byte[] corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).putInt(offset, value);
+        assertThrows(IOException.class, () -> read(corrupt));
+    }
+
+    private static long[] keys(int n) {
+        return new Random(25L).longs().distinct().limit(n).toArray();
+    }
+
+    private static byte[] write(MinimalPerfectHash hash) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            hash.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static MinimalPerfectHash read(byte[] bytes) throws IOException {
+        return MinimalPerfectHash.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,244 @@
+package com.jason.dsaa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 开放定址哈希表与java.util.HashMap的对比测试。
+ * <pre>
+ *     1.随机执行put、remove、get，表先增长到GROWN个关键字，经过多次渐进式扩容，再在这个规模上混合读写，最后删到接近空表。
+ *     扩容之后的若干次操作里旧表还没有搬完，查找、插入和删除都要覆盖旧表中的关键字。
+ *     2.每次操作的返回值都与HashMap比较，每个阶段结束时再比较大小和全部内容。
+ *     3.关键字集中在一个较小的范围内，同一个关键字会反复插入和删除，覆盖后移删除、墓碑和控制字节的各种状态；
+ *     IntHashMap和LongHashMap的关键字0单独存放，所以关键字0出现得更频繁。
+ * </pre>
+ *
+ * @author WangChenHol
+ * @date 2026-10-18 13:40
+ **/
+class OpenAddressingHashMapTest {
+
+    private static final int GROWN = 20_000; // 增长阶段结束时的关键字个数
+    private static final int MIXED_OPERATIONS = 200_000; // 混合读写阶段的操作次数
+
+    @Test
+    void linearProbingHashMap() {
+        LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>();
+        check(new TestedMap() {
+            public Integer get(int key) {
+                return map.get(key);
+            }
+
+            public Integer put(int key, Integer value) {
+                return map.put(key, value);
+            }
+
+            public Integer remove(int key) {
+                return map.remove(key);
+            }
+
+            public int size() {
+                return map.size();
+            }
+
+            public void forEachValue(Consumer<Integer> action) {
+                map.forEach((key, value) -> action.accept(value));
+            }
+        });
+    }
+
+    @Test
+    void robinHoodHashMap() {
+        RobinHoodHashMap<Integer, Integer> map = new RobinHoodHashMap<>();
+        check(new TestedMap() {
+            public Integer get(int key) {
+                return map.get(key);
+            }
+
+            public Integer put(int key, Integer value) {
+                return map.put(key, value);
+            }
+
+            public Integer remove(int key) {
+                return map.remove(key);
+            }
+
+            public int size() {
+                return map.size();
+            }
+
+            public void forEachValue(Consumer<Integer> action) {
+                map.forEach((key, value) -> action.accept(value));
+            }
+        });
+    }
+
+    @Test
+    void swissHashMap() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+        check(new TestedMap() {
+            public Integer get(int key) {
+                return map.get(key);
+            }
+
+            public Integer put(int key, Integer value) {
+                return map.put(key, value);
+            }
+
+            public Integer remove(int key) {
+                return map.remove(key);
+            }
+
+            public int size() {
+                return map.size();
+            }
+
+            public void forEachValue(Consumer<Integer> action) {
+                map.forEach((key, value) -> action.accept(value));
+            }
+        });
+    }
+
+    @Test
+    void intHashMap() {
+        IntHashMap<Integer> map = new IntHashMap<>();
+        check(new TestedMap() {
+            public Integer get(int key) {
+                return map.get(key);
+            }
+
+            public Integer put(int key, Integer value) {
+                return map.put(key, value);
+            }
+
+            public Integer remove(int key) {
+                return map.remove(key);
+            }
+
+            public int size() {
+                return map.size();
+            }
+
+            public void forEachValue(Consumer<Integer> action) {
+                map.forEachValue(action);
+            }
+        });
+    }
+
+    /**
+     * 关键字乘以一个大于2^32的奇数，高32位也参与哈希；关键字0仍然是0
+     */
+    @Test
+    void longHashMap() {
+        LongHashMap<Integer> map = new LongHashMap<>();
+        long spread = 0x1_0000_000FL;
+        check(new TestedMap() {
+            public Integer get(int key) {
+                return map.get(key * spread);
+            }
+
+            public Integer put(int key, Integer value) {
+                return map.put(key * spread, value);
+            }
+
+            public Integer remove(int key) {
+                return map.remove(key * spread);
+            }
+
+            public int size() {
+                return map.size();
+            }
+
+            public void forEachValue(Consumer<Integer> action) {
+                map.forEachValue(action);
+            }
+        });
+    }
+
+    private static void check(TestedMap map) {
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42L);
+        int value = 0; // 每次插入的值都不相同，比较内容时只需要比较值的集合
+        // 增长阶段：插入为主，经过多次扩容
+        while (expected.size() < GROWN) {
+            int key = randomKey(random, 2 * GROWN);
+            int operation = random.nextInt(10);
+            if (operation < 7) {
+                assertEquals(expected.put(key, value), map.put(key, value), "put " + key);
+                value++;
+            } else if (operation < 8) {
+                assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+            } else {
+                assertEquals(expected.get(key), map.get(key), "get " + key);
+            }
+        }
+        assertSameContents(expected, map);
+        // 混合读写阶段：插入和删除的次数大致相同
+        for (int i = 0; i < MIXED_OPERATIONS; i++) {
+            int key = randomKey(random, 2 * GROWN);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                assertEquals(expected.put(key, value), map.put(key, value), "put " + key);
+                value++;
+            } else if (operation == 1) {
+                assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+            } else {
+                assertEquals(expected.get(key), map.get(key), "get " + key);
+            }
+        }
+        assertSameContents(expected, map);
+        // 删除阶段：删到只剩少数关键字，再逐个删除
+        while (expected.size() > 100) {
+            int key = randomKey(random, 2 * GROWN);
+            assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+            int probe = randomKey(random, 2 * GROWN);
+            assertEquals(expected.get(probe), map.get(probe), "get " + probe);
+        }
+        assertSameContents(expected, map);
+        for (Integer key : new HashSet<>(expected.keySet())) {
+            assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+        }
+        assertSameContents(expected, map);
+        assertNull(map.get(0));
+    }
+
+    /**
+     * @return -range/2到range/2之间的关键字，大约1/16的概率是0
+     */
+    private static int randomKey(Random random, int range) {
+        return random.nextInt(16) == 0 ? 0 : random.nextInt(range) - range / 2;
+    }
+
+    private static void assertSameContents(HashMap<Integer, Integer> expected, TestedMap map) {
+        assertEquals(expected.size(), map.size());
+        Set<Integer> values = new HashSet<>();
+        map.forEachValue(values::add);
+        assertEquals(new HashSet<>(expected.values()), values);
+        for (Integer key : expected.keySet()) {
+            assertEquals(expected.get(key), map.get(key), "get " + key);
+        }
+    }
+
+    /**
+     * 被测的哈希表，关键字统一为int
+     */
+    private interface TestedMap {
+        Integer get(int key);
+
+        Integer put(int key, Integer value);
+
+        Integer remove(int key);
+
+        int size();
+
+        void forEachValue(Consumer<Integer> action);
+    }
+}